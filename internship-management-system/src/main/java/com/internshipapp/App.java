@@ -3,13 +3,29 @@ package com.internshipapp;
 import com.internshipapp.controllers.ApplicationManager;
 import com.internshipapp.controllers.InternshipManager;
 import com.internshipapp.controllers.UserManager;
-import com.internshipapp.models.*;
+import com.internshipapp.events.AuditLog;
+import com.internshipapp.events.EventBus;
+import com.internshipapp.persistence.CsvRepository;
+import com.internshipapp.persistence.CsvRows;
+import com.internshipapp.persistence.DataRepository;
+import com.internshipapp.persistence.FixedWidthApplicationRepository;
+import com.internshipapp.persistence.H2Repository;
+import com.internshipapp.persistence.Journal;
+import com.internshipapp.persistence.WriteBehindRepository;
 import com.internshipapp.ui.*;
+import com.internshipapp.web.WebApi;
 import org.fusesource.jansi.AnsiConsole;
+import org.springframework.context.ConfigurableApplicationContext;
 import static org.fusesource.jansi.Ansi.*;
 import static org.fusesource.jansi.Ansi.Color.*;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Entry point for the Internship Management System console application.
@@ -21,18 +37,64 @@ public class App {
     private static InternshipManager internshipManager;
     private static UserManager userManager;
     private static ApplicationManager applicationManager;
-    private static UserMenu userMenu;
-    private static User currentUser;
+    private static WriteBehindRepository repository;
+    private static EventBus eventBus;
+    private static ConfigurableApplicationContext webApi;
+    private static final AtomicBoolean stopped = new AtomicBoolean(false);
+
+    private static final String STORE_PROPERTY = "ims.store"; // "csv" (default) or "h2"
+    private static final String DATABASE_FILE = "internships-db";
+    private static final String APPLICATION_STORE_PROPERTY = "ims.applications"; // "fixed" for the record file
+    private static final String APPLICATION_RECORDS_FILE = "applications.dat";
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final int JOURNAL_GROUP_SIZE = 32;
+    private static final long JOURNAL_MAX_DELAY_MILLIS = 50;
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 1000;
+    private static final long WRITE_BEHIND_INTERVAL_MILLIS = 200;
+    private static final int WRITE_BEHIND_FLUSH_THRESHOLD = 64;
+    private static final int WRITE_BEHIND_CAPACITY = 4096;
+    private static final String AUDIT_FILE = "audit.log";
+    private static final int EVENT_RING_CAPACITY = 8192;
+    private static final int EVENT_BATCH_SIZE = 256;
+    private static final String SERVER_PORT_PROPERTY = "ims.server.port"; // Set to serve sessions over TCP
+    private static final String SERVER_ADDRESS_PROPERTY = "ims.server.address";
+    private static final String DEFAULT_SERVER_ADDRESS = "127.0.0.1";
+    private static final String HTTP_PORT_PROPERTY = "ims.http.port"; // Set to serve the REST API
+    private static final String HTTP_ADDRESS_PROPERTY = "ims.http.address";
+    private static final String DEFAULT_HTTP_ADDRESS = "127.0.0.1";
 
     /**
      * Application entry point.
      *
+     * Setting {@value #SERVER_PORT_PROPERTY} runs the multi-session server
+     * on that port instead of a single console session. Setting
+     * {@value #HTTP_PORT_PROPERTY} also serves the REST API on that port,
+     * alongside either mode.
+     *
      * @param args command line arguments (ignored)
      */
     public static void main(String[] args) {
         AnsiConsole.systemInstall();
         initialize();
-        runApplication();
+        String httpPort = System.getProperty(HTTP_PORT_PROPERTY);
+        if (httpPort != null) {
+            try {
+                startWebApi(Integer.parseInt(httpPort.trim()));
+            } catch (NumberFormatException e) {
+                System.out.println("Error: " + HTTP_PORT_PROPERTY + " must be a port number.");
+            }
+        }
+        String port = System.getProperty(SERVER_PORT_PROPERTY);
+        if (port != null) {
+            try {
+                runServer(Integer.parseInt(port.trim()));
+            } catch (NumberFormatException e) {
+                System.out.println("Error: " + SERVER_PORT_PROPERTY + " must be a port number.");
+                shutdown();
+            }
+        } else {
+            runApplication();
+        }
         AnsiConsole.systemUninstall();
     }
 
@@ -42,9 +104,23 @@ public class App {
     private static void initialize() {
         userManager = new UserManager();
         internshipManager = new InternshipManager();
-        applicationManager = new ApplicationManager();
+        applicationManager = new ApplicationManager(internshipManager);
+
+        // Menus only mark changes; a background writer persists them
+        repository = new WriteBehindRepository(openRepository(),
+                WRITE_BEHIND_INTERVAL_MILLIS, WRITE_BEHIND_FLUSH_THRESHOLD, WRITE_BEHIND_CAPACITY);
+        userManager.setRepository(repository);
+        internshipManager.setRepository(repository);
+        applicationManager.setRepository(repository);
+
+        // Changes are announced on one bus; the audit log follows it
+        eventBus = new EventBus(EVENT_RING_CAPACITY, EVENT_BATCH_SIZE);
+        openAuditLog();
+        userManager.setEventBus(eventBus);
+        internshipManager.setEventBus(eventBus);
+        applicationManager.setEventBus(eventBus);
         
-        System.out.println("Loading data from CSV files...");
+        System.out.println("Loading data...");
         userManager.loadUsers();
         internshipManager.loadInternships(userManager);
         applicationManager.loadApplications(userManager, internshipManager);
@@ -52,110 +128,191 @@ public class App {
     }
 
     /**
-     * Main application loop that handles login, registration and delegates
-     * to the appropriate user menu until the user exits.
+     * Open the storage backend selected by the {@value #STORE_PROPERTY}
+     * system property. The H2 database and the journal both live beside the
+     * CSV resources; if the database cannot be opened the CSV files are used.
+     * Setting {@value #APPLICATION_STORE_PROPERTY} to "fixed" keeps
+     * applications in a fixed-width record file instead.
+     *
+     * @return the repository to load from and save to
      */
-    private static void runApplication() {
-        Scanner scanner = new Scanner(System.in);
-        boolean running = true;
-
-        while (running) {
-            if (currentUser == null) {
-                System.out.println(ansi().fg(CYAN).a("\nWelcome to the Internship Management System").reset());
-                System.out.println("1. Login");
-                System.out.println("2. Register as Company Representative");
-                System.out.println("3. Exit");
-                System.out.print(ansi().fg(YELLOW).a("Choose an option: ").reset());
-
-                try {
-                    int choice = Integer.parseInt(scanner.nextLine());
-
-                    switch (choice) {
-                        case 1:
-                            System.out.print(ansi().fg(YELLOW).a("Enter User ID: ").reset());
-                            String userId = scanner.nextLine();
-                            System.out.print(ansi().fg(YELLOW).a("Enter Password: ").reset());
-                            String password = scanner.nextLine();
-                            currentUser = userManager.login(userId, password);
-                            int loginResult = userManager.loginResult(userId, password);
-
-                            if (loginResult == 0) {
-                                System.out.println(ansi().fg(RED).a("Invalid User ID. Please try again.").reset());
-                                currentUser = null;
-                            } else if (loginResult == 1){
-                                System.out.println(ansi().fg(RED).a("Incorrect password. Please try again.").reset());
-                                currentUser = null;
-                            } else if (loginResult == 2){
-                                System.out.println(ansi().fg(RED).a("Your account is not approved yet. Please contact the career center.").reset());
-                                currentUser = null;
-                            } else {
-                                System.out.println(ansi().fg(GREEN).a("Login successful. Welcome, " + currentUser.getName() + "!").reset());
-                            }
-                            break;
-                        case 2:
-                            System.out.print(ansi().fg(YELLOW).a("Enter User ID: ").reset());
-                            String newUserId = scanner.nextLine();
-                            System.out.print(ansi().fg(YELLOW).a("Enter Password: ").reset());
-                            String newPassword = scanner.nextLine();
-                            System.out.print(ansi().fg(YELLOW).a("Enter Your Name: ").reset());
-                            String newName = scanner.nextLine();
-                            System.out.print(ansi().fg(YELLOW).a("Enter Company Name: ").reset());
-                            String companyName = scanner.nextLine();
-                            System.out.print(ansi().fg(YELLOW).a("Enter Department: ").reset());
-                            String department = scanner.nextLine();
-                            System.out.print(ansi().fg(YELLOW).a("Enter Position: ").reset());
-                            String position = scanner.nextLine();
-                            
-                            if (userManager.registerCompanyRepresentative(newUserId, newPassword, newName, companyName, department, position)) {
-                                System.out.println(ansi().fg(GREEN).a("Registration successful. Your account is pending approval from the career center.").reset());
-                            } else {
-                                System.out.println(ansi().fg(RED).a("Registration failed. User ID might already exist.").reset());
-                            }
-                            break;
-                        case 3:
-                            running = false;
-                            break;
-                        default:
-                            System.out.println(ansi().fg(RED).a("Invalid option. Please enter 1, 2, or 3.").reset());
-                    }
-                } catch (NumberFormatException e) {
-                    System.out.println(ansi().fg(RED).a("Invalid input. Please enter a number.").reset());
-                }
+    private static DataRepository openRepository() {
+        DataRepository backend = null;
+        if ("h2".equalsIgnoreCase(System.getProperty(STORE_PROPERTY))) {
+            try {
+                backend = new H2Repository(resourceDirectory().resolve(DATABASE_FILE));
+            } catch (Exception e) {
+                System.out.println("Error opening database, using CSV files instead: " + e.getMessage());
             }
+        }
+        if (backend == null) {
+            backend = new CsvRepository(openJournal());
+        }
 
-            if (currentUser != null) {
-                userMenu = getUserMenu(currentUser);
-                if (userMenu != null) {
-                    userMenu.displayMenu();
-                }
-                
-                currentUser = null;
+        if ("fixed".equalsIgnoreCase(System.getProperty(APPLICATION_STORE_PROPERTY))) {
+            try {
+                return new FixedWidthApplicationRepository(backend, resourceDirectory().resolve(APPLICATION_RECORDS_FILE));
+            } catch (Exception e) {
+                System.out.println("Error opening " + APPLICATION_RECORDS_FILE + ", keeping applications in the main store: " + e.getMessage());
             }
         }
+        return backend;
+    }
 
-        System.out.println("\nSaving data to CSV files...");
-        userManager.saveUsers();
-        internshipManager.saveInternships();
-        applicationManager.saveApplications();
-        System.out.println(ansi().fg(GREEN).a("Exiting application.").reset());
+    /**
+     * Open the write-ahead journal that sits beside the CSV resources.
+     *
+     * @return the journal, or null if it cannot be opened (changes are then only saved at exit)
+     */
+    private static Journal openJournal() {
+        try {
+            Path file = resourceDirectory().resolve(JOURNAL_FILE);
+            return new Journal(file, JOURNAL_GROUP_SIZE, JOURNAL_MAX_DELAY_MILLIS, JOURNAL_COMPACTION_THRESHOLD);
+        } catch (Exception e) {
+            System.out.println("Error opening journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Subscribe an {@link AuditLog} writing to {@value #AUDIT_FILE} beside
+     * the CSV resources. If it cannot be opened the application runs without
+     * one.
+     */
+    private static void openAuditLog() {
+        try {
+            eventBus.subscribe(new AuditLog(resourceDirectory().resolve(AUDIT_FILE)));
+        } catch (Exception e) {
+            System.out.println("Error opening audit log: " + e.getMessage());
+        }
+    }
+
+    private static Path resourceDirectory() throws Exception {
+        URL resource = App.class.getClassLoader().getResource(CsvRows.APPLICATIONS_FILE);
+        if (resource == null) throw new IOException("Cannot find resource file: " + CsvRows.APPLICATIONS_FILE);
+        return Paths.get(resource.toURI()).getParent();
+    }
+
+    /**
+     * Write every manager's data to the repository as a full snapshot and,
+     * only if all of them were written, let the repository checkpoint
+     * (for CSV files, truncate the journal).
+     */
+    private static void compact() {
+        // Other sessions keep changing data; hold their writes back until the checkpoint is done
+        repository.runExclusive(() -> {
+            boolean saved = userManager.saveUsers();
+            saved &= internshipManager.saveInternships();
+            saved &= applicationManager.saveApplications();
+            if (saved) {
+                repository.checkpoint();
+            }
+        });
+    }
+
+    /**
+     * Main application loop: one {@link ConsoleSession} over standard input
+     * and output, then save and close the repository.
+     */
+    private static void runApplication() {
+        Scanner scanner = new Scanner(System.in);
+        new ConsoleSession(userManager, internshipManager, applicationManager, scanner, System.out, App::checkpointIfNeeded).run();
+        shutdown();
         scanner.close();
     }
 
     /**
-     * Returns the UI menu implementation for the given user instance.
+     * Server mode: accept telnet-style connections, each running its own
+     * {@link ConsoleSession}, until "stop" is typed on the server console or
+     * the process is terminated. Sessions travel in plain text, passwords
+     * included, so the server listens on the loopback address unless
+     * {@value #SERVER_ADDRESS_PROPERTY} names another.
+     *
+     * @param port port to listen on
+     */
+    private static void runServer(int port) {
+        String address = System.getProperty(SERVER_ADDRESS_PROPERTY, DEFAULT_SERVER_ADDRESS);
+        ConsoleServer server;
+        try {
+            server = new ConsoleServer(InetAddress.getByName(address), port, (scanner, out) ->
+                    new ConsoleSession(userManager, internshipManager, applicationManager, scanner, out, App::checkpointIfNeeded));
+        } catch (IOException e) {
+            System.out.println("Error starting server: " + e.getMessage());
+            shutdown();
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stopServer(server)));
+        server.start();
+        System.out.println(ansi().fg(GREEN).a("Listening on " + address + ":" + server.getPort() + ". Type 'stop' to shut down.").reset());
+
+        Scanner console = new Scanner(System.in);
+        while (console.hasNextLine()) {
+            if (console.nextLine().trim().equalsIgnoreCase("stop")) {
+                stopServer(server);
+                return;
+            }
+        }
+        // No console to read from; run until the process is terminated, when the shutdown hook saves
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Serve the REST API on the given port. It listens on the loopback
+     * address unless {@value #HTTP_ADDRESS_PROPERTY} names another, as it
+     * has no authentication of its own.
+     *
+     * @param port port to listen on
+     */
+    private static void startWebApi(int port) {
+        String address = System.getProperty(HTTP_ADDRESS_PROPERTY, DEFAULT_HTTP_ADDRESS);
+        try {
+            webApi = WebApi.start(address, port, userManager, internshipManager, applicationManager);
+            System.out.println(ansi().fg(GREEN).a("REST API on http://" + address + ":" + port + "/api").reset());
+        } catch (RuntimeException e) {
+            System.out.println("Error starting REST API: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Disconnect every session, then save and close the repository. Safe to
+     * call more than once.
      *
-     * @param user the currently logged-in user
-     * @return a {@link UserMenu} implementation for the user's type, or null
-     *         if no suitable menu exists
+     * @param server the server to stop
+     */
+    private static void stopServer(ConsoleServer server) {
+        if (stopped.compareAndSet(false, true)) {
+            server.close();
+            shutdown();
+        }
+    }
+
+    /**
+     * Fold incremental changes into a full save if the repository asks for
+     * it. Called whenever a user logs out, which is a safe point.
+     */
+    private static synchronized void checkpointIfNeeded() {
+        if (repository.needsCheckpoint()) {
+            compact();
+        }
+    }
+
+    /**
+     * Save what still needs saving, close the repository and deliver the
+     * last events.
      */
-    private static UserMenu getUserMenu(User user) {
-        if (user instanceof Student) {
-            return new StudentMenu((Student) user, internshipManager, applicationManager);
-        } else if (user instanceof CompanyRepresentative) {
-            return new CompanyRepMenu((CompanyRepresentative) user, internshipManager);
-        } else if (user instanceof CareerCenterStaff) {
-            return new StaffMenu((CareerCenterStaff) user, userManager, internshipManager, applicationManager);
+    private static synchronized void shutdown() {
+        if (webApi != null) {
+            webApi.close(); // Stop taking requests before the final save
+            webApi = null;
         }
-        return null;
+        System.out.println("\nSaving data...");
+        checkpointIfNeeded();
+        repository.close(); // Drains changes still waiting for the background writer
+        eventBus.close();
+        System.out.println(ansi().fg(GREEN).a("Exiting application.").reset());
     }
 }
\ No newline at end of file
@@ -2,107 +2,103 @@ package com.internshipapp.controllers;
 
 import com.internshipapp.models.*;
 import com.internshipapp.enums.*;
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.nio.file.Paths;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvValidationException;
+import com.internshipapp.events.DomainEvent;
+import com.internshipapp.events.EventBus;
+import com.internshipapp.persistence.CsvRepository;
+import com.internshipapp.persistence.DataRepository;
 
 /**
  * Controller responsible for creating and managing {@link com.internshipapp.models.Application}
- * instances and withdrawal requests. Handles persistence to the CSV resource.
+ * instances and withdrawal requests. Persists applications through a {@link DataRepository}.
+ * <p>
+ * Safe for concurrent sessions. Applications and withdrawal requests are kept
+ * in lock-free queues. Changes take locks from the {@link StripedLocks} shared
+ * with the {@link InternshipManager}: every application status change holds
+ * the student's lock, which makes the three-application limit and placement
+ * acceptance atomic, and changes that touch an internship's applications
+ * also hold that internship's lock. Slots are reserved without a lock, by
+ * compare-and-set on the internship (see {@link InternshipManager#fillSlot}).
+ * Application and withdrawal changes are published on the {@link EventBus}
+ * while those locks are still held.
  */
 public class ApplicationManager {
-    private List<Application> applications;
-    private List<WithdrawalRequest> withdrawalRequests;
-    private final String applicationsCsvFile = "applications.csv";
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-    private int lastApplicationNumericId = 0; // To track the last used ID number
+    private final Queue<Application> applications;
+    private final Queue<WithdrawalRequest> withdrawalRequests;
+    private final IdAllocator applicationIds = new IdAllocator("APP", 3, ID_BLOCK_SIZE); // Seeded from the loaded IDs
+    private DataRepository repository = new CsvRepository();
+    private EventBus events = new EventBus(); // No subscribers until one is set
+    private final InternshipManager internshipManager; // Applies internship state changes so its indexes stay current
+
+    private static final int ID_BLOCK_SIZE = 16;
+
+    /**
+     * Create a new ApplicationManager with no applications.
+     *
+     * @param internshipManager manager of the internships applications refer to
+     */
+    public ApplicationManager(InternshipManager internshipManager) {
+        this.internshipManager = internshipManager;
+        this.applications = new ConcurrentLinkedQueue<>();
+        this.withdrawalRequests = new ConcurrentLinkedQueue<>();
+    }
 
     /**
-     * Create a new ApplicationManager with empty lists.
+     * Set the storage backend applications are loaded from and saved to.
+     * Must be set before {@link #loadApplications(UserManager, InternshipManager)}.
+     *
+     * @param repository backend to use
      */
-    public ApplicationManager() {
-        this.applications = new ArrayList<>();
-        this.withdrawalRequests = new ArrayList<>();
+    public void setRepository(DataRepository repository) {
+        this.repository = repository;
     }
 
     /**
-     * Load persisted applications from the CSV resource and link them to
-     * users and internships.
+     * Set the bus that application and withdrawal changes are published on.
+     *
+     * @param events bus to publish on
+     */
+    public void setEventBus(EventBus events) {
+        this.events = events;
+    }
+
+    /**
+     * Load persisted applications and link them to users and internships.
+     * Applications whose references cannot be resolved are dropped.
      *
      * @param userManager user manager used to resolve student references
      * @param internshipManager internship manager used to resolve internships
      */
     public void loadApplications(UserManager userManager, InternshipManager internshipManager) {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(getClass().getClassLoader().getResourceAsStream(applicationsCsvFile)))) {
-            String[] line;
-            reader.readNext(); // Skip header
-            while ((line = reader.readNext()) != null) {
-                String id = line[0];
-                Student student = (Student) userManager.findUserById(line[1]);
-                Internship internship = internshipManager.findInternshipById(line[2]);
-                ApplicationStatus status = ApplicationStatus.valueOf(line[3]);
-                Date appDate = dateFormat.parse(line[4]);
-
-                if (student != null && internship != null) {
-                    Application app = new Application(id, student, internship, status);
-                    app.setApplicationDate(appDate); // Set persistent Date
-                    applications.add(app);
-                    
-                    // Link the application back to the student and internship
-                    student.addApplication(app);
-                    internship.addApplication(app);
-
-                    // Track the highest ID number to avoid duplicates
-                    try {
-                        int numericId = Integer.parseInt(id.substring(3));
-                        if (numericId > lastApplicationNumericId) {
-                            lastApplicationNumericId = numericId;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Ignore if ID is not in the expected format
-                    }
-                }
-            }
-        } catch (IOException | CsvValidationException | ParseException | NullPointerException e) {
-            System.out.println("Error loading applications: " + e.getMessage());
+        List<Application> loaded = repository.loadApplications(id -> {
+            User user = userManager.findUserById(id);
+            return user instanceof Student ? (Student) user : null;
+        }, internshipManager::findInternshipById);
+
+        for (Application app : loaded) {
+            app.markClean(); // Matches what is stored
+            applications.add(app);
+
+            // Link the application back to the student and internship
+            app.getStudent().addApplication(app);
+            app.getInternship().addApplication(app);
+            internshipManager.counters().applicationAdded(app);
+            internshipManager.trackApplication(app);
+
+            applicationIds.observe(app.getApplicationID()); // New IDs continue after the highest loaded one
         }
     }
 
     /**
-     * Persist current applications to the applications CSV resource.
+     * Persist current applications to the repository.
+     *
+     * @return true if the applications were written successfully
      */
-    public void saveApplications() {
-        try {
-            URL resource = getClass().getClassLoader().getResource(applicationsCsvFile);
-            if (resource == null) throw new IOException("Cannot find resource file: " + applicationsCsvFile);
-
-            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(resource.toURI()).toFile()))) {
-                String[] header = {"applicationID", "studentID", "internshipID", "status", "applicationDate"};
-                writer.writeNext(header);
-                for (Application app : applications) {
-                    writer.writeNext(new String[]{
-                        app.getApplicationID(),
-                        app.getStudent().getUserID(),
-                        app.getInternship().getInternshipID(),
-                        app.getStatus().name(),
-                        dateFormat.format(app.getApplicationDate())
-                    });
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("Error saving applications: " + e.getMessage());
-        }
+    public boolean saveApplications() {
+        return repository.saveAllApplications(applications);
     }
 
     /**
@@ -117,14 +113,19 @@ public class ApplicationManager {
      * @return the created Application instance
      */
     public Application createApplication(Student student, Internship internship) {
-        lastApplicationNumericId++; // Increment to get the next ID
-        String newId = String.format("APP%03d", lastApplicationNumericId);
+        String newId = applicationIds.next();
 
         Application newApplication = new Application(newId, student, internship, ApplicationStatus.PENDING);
-        
-        this.applications.add(newApplication);
-        student.addApplication(newApplication);
-        internship.addApplication(newApplication);
+
+        internshipManager.locks().run(student.getUserID(), internship.getInternshipID(), () -> {
+            this.applications.add(newApplication);
+            student.addApplication(newApplication);
+            internship.addApplication(newApplication);
+            internshipManager.counters().applicationAdded(newApplication);
+            internshipManager.trackApplication(newApplication);
+            repository.saveApplication("createApplication", newApplication);
+            publish(EventType.APPLICATION_CREATED, "createApplication", newApplication);
+        });
 
         return newApplication;
     }
@@ -138,62 +139,164 @@ public class ApplicationManager {
      * @return the created Application if successful, or null on failure
      */
     public Application applyForInternship(Student student, Internship internship) {
-        if (student.getApplications().size() >= 3) {
-            System.out.println("Error: Cannot apply for more than 3 internships.");
-            return null;
+        OperationResult<Application> result = submitApplication(student, internship);
+        if (!result.isSuccess()) {
+            System.out.println("Error: " + describe(result.getStatus()));
         }
-        for (Application existingApp : student.getApplications()) {
-            if (existingApp.getInternship().getInternshipID().equals(internship.getInternshipID())) {
-                System.out.println("Error: You have already applied for this internship.");
-                return null;
+        return result.getValue();
+    }
+
+    /**
+     * Apply the given student for the specified internship, reporting why
+     * not if the application is refused.
+     *
+     * @param student the student applying
+     * @param internship the internship to apply for
+     * @return the created application, or the reason it was refused
+     */
+    public OperationResult<Application> submitApplication(Student student, Internship internship) {
+        // Checks and creation happen under one lock so parallel sessions cannot exceed the limit
+        return internshipManager.locks().call(student.getUserID(), internship.getInternshipID(), () -> {
+            if (student.getApplications().size() >= 3) {
+                return OperationResult.refused(OperationStatus.APPLICATION_LIMIT);
+            }
+            for (Application existingApp : student.getApplications()) {
+                if (existingApp.getInternship().getInternshipID().equals(internship.getInternshipID())) {
+                    return OperationResult.refused(OperationStatus.ALREADY_APPLIED);
+                }
+            }
+            if (internshipManager.findInternshipById(internship.getInternshipID()) != internship) {
+                return OperationResult.refused(OperationStatus.INTERNSHIP_UNAVAILABLE);
             }
-        }
 
-        Application newApplication = createApplication(student, internship);
-        return newApplication;
+            return new OperationResult<>(OperationStatus.SUCCESS, createApplication(student, internship));
+        });
     }
 
     /**
      * Accepts an approved placement for a student, updates slot counts and
-     * marks other pending applications as unsuccessful.
+     * marks other pending applications as unsuccessful. Fails if the
+     * application changed since the student looked at it.
      *
      * @param application the application to accept
+     * @param expectedVersion the application's version when the student looked at it
+     * @return true if the placement was accepted
      */
-    public void acceptPlacement(Application application) {
-        if (application != null && application.getStatus() == ApplicationStatus.APPROVED && application.getInternship().getSlotsFilled() < application.getInternship().getSlots()) {
-            application.setStatus(ApplicationStatus.ACCEPTED);
-            application.getInternship().setSlotsFilled(application.getInternship().getSlotsFilled() + 1);
-            if (application.getInternship().getSlotsFilled() >= application.getInternship().getSlots()) {
-                application.getInternship().setStatus(InternshipStatus.FILLED);
-                application.getInternship().setVisible(false);
+    public boolean acceptPlacement(Application application, int expectedVersion) {
+        if (application == null) {
+            System.out.println("Error: This placement cannot be accepted. It may not have been offered to you.");
+            return false;
+        }
+        Student student = application.getStudent();
+        Internship internship = application.getInternship();
+        // Only the student's lock is held; the slot itself is reserved lock-free, so students
+        // accepting the same internship at once contend on one compare-and-set, not on a lock
+        boolean accepted = internshipManager.locks().call(student.getUserID(), () -> {
+            if (application.getStatus() != ApplicationStatus.APPROVED || application.getVersion() != expectedVersion) {
+                return false;
             }
-            // Logic to withdraw other pending applications
-            Student student = application.getStudent();
+            // A student can only accept one offer
+            for (Application otherApp : student.getApplications()) {
+                if (otherApp.getStatus() == ApplicationStatus.ACCEPTED) {
+                    return false;
+                }
+            }
+            if (!internship.tryFillSlot()) { // Marks the internship FILLED when full
+                return false; // Someone else took the last slot
+            }
+            // Cannot fail: every status change of the student's applications happens under this lock
+            application.compareAndSetStatus(expectedVersion, ApplicationStatus.ACCEPTED);
+            internshipManager.trackApplication(application);
+            repository.saveApplication("acceptPlacement", application);
+            repository.saveInternship("acceptPlacement", internship);
+            publish(EventType.APPLICATION_STATUS_CHANGED, "acceptPlacement", application);
+            // Logic to withdraw other pending applications; the student's lock keeps them from being approved meanwhile
             for (Application otherApp : student.getApplications()) {
                 if (otherApp.getStatus() != ApplicationStatus.ACCEPTED) {
                     otherApp.setStatus(ApplicationStatus.UNSUCCESSFUL);
+                    internshipManager.trackApplication(otherApp);
+                    repository.saveApplication("acceptPlacement", otherApp);
+                    publish(EventType.APPLICATION_STATUS_CHANGED, "acceptPlacement", otherApp);
                 }
             }
-            System.out.println("Placement accepted for internship: " + application.getInternship().getTitle());
+            return true;
+        });
+        if (accepted) {
+            internshipManager.slotFilled(internship, "acceptPlacement"); // Outside the student's lock, as it may take the internship's
+            System.out.println("Placement accepted for internship: " + internship.getTitle());
         } else {
             System.out.println("Error: This placement cannot be accepted. It may not have been offered to you.");
         }
+        return accepted;
     }
 
     /**
      * Creates a withdrawal request for the given application and stores it
-     * in the internal list.
+     * in the internal list. Refused if the application has already been
+     * withdrawn or rejected, or already has a request waiting for staff.
      *
      * @param application the application to withdraw
-     * @return the created WithdrawalRequest or null if application is null
+     * @return the created WithdrawalRequest, or null if application is null or the request was refused
      */
     public WithdrawalRequest requestWithdrawal(Application application) {
-        if (application != null) {
+        if (application == null) {
+            return null;
+        }
+        OperationResult<WithdrawalRequest> result = submitWithdrawal(application);
+        if (!result.isSuccess()) {
+            System.out.println("Error: " + describe(result.getStatus()));
+        }
+        return result.getValue();
+    }
+
+    /**
+     * Ask for an application to be withdrawn, reporting why not if the
+     * request is refused.
+     *
+     * @param application the application to withdraw
+     * @return the created request, or the reason it was refused
+     */
+    public OperationResult<WithdrawalRequest> submitWithdrawal(Application application) {
+        // Same locks as processing, so a request cannot be added while another for the application is decided
+        return internshipManager.locks().call(application.getStudent().getUserID(), application.getInternship().getInternshipID(), () -> {
+            if (application.getStatus() == ApplicationStatus.UNSUCCESSFUL) {
+                return OperationResult.refused(OperationStatus.ALREADY_WITHDRAWN);
+            }
+            for (WithdrawalRequest existing : withdrawalRequests) {
+                if (existing.getApplication() == application && existing.getStatus() == RequestStatus.PENDING) {
+                    return OperationResult.refused(OperationStatus.WITHDRAWAL_PENDING);
+                }
+            }
             WithdrawalRequest request = new WithdrawalRequest(application);
             this.withdrawalRequests.add(request);
-            return request;
+            internshipManager.counters().pendingWithdrawals(1);
+            publish(EventType.WITHDRAWAL_REQUESTED, "requestWithdrawal", request);
+            return new OperationResult<>(OperationStatus.SUCCESS, request);
+        });
+    }
+
+    /**
+     * Describe why an application or withdrawal request was refused, for
+     * the console.
+     *
+     * @param status the reason
+     * @return message for the student
+     */
+    private static String describe(OperationStatus status) {
+        switch (status) {
+            case APPLICATION_LIMIT:
+                return "Cannot apply for more than 3 internships.";
+            case ALREADY_APPLIED:
+                return "You have already applied for this internship.";
+            case INTERNSHIP_UNAVAILABLE:
+                return "This internship is no longer available.";
+            case ALREADY_WITHDRAWN:
+                return "This application has already been withdrawn or rejected.";
+            case WITHDRAWAL_PENDING:
+                return "A withdrawal request for this application is already pending.";
+            default:
+                return "The request could not be completed.";
         }
-        return null;
     }
 
     /**
@@ -203,6 +306,10 @@ public class ApplicationManager {
      */
     public void addWithdrawalRequest(WithdrawalRequest request) {
         this.withdrawalRequests.add(request);
+        if (request.getStatus() == RequestStatus.PENDING) {
+            internshipManager.counters().pendingWithdrawals(1);
+        }
+        publish(EventType.WITHDRAWAL_REQUESTED, "addWithdrawalRequest", request);
     }
 
     /**
@@ -232,23 +339,67 @@ public class ApplicationManager {
 
     /**
      * Process a withdrawal request: approve or reject it and update related
-     * application/internship state accordingly.
+     * application/internship state accordingly. Approving frees a slot only
+     * if the student had accepted the placement, as only then was one held.
      *
      * @param request the request to process
      * @param approve true to approve, false to reject
+     * @return true if the request was processed, false if it had already been
      */
-    public void processWithdrawalRequest(WithdrawalRequest request, boolean approve) {
-        if (approve) {
-            request.setStatus(RequestStatus.APPROVED);
-            // Also update the original application status
-            request.getApplication().setStatus(ApplicationStatus.UNSUCCESSFUL);
-            // Optional: Re-open a slot in the internship
-            Internship internship = request.getApplication().getInternship();
-            if (internship.getSlotsFilled() > 0) {
-                internship.setSlotsFilled(internship.getSlotsFilled() - 1);
+    public boolean processWithdrawalRequest(WithdrawalRequest request, boolean approve) {
+        Application application = request.getApplication();
+        Internship internship = application.getInternship();
+        return internshipManager.locks().call(application.getStudent().getUserID(), internship.getInternshipID(), () -> {
+            if (request.getStatus() != RequestStatus.PENDING) {
+                System.out.println("Error: This withdrawal request has already been processed.");
+                return false;
             }
-        } else {
-            request.setStatus(RequestStatus.REJECTED);
-        }
+            if (approve) {
+                request.setStatus(RequestStatus.APPROVED);
+                // Read before the change; status changes need the student's lock, which is held
+                boolean heldSlot = application.getStatus() == ApplicationStatus.ACCEPTED;
+                // Also update the original application status
+                application.setStatus(ApplicationStatus.UNSUCCESSFUL);
+                internshipManager.trackApplication(application);
+                boolean released = heldSlot && internship.releaseSlot();
+                repository.saveApplication("processWithdrawalRequest", application);
+                if (released) {
+                    repository.saveInternship("processWithdrawalRequest", internship);
+                }
+                publish(EventType.APPLICATION_STATUS_CHANGED, "processWithdrawalRequest", application);
+                if (released) {
+                    internshipManager.slotReleased(internship, "processWithdrawalRequest");
+                }
+            } else {
+                request.setStatus(RequestStatus.REJECTED);
+            }
+            internshipManager.counters().pendingWithdrawals(-1);
+            publish(EventType.WITHDRAWAL_STATUS_CHANGED, "processWithdrawalRequest", request);
+            return true;
+        });
+    }
+
+    /**
+     * Publish a change to an application, with its current status as the
+     * event's state.
+     *
+     * @param type kind of change
+     * @param op operation that made the change
+     * @param application the changed application
+     */
+    private void publish(EventType type, String op, Application application) {
+        events.publish(new DomainEvent(type, op, application.getApplicationID(), application.getStatus().name(), application));
+    }
+
+    /**
+     * Publish a change to a withdrawal request, with its current status as
+     * the event's state.
+     *
+     * @param type kind of change
+     * @param op operation that made the change
+     * @param request the changed request
+     */
+    private void publish(EventType type, String op, WithdrawalRequest request) {
+        events.publish(new DomainEvent(type, op, request.getRequestID(), request.getStatus().name(), request));
     }
-}
\ No newline at end of file
+}
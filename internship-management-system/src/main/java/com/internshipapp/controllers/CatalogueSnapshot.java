@@ -0,0 +1,238 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable view of the internship catalogue's membership: every
+ * internship, and the postings open to students by major and level.
+ * Snapshots never change, so readers can iterate them without locks or
+ * copies, and every list taken from one snapshot agrees with the others.
+ * <p>
+ * {@link InternshipManager} publishes a new snapshot whenever an internship
+ * is created or removed, or its status, visibility, major or level changes,
+ * while it holds that internship's lock. Each new snapshot is derived from
+ * the previous one, copying only the lists the change touches, and carries
+ * the next membership version. Changes that leave membership alone, such as
+ * a slot being filled, publish nothing.
+ * <p>
+ * The lists hold the live {@link Internship} objects; only membership and
+ * order are frozen.
+ */
+public final class CatalogueSnapshot {
+    static final CatalogueSnapshot EMPTY = new CatalogueSnapshot(0, Collections.emptyList(),
+            Collections.emptyMap(), Collections.emptyMap());
+
+    private final long version;
+    private final List<Internship> all; // Load and creation order
+    private final Map<String, List<Internship>> openBasicByMajor; // BASIC only, for years 1-2; ID order
+    private final Map<String, List<Internship>> openAnyLevelByMajor; // Every level, for years 3+; ID order
+
+    private CatalogueSnapshot(long version, List<Internship> all,
+                              Map<String, List<Internship>> openBasicByMajor, Map<String, List<Internship>> openAnyLevelByMajor) {
+        this.version = version;
+        this.all = all;
+        this.openBasicByMajor = openBasicByMajor;
+        this.openAnyLevelByMajor = openAnyLevelByMajor;
+    }
+
+    /**
+     * Build a snapshot of the given internships from scratch, as after a load.
+     *
+     * @param version membership version of the snapshot
+     * @param internships every internship, in catalogue order
+     * @return the snapshot
+     */
+    static CatalogueSnapshot build(long version, Collection<Internship> internships) {
+        List<Internship> all = new ArrayList<>(internships);
+        Map<String, List<Internship>> openBasic = new HashMap<>();
+        Map<String, List<Internship>> openAnyLevel = new HashMap<>();
+        for (Internship internship : all) {
+            Placement placement = Placement.of(internship);
+            if (placement == null) {
+                continue;
+            }
+            openAnyLevel.computeIfAbsent(placement.major, k -> new ArrayList<>()).add(internship);
+            if (placement.basic) {
+                openBasic.computeIfAbsent(placement.major, k -> new ArrayList<>()).add(internship);
+            }
+        }
+        return new CatalogueSnapshot(version, Collections.unmodifiableList(all), freeze(openBasic), freeze(openAnyLevel));
+    }
+
+    private static Map<String, List<Internship>> freeze(Map<String, List<Internship>> index) {
+        index.replaceAll((major, bucket) -> {
+            bucket.sort(InternshipManager.BY_ID);
+            return Collections.unmodifiableList(bucket);
+        });
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * @param internship a newly created internship
+     * @param placement where it is open, or null if it is not
+     * @return the next snapshot, with the internship added
+     */
+    CatalogueSnapshot withAdded(Internship internship, Placement placement) {
+        List<Internship> added = new ArrayList<>(all.size() + 1);
+        added.addAll(all);
+        added.add(internship);
+        return new CatalogueSnapshot(version + 1, Collections.unmodifiableList(added),
+                insert(openBasicByMajor, placement, true, internship), insert(openAnyLevelByMajor, placement, false, internship));
+    }
+
+    /**
+     * @param internship a removed internship
+     * @param placement where it was open, or null if it was not
+     * @return the next snapshot, without the internship
+     */
+    CatalogueSnapshot withRemoved(Internship internship, Placement placement) {
+        List<Internship> remaining = new ArrayList<>(all);
+        remaining.remove(internship);
+        return new CatalogueSnapshot(version + 1, Collections.unmodifiableList(remaining),
+                delete(openBasicByMajor, placement, true, internship), delete(openAnyLevelByMajor, placement, false, internship));
+    }
+
+    /**
+     * Record a change of status, visibility, major or level. Only the open
+     * lists the internship leaves or joins are copied; if it stays where it
+     * was, the lists are shared with this snapshot.
+     *
+     * @param internship the changed internship
+     * @param from where it was open, or null if it was not
+     * @param to where it is open now, or null if it is not
+     * @return the next snapshot
+     */
+    CatalogueSnapshot withMoved(Internship internship, Placement from, Placement to) {
+        if (Objects.equals(from, to)) {
+            return new CatalogueSnapshot(version + 1, all, openBasicByMajor, openAnyLevelByMajor);
+        }
+        return new CatalogueSnapshot(version + 1, all,
+                insert(delete(openBasicByMajor, from, true, internship), to, true, internship),
+                insert(delete(openAnyLevelByMajor, from, false, internship), to, false, internship));
+    }
+
+    /**
+     * Copy of a band with the internship inserted, in ID order, into its
+     * major's list. Other majors' lists are shared.
+     */
+    private static Map<String, List<Internship>> insert(Map<String, List<Internship>> band, Placement placement,
+                                                        boolean basicBand, Internship internship) {
+        if (placement == null || (basicBand && !placement.basic)) {
+            return band;
+        }
+        List<Internship> list = new ArrayList<>(band.getOrDefault(placement.major, Collections.emptyList()));
+        int at = Collections.binarySearch(list, internship, InternshipManager.BY_ID);
+        list.add(at < 0 ? -at - 1 : at, internship);
+        Map<String, List<Internship>> copy = new HashMap<>(band);
+        copy.put(placement.major, Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Copy of a band with the internship removed from its major's list.
+     * Other majors' lists are shared.
+     */
+    private static Map<String, List<Internship>> delete(Map<String, List<Internship>> band, Placement placement,
+                                                        boolean basicBand, Internship internship) {
+        if (placement == null || (basicBand && !placement.basic) || !band.containsKey(placement.major)) {
+            return band;
+        }
+        List<Internship> list = new ArrayList<>(band.get(placement.major));
+        list.remove(internship);
+        Map<String, List<Internship>> copy = new HashMap<>(band);
+        if (list.isEmpty()) {
+            copy.remove(placement.major);
+        } else {
+            copy.put(placement.major, Collections.unmodifiableList(list));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * @return the membership version this snapshot was published at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return every internship, including pending ones; unmodifiable
+     */
+    public List<Internship> getAll() {
+        return all;
+    }
+
+    /**
+     * Internships the student may browse: approved, visible postings for
+     * the student's major at a level their year allows, in ID order.
+     *
+     * @param student the student browsing
+     * @return the internships; unmodifiable
+     */
+    public List<Internship> getAvailableTo(Student student) {
+        // Year 1 and 2 students can only see BASIC level internships; other years see all levels
+        Map<String, List<Internship>> band = student.getYearOfStudy() <= 2 ? openBasicByMajor : openAnyLevelByMajor;
+        return band.getOrDefault(InternshipManager.normalizeMajor(student.getMajor()), Collections.emptyList());
+    }
+
+    /**
+     * Where an internship is listed for students: its normalized major and
+     * whether it is BASIC. Only approved, visible internships have one.
+     */
+    static final class Placement {
+        private final String major;
+        private final boolean basic;
+
+        private Placement(String major, boolean basic) {
+            this.major = major;
+            this.basic = basic;
+        }
+
+        /**
+         * @param status the internship's status
+         * @param visible whether it is visible
+         * @param level its level
+         * @param major its normalized major
+         * @return its placement, or null if it is not open to students
+         */
+        static Placement of(InternshipStatus status, boolean visible, InternshipLevel level, String major) {
+            if (status != InternshipStatus.APPROVED || !visible) {
+                return null;
+            }
+            return new Placement(major, level == InternshipLevel.BASIC);
+        }
+
+        static Placement of(Internship internship) {
+            return of(internship.getStatus(), internship.isVisible(), internship.getLevel(),
+                    InternshipManager.normalizeMajor(internship.getPreferedMajor()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Placement)) {
+                return false;
+            }
+            Placement other = (Placement) o;
+            return basic == other.basic && major.equals(other.major);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(major, basic);
+        }
+    }
+}
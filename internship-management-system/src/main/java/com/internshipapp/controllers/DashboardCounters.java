@@ -0,0 +1,225 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.Application;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live totals for the staff dashboard, kept up to date by the controllers
+ * on every transition instead of being recomputed from the data. Each
+ * counter is a {@link LongAdder}, so sessions changing different entities
+ * rarely contend on an update, and reading a counter costs the same however
+ * large the catalogue grows.
+ * <p>
+ * Internship counts follow the secondary indexes of
+ * {@link InternshipManager}: an internship is counted under the status,
+ * level and major it is indexed under. Application counts follow
+ * {@link InternshipManager#trackApplication}, which records the status
+ * each application was last counted as, so a change is counted once however
+ * often it is reported. Reads taken while others are making changes may
+ * be a moment apart from each other.
+ */
+public final class DashboardCounters {
+    private final LongAdder[] internshipsByStatus = adders(InternshipStatus.values().length);
+    private final LongAdder[] internshipsByLevel = adders(InternshipLevel.values().length);
+    private final Map<String, LongAdder> internshipsByMajor = new ConcurrentHashMap<>(); // Keyed on normalized major
+    private final LongAdder slots = new LongAdder();
+    private final LongAdder slotsFilled = new LongAdder();
+    private final LongAdder[] applicationsByStatus = adders(ApplicationStatus.values().length);
+    private final Map<Application, ApplicationStatus> countedAs = new ConcurrentHashMap<>(); // Status each application is counted under
+    private final LongAdder pendingWithdrawals = new LongAdder();
+
+    DashboardCounters() {
+    }
+
+    /**
+     * Count an internship in or out of its buckets.
+     *
+     * @param status status bucket
+     * @param level level bucket
+     * @param major normalized major bucket
+     * @param slotCount the internship's slots
+     * @param filledCount the internship's filled slots
+     * @param delta 1 to count it in, -1 to count it out
+     */
+    void internship(InternshipStatus status, InternshipLevel level, String major, int slotCount, int filledCount, int delta) {
+        internshipsByStatus[status.ordinal()].add(delta);
+        internshipsByLevel[level.ordinal()].add(delta);
+        internshipsByMajor.computeIfAbsent(major, k -> new LongAdder()).add(delta);
+        slots.add((long) slotCount * delta);
+        slotsFilled.add((long) filledCount * delta);
+    }
+
+    /**
+     * @param delta change in the number of filled slots
+     */
+    void slotsFilled(int delta) {
+        slotsFilled.add(delta);
+    }
+
+    /**
+     * Start counting a new or loaded application.
+     *
+     * @param application the application
+     */
+    void applicationAdded(Application application) {
+        ApplicationStatus status = application.getStatus();
+        if (countedAs.putIfAbsent(application, status) == null) {
+            applicationsByStatus[status.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Move an application to the count for its current status. Ignored for
+     * an application that is not counted, such as one whose internship was
+     * removed while a change to it was still under way.
+     *
+     * @param application the application
+     * @param status its current status
+     */
+    void application(Application application, ApplicationStatus status) {
+        countedAs.computeIfPresent(application, (app, previous) -> {
+            if (previous != status) {
+                applicationsByStatus[previous.ordinal()].decrement();
+                applicationsByStatus[status.ordinal()].increment();
+            }
+            return status;
+        });
+    }
+
+    /**
+     * Stop counting an application.
+     *
+     * @param application the removed application
+     */
+    void applicationRemoved(Application application) {
+        ApplicationStatus previous = countedAs.remove(application);
+        if (previous != null) {
+            applicationsByStatus[previous.ordinal()].decrement();
+        }
+    }
+
+    /**
+     * @param delta change in the number of pending withdrawal requests
+     */
+    void pendingWithdrawals(int delta) {
+        pendingWithdrawals.add(delta);
+    }
+
+    /**
+     * @param status internship status
+     * @return number of internships with that status
+     */
+    public long getInternships(InternshipStatus status) {
+        return internshipsByStatus[status.ordinal()].sum();
+    }
+
+    /**
+     * @param level internship level
+     * @return number of internships at that level
+     */
+    public long getInternships(InternshipLevel level) {
+        return internshipsByLevel[level.ordinal()].sum();
+    }
+
+    /**
+     * @param major preferred major, matched case-insensitively
+     * @return number of internships for that major
+     */
+    public long getInternshipsForMajor(String major) {
+        LongAdder count = internshipsByMajor.get(InternshipManager.normalizeMajor(major));
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * @return internships per status; every status is present
+     */
+    public Map<InternshipStatus, Long> getInternshipsByStatus() {
+        Map<InternshipStatus, Long> counts = new EnumMap<>(InternshipStatus.class);
+        for (InternshipStatus status : InternshipStatus.values()) {
+            counts.put(status, getInternships(status));
+        }
+        return counts;
+    }
+
+    /**
+     * @return internships per level; every level is present
+     */
+    public Map<InternshipLevel, Long> getInternshipsByLevel() {
+        Map<InternshipLevel, Long> counts = new EnumMap<>(InternshipLevel.class);
+        for (InternshipLevel level : InternshipLevel.values()) {
+            counts.put(level, getInternships(level));
+        }
+        return counts;
+    }
+
+    /**
+     * @return internships per normalized major, sorted; majors with none left are omitted
+     */
+    public Map<String, Long> getInternshipsByMajor() {
+        Map<String, Long> counts = new TreeMap<>();
+        internshipsByMajor.forEach((major, count) -> {
+            long sum = count.sum();
+            if (sum != 0) {
+                counts.put(major, sum);
+            }
+        });
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @param status application status
+     * @return number of applications with that status
+     */
+    public long getApplications(ApplicationStatus status) {
+        return applicationsByStatus[status.ordinal()].sum();
+    }
+
+    /**
+     * @return applications per status; every status is present
+     */
+    public Map<ApplicationStatus, Long> getApplicationsByStatus() {
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            counts.put(status, getApplications(status));
+        }
+        return counts;
+    }
+
+    /**
+     * @return number of withdrawal requests awaiting staff
+     */
+    public long getPendingWithdrawals() {
+        return pendingWithdrawals.sum();
+    }
+
+    /**
+     * @return total slots over all internships
+     */
+    public long getSlots() {
+        return slots.sum();
+    }
+
+    /**
+     * @return filled slots over all internships
+     */
+    public long getSlotsFilled() {
+        return slotsFilled.sum();
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -2,126 +2,169 @@ package com.internshipapp.controllers;
 
 import com.internshipapp.models.*;
 import com.internshipapp.enums.*;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.nio.file.Paths;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvValidationException;
-import java.util.stream.Stream; // Add this import
+
+import com.internshipapp.events.DomainEvent;
+import com.internshipapp.events.EventBus;
+import com.internshipapp.persistence.CsvRepository;
+import com.internshipapp.persistence.DataRepository;
 
 /**
  * Controller that manages internships: loading/saving, creation, approval,
  * visibility toggling and basic reporting.
+ * <p>
+ * Safe for concurrent sessions. Reads take no locks. Browsing goes through
+ * an immutable {@link CatalogueSnapshot}, published through an atomic
+ * reference by the writer that changes the catalogue's membership, while
+ * it holds the internship's lock; the writer copies only the lists its
+ * change touches, and readers just take the current snapshot. Lookups
+ * and reports use the ID map and index buckets, which are concurrent
+ * collections, so a query sees each bucket as of some recent point and
+ * never fails with a concurrent modification; an internship that is being
+ * moved between buckets may briefly be missing from a report. Writes lock only the
+ * entities they change, through {@link StripedLocks}: application status
+ * is changed under the student's lock (see {@link ApplicationManager}).
+ * Internship status and details are changed lock-free with a
+ * compare-and-set against the version the caller last saw (see
+ * {@link Internship#getVersion()}), which fails fast if another session
+ * got there first; the internship's lock is then taken only to move it
+ * between index buckets. Slot reservation is likewise a compare-and-set
+ * (see {@link #fillSlot(Internship)}).
+ * <p>
+ * Every change is announced on the {@link EventBus} once it is indexed and
+ * saved, under the same lock, so the events for one internship arrive in the
+ * order its changes were made.
  */
 public class InternshipManager {
 
-    private List<Internship> internships;
-    private final String internshipsCsvFile = "internships.csv";
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-    private int lastInternshipNumericId = 0; // To track the last used ID number
+    private final Queue<Internship> internships; // In load and creation order
+    private final Map<String, Internship> internshipsById = new ConcurrentHashMap<>(); // Primary-key index over internships
+    // Secondary indexes; kept in step with every status, level, major and visibility change.
+    // The enum maps hold a bucket for every constant from construction on, so they are never structurally modified
+    private final Map<InternshipStatus, Set<Internship>> internshipsByStatus = enumBuckets(InternshipStatus.class);
+    private final Map<InternshipLevel, Set<Internship>> internshipsByLevel = enumBuckets(InternshipLevel.class);
+    private final Map<String, Set<Internship>> internshipsByMajor = new ConcurrentHashMap<>(); // Keyed on normalized major
+    private final Map<Internship, IndexEntry> indexedAs = new ConcurrentHashMap<>(); // Buckets each internship is currently in
+    private final Map<String, Map<String, Application>> pendingApplicationsByOwner = new ConcurrentHashMap<>(); // Owner ID -> application ID -> application
+    private final IdAllocator internshipIds = new IdAllocator("INT", 3, ID_BLOCK_SIZE); // Seeded from the loaded IDs
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+    private final AtomicLong catalogueVersion = new AtomicLong(); // Bumped on every internship change, slot fills included
+    private final AtomicLong applicationVersion = new AtomicLong(); // Bumped on every application change
+    // Normalized major -> bumped on every slot, detail or application change of its internships
+    private final Map<String, AtomicLong> activityByMajor = new ConcurrentHashMap<>();
+    private final AtomicReference<CatalogueSnapshot> catalogue = new AtomicReference<>(CatalogueSnapshot.EMPTY); // Versioned by membership
+    private final DashboardCounters counters = new DashboardCounters(); // Kept in step with the indexes
+    private final ReportCache reportCache = new ReportCache(REPORT_CACHE_SIZE);
+    private DataRepository repository = new CsvRepository();
+    private EventBus events = new EventBus(); // No subscribers until one is set
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int ID_BLOCK_SIZE = 16;
+    private static final int REPORT_CACHE_SIZE = 32;
+    // Generated IDs share a prefix and grow in length past the padding, so shorter IDs sort first
+    static final Comparator<Internship> BY_ID = Comparator
+            .comparingInt((Internship i) -> i.getInternshipID().length())
+            .thenComparing(Internship::getInternshipID);
+    static final Comparator<Application> APPLICATIONS_BY_ID = Comparator
+            .comparingInt((Application a) -> a.getApplicationID().length())
+            .thenComparing(Application::getApplicationID);
 
     /**
-     * Create an InternshipManager using an existing list instance.
+     * Create an InternshipManager holding the given internships. The list is
+     * copied into a concurrent queue.
      *
-     * @param internships initial list to use
+     * @param internships initial internships
      */
     public InternshipManager(List<Internship> internships) {
-        this.internships = internships;
+        this.internships = new ConcurrentLinkedQueue<>(internships);
+        for (Internship internship : internships) {
+            internshipsById.put(internship.getInternshipID(), internship);
+            internshipIds.observe(internship.getInternshipID());
+            index(internship, internship.getSlotsFilled());
+        }
+        loaded();
     }
 
     /**
      * Create an InternshipManager with an empty internship list.
      */
     public InternshipManager() {
-        this.internships = new java.util.ArrayList<Internship>();
+        this.internships = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Set the storage backend internships are loaded from and saved to. Must
+     * be set before {@link #loadInternships(UserManager)}.
+     *
+     * @param repository backend to use
+     */
+    public void setRepository(DataRepository repository) {
+        this.repository = repository;
     }
 
     /**
-     * Load internships from the CSV resource and link to their owners.
+     * Set the bus that internship and application changes are published on.
+     *
+     * @param events bus to publish on
+     */
+    public void setEventBus(EventBus events) {
+        this.events = events;
+    }
+
+    /**
+     * Load internships from the repository and link them to their owners.
+     * Internships whose owner cannot be found are dropped.
      *
      * @param userManager used to resolve owner references
      */
     public void loadInternships(UserManager userManager) {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(getClass().getClassLoader().getResourceAsStream(internshipsCsvFile)))) {
-            String[] line;
-            reader.readNext(); // Skip header
-            while ((line = reader.readNext()) != null) {
-                String id = line[0];
-                String title = line[1];
-                String description = line[2];
-                InternshipLevel level = InternshipLevel.valueOf(line[3]);
-                String preferredMajor = line[4];
-                Date openingDate = dateFormat.parse(line[5]);
-                Date closingDate = dateFormat.parse(line[6]);
-                InternshipStatus status = InternshipStatus.valueOf(line[7]);
-                String companyName = line[8];
-                CompanyRepresentative owner = userManager.findRepresentativeById(line[9]);
-                int slots = Integer.parseInt(line[10]);
-                int slotsFilled = Integer.parseInt(line[11]);
-                boolean isVisible = Boolean.parseBoolean(line[12]);
-
-                if (owner != null) {
-                    Internship internship = new Internship(id, title, description, level, preferredMajor, openingDate, closingDate, status, companyName, owner, slots, slotsFilled, isVisible);
-                    internships.add(internship);
-                    owner.getCreatedInternships().add(internship); // Link back to owner
-
-                    // Track the highest ID number to avoid duplicates
-                    try {
-                        int numericId = Integer.parseInt(id.substring(3));
-                        if (numericId > lastInternshipNumericId) {
-                            lastInternshipNumericId = numericId;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Ignore if ID is not in the expected format
-                    }
-                }
-            }
-        } catch (IOException | CsvValidationException | ParseException | NullPointerException e) {
-            System.out.println("Error loading internships: " + e.getMessage());
+        for (Internship internship : repository.loadInternships(userManager::findRepresentativeById)) {
+            String id = internship.getInternshipID();
+            internship.markClean(); // Matches what is stored
+            internships.add(internship);
+            internshipsById.put(id, internship);
+            index(internship, internship.getSlotsFilled());
+            internship.getOwner().getCreatedInternships().add(internship); // Link back to owner
+
+            internshipIds.observe(id); // New IDs continue after the highest loaded one
         }
+        loaded();
     }
 
     /**
-     * Persist internships to the internships CSV resource.
+     * Publish a snapshot of everything loaded, in one step rather than one
+     * per internship.
      */
-    public void saveInternships() {
-        try {
-            URL resource = getClass().getClassLoader().getResource(internshipsCsvFile);
-            if (resource == null) throw new IOException("Cannot find resource file: " + internshipsCsvFile);
-            
-            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(resource.toURI()).toFile()))) {
-                String[] header = {"internshipID", "title", "description", "level", "preferedMajor", "openingDate", "closingDate", "status", "companyName", "ownerID", "slots", "slotsFilled", "isVisible"};
-                writer.writeNext(header);
-                for (Internship i : internships) {
-                    writer.writeNext(new String[]{
-                        i.getInternshipID(),
-                        i.getTitle(),
-                        i.getDescription(),
-                        i.getLevel().name(),
-                        i.getPreferedMajor(),
-                        dateFormat.format(i.getOpeningDate()),
-                        dateFormat.format(i.getClosingDate()),
-                        i.getStatus().name(),
-                        i.getCompanyName(),
-                        i.getOwner().getUserID(),
-                        String.valueOf(i.getSlots()),
-                        String.valueOf(i.getSlotsFilled()),
-                        String.valueOf(i.isVisible())
-                    });
-                }
-            }
-        } catch (Exception e) {
-            System.out.println("Error saving internships: " + e.getMessage());
-        }
+    private void loaded() {
+        catalogue.set(CatalogueSnapshot.build(catalogue.get().getVersion() + 1, internships));
+        catalogueChanged();
+    }
+
+    /**
+     * Persist all internships to the repository.
+     *
+     * @return true if the internships were written successfully
+     */
+    public boolean saveInternships() {
+        return repository.saveAllInternships(internships);
     }
 
     /**
@@ -135,87 +178,196 @@ public class InternshipManager {
      * @param description internship description
      * @param level internship level
      * @param preferedMajor preferred major
-     * @param openingDate opening date
-     * @param closingDate closing date
+     * @param openingDay opening date as an epoch day (see {@link EpochDays})
+     * @param closingDay closing date as an epoch day
      * @param owner owner representative who creates the internship
      * @param slots number of available slots (1-10)
      * @return the newly created Internship
      */
     public Internship createInternship(String title, String description, InternshipLevel level, String preferedMajor,
-                                       Date openingDate, Date closingDate, CompanyRepresentative owner, int slots) {
+                                       int openingDay, int closingDay, CompanyRepresentative owner, int slots) {
         
-        lastInternshipNumericId++; // Increment to get the next ID
-        String newId = String.format("INT%03d", lastInternshipNumericId);
+        String newId = internshipIds.next();
 
         Internship newInternship = new Internship(
             newId, title, description, level, preferedMajor,
-            openingDate, closingDate, InternshipStatus.PENDING, 
+            openingDay, closingDay, InternshipStatus.PENDING, 
             owner.getCompanyName(), owner, slots, 0, false
         );
 
-        this.internships.add(newInternship);
-        owner.getCreatedInternships().add(newInternship);
-        
+        locks.run(newId, () -> {
+            // Indexed before it can be found, so a slot taken as soon as it is listed is counted
+            IndexEntry entry = index(newInternship, 0);
+            this.internshipsById.put(newId, newInternship);
+            this.internships.add(newInternship);
+            catalogue.updateAndGet(snapshot -> snapshot.withAdded(newInternship, entry.placement));
+            catalogueChanged(); // After the buckets and the snapshot, so a read at the new version sees them
+            owner.getCreatedInternships().add(newInternship);
+            repository.saveInternship("createInternship", newInternship);
+            publish(EventType.INTERNSHIP_CREATED, "createInternship", newInternship);
+        });
+
         return newInternship;
     }
 
     /**
-     * Returns internships visible and available to the given student, applying
-     * basic major/level filters.
+     * Returns internships visible and available to the given student: approved,
+     * visible postings for the student's major at a level their year allows.
+     * Read from the current catalogue snapshot.
      *
      * @param student the student viewing internships
-     * @return list of internships available to the student
+     * @return unmodifiable list of internships available to the student
      */
     public List<Internship> viewAvailableInternships(Student student) {
-        // Students should only see internships that are open and visible
-        return internships.stream()
-                .filter(i -> i.getStatus() == InternshipStatus.APPROVED && i.isVisible())
-                .filter(i -> {
-                    // Filter 1: Major must match the student's major.
-                    boolean majorMatch = i.getPreferedMajor().equalsIgnoreCase(student.getMajor());
-
-                    // Filter 2: Level must match the student's year of study.
-                    boolean levelMatch;
-                    if (student.getYearOfStudy() <= 2) {
-                        // Year 1 and 2 students can only see BASIC level internships.
-                        levelMatch = (i.getLevel() == InternshipLevel.BASIC);
-                    } else {
-                        // Students in other years can see all levels.
-                        levelMatch = true;
-                    }
-                    
-                    return majorMatch && levelMatch;
-                })
-                .collect(Collectors.toList());
+        return catalogue().getAvailableTo(student);
     }
 
     /**
-     * @return the full list of internships (including pending ones)
+     * @return unmodifiable list of all internships (including pending ones), from the current catalogue snapshot
      */
     public List<Internship> viewAllInternships() {
         // For staff to see all internships, including pending ones
-        return internships;
+        return catalogue().getAll();
     }
 
     /**
-     * Approve the given internship and make it visible to students.
+     * The catalogue as of the latest membership change. Snapshots are
+     * published by the writers, so this is a single read with no lock.
+     *
+     * @return the current immutable snapshot
+     */
+    public CatalogueSnapshot catalogue() {
+        return catalogue.get();
+    }
+
+    /**
+     * Approve the given internship and make it visible to students, unless
+     * it changed since the caller looked at it.
      *
      * @param internship internship to approve
+     * @param expectedVersion the internship's version when the caller looked at it
+     * @return true if approved, false on a conflicting change
      */
-    public void approveInternship(Internship internship) {
-        internship.setStatus(InternshipStatus.APPROVED);
-        internship.setVisible(true);
+    public boolean approveInternship(Internship internship, int expectedVersion) {
+        return changeStatus(internship, expectedVersion, InternshipStatus.APPROVED, true,
+                EventType.INTERNSHIP_STATUS_CHANGED, "approveInternship");
     }
 
     /**
-     * Reject the given internship and hide it from students.
+     * Reject the given internship and hide it from students, unless it
+     * changed since the caller looked at it.
      *
      * @param internship internship to reject
+     * @param expectedVersion the internship's version when the caller looked at it
+     * @return true if rejected, false on a conflicting change
      */
-    public void rejectInternship(Internship internship) {
+    public boolean rejectInternship(Internship internship, int expectedVersion) {
         // Or you might want to remove it from the list entirely
-        internship.setStatus(InternshipStatus.REJECTED);
-        internship.setVisible(false);
+        return changeStatus(internship, expectedVersion, InternshipStatus.REJECTED, false,
+                EventType.INTERNSHIP_STATUS_CHANGED, "rejectInternship");
+    }
+
+    /**
+     * Approve or reject every pending internship the filter selects, in one
+     * call. The changes are stored as one group.
+     *
+     * @param which selects among the pending internships
+     * @param approve true to approve, false to reject
+     * @return the internships that were approved or rejected
+     */
+    public List<Internship> processInternships(Predicate<Internship> which, boolean approve) {
+        List<Internship> selected = getPendingInternships().stream()
+                .filter(which)
+                .collect(Collectors.toList());
+        return decideAll(selected, Internship::getVersion, approve);
+    }
+
+    /**
+     * Approve or reject the pending internships with the given IDs, in one
+     * call. IDs that are unknown or not pending are skipped. The changes are
+     * stored as one group.
+     *
+     * @param ids internship IDs
+     * @param approve true to approve, false to reject
+     * @return the internships that were approved or rejected
+     */
+    public List<Internship> processInternships(Collection<String> ids, boolean approve) {
+        Set<Internship> selected = new LinkedHashSet<>(); // Drops repeated IDs
+        for (String id : ids) {
+            Internship internship = findInternshipById(id);
+            if (internship != null) {
+                selected.add(internship);
+            }
+        }
+        return decideAll(selected, Internship::getVersion, approve);
+    }
+
+    /**
+     * Approve or reject pending internships, each only if it is still at
+     * the version the caller saw, e.g. when the pending list was shown. An
+     * internship that changed since is left out; the rest of the batch goes
+     * ahead. IDs that are unknown or not pending are skipped. The changes
+     * are stored as one group.
+     *
+     * @param expectedVersions internship ID -> version the decision is based on
+     * @param approve true to approve, false to reject
+     * @return the internships that were approved or rejected
+     */
+    public List<Internship> processInternships(Map<String, Integer> expectedVersions, boolean approve) {
+        Map<Internship, Integer> selected = new LinkedHashMap<>();
+        expectedVersions.forEach((id, version) -> {
+            Internship internship = findInternshipById(id);
+            if (internship != null) {
+                selected.put(internship, version);
+            }
+        });
+        return decideAll(selected.keySet(), selected::get, approve);
+    }
+
+    /**
+     * Decide a batch of internships: a compare-and-set per internship, then
+     * the index moves, then one repository group for all of them. An
+     * internship that stopped being pending, or changed while the batch
+     * ran, is left out.
+     *
+     * @param candidates internships to decide
+     * @param versionOf the version each decision is based on
+     * @param approve true to approve, false to reject
+     * @return the internships that were decided
+     */
+    private List<Internship> decideAll(Collection<Internship> candidates, ToIntFunction<Internship> versionOf, boolean approve) {
+        InternshipStatus status = approve ? InternshipStatus.APPROVED : InternshipStatus.REJECTED;
+        List<Internship> decided = new ArrayList<>();
+        for (Internship internship : candidates) {
+            int version = versionOf.applyAsInt(internship); // Read first; the status below belongs to it or the change fails
+            if (internship.getStatus() == InternshipStatus.PENDING && internship.compareAndSetStatus(version, status, approve)) {
+                decided.add(internship);
+            }
+        }
+        if (decided.isEmpty()) {
+            return decided;
+        }
+        catalogueChanged();
+        for (Internship internship : decided) {
+            locks.run(internship.getInternshipID(), () -> {
+                if (internshipsById.get(internship.getInternshipID()) == internship) {
+                    syncIndex(internship);
+                }
+            });
+        }
+        String op = approve ? "approveInternships" : "rejectInternships";
+        repository.writeGroup(target -> {
+            for (Internship internship : decided) {
+                // Skip any removed meanwhile, so the batch does not put them back
+                if (internshipsById.get(internship.getInternshipID()) == internship) {
+                    target.saveInternship(op, internship);
+                }
+            }
+        });
+        for (Internship internship : decided) {
+            publish(EventType.INTERNSHIP_STATUS_CHANGED, op, internship);
+        }
+        return decided;
     }
 
     /**
@@ -227,58 +379,445 @@ public class InternshipManager {
     }
 
     /**
-     * Approve a specific application, if the internship has available slots.
+     * Approve a specific application, if it is still pending, has not
+     * changed since the caller looked at it, and the internship has
+     * available slots.
      *
      * @param application the application to approve
+     * @param expectedVersion the application's version when the caller looked at it
+     * @return true if approved
      */
-    public void approveApplication(Application application) {
-        Internship internship = application.getInternship();
-        if (internship.getSlotsFilled() < internship.getSlots()) {
-            application.setStatus(ApplicationStatus.APPROVED);
-        } else {
-            System.out.println("Cannot approve application, all slots are filled.");
-        }
+    public boolean approveApplication(Application application, int expectedVersion) {
+        return reportDecision("approve", decideApplication(application, expectedVersion, true));
     }
 
     /**
-     * Mark an application as unsuccessful.
+     * Mark an application as unsuccessful, if it is still pending and has
+     * not changed since the caller looked at it.
      *
      * @param application the application to reject
+     * @param expectedVersion the application's version when the caller looked at it
+     * @return true if rejected
      */
-    public void rejectApplication(Application application) {
-        application.setStatus(ApplicationStatus.UNSUCCESSFUL);
+    public boolean rejectApplication(Application application, int expectedVersion) {
+        return reportDecision("reject", decideApplication(application, expectedVersion, false));
+    }
+
+    /**
+     * Approve or reject an application, if it is still pending and has not
+     * changed since the caller looked at it; approval also needs a free
+     * slot.
+     *
+     * @param application the application to decide
+     * @param expectedVersion the application's version when the caller looked at it
+     * @param approve true to approve, false to reject
+     * @return SUCCESS, or NOT_PENDING, SLOTS_FILLED or CHANGED
+     */
+    public OperationStatus decideApplication(Application application, int expectedVersion, boolean approve) {
+        Internship internship = application.getInternship();
+        String op = approve ? "approveApplication" : "rejectApplication";
+        // The locks keep the student's other applications still while this one is decided
+        return locks.call(internship.getInternshipID(), application.getStudent().getUserID(), () -> {
+            if (application.getStatus() != ApplicationStatus.PENDING) {
+                // Another session decided it first, e.g. the student accepted a different placement
+                return OperationStatus.NOT_PENDING;
+            }
+            if (approve && internship.getSlotsFilled() >= internship.getSlots()) {
+                return OperationStatus.SLOTS_FILLED;
+            }
+            if (!application.compareAndSetStatus(expectedVersion, approve ? ApplicationStatus.APPROVED : ApplicationStatus.UNSUCCESSFUL)) {
+                return OperationStatus.CHANGED;
+            }
+            trackApplication(application);
+            repository.saveApplication(op, application);
+            publish(EventType.APPLICATION_STATUS_CHANGED, op, application);
+            return OperationStatus.SUCCESS;
+        });
+    }
+
+    private static boolean reportDecision(String action, OperationStatus status) {
+        switch (status) {
+            case SUCCESS:
+                return true;
+            case NOT_PENDING:
+                System.out.println("Cannot " + action + " application, it is no longer pending.");
+                return false;
+            case SLOTS_FILLED:
+                System.out.println("Cannot " + action + " application, all slots are filled.");
+                return false;
+            default:
+                System.out.println("Cannot " + action + " application, it was changed by someone else.");
+                return false;
+        }
     }
 
     /**
-     * Toggle the visibility flag on an internship.
+     * Toggle the visibility flag on an internship. The flag is flipped
+     * from the value read here, so a concurrent change makes the toggle
+     * fail rather than flip it back.
      *
      * @param internship the internship to toggle
+     * @return true if toggled, false on a conflicting change
      */
-    public void toggleInternshipVisibility(Internship internship) {
-        internship.setVisible(!internship.isVisible());
+    public boolean toggleInternshipVisibility(Internship internship) {
+        int version = internship.getVersion(); // Read first; the values below belong to it or the change fails
+        if (!changeStatus(internship, version, internship.getStatus(), !internship.isVisible(),
+                EventType.INTERNSHIP_VISIBILITY_CHANGED, "toggleInternshipVisibility")) {
+            return false;
+        }
         System.out.println("Visibility for internship '" + internship.getTitle() + "' is now " + (internship.isVisible() ? "ON" : "OFF"));
+        return true;
+    }
+
+    /**
+     * Apply a representative's edits to an internship, unless it changed
+     * since the representative looked at it. Null arguments keep the
+     * current value.
+     *
+     * @param internship internship to edit
+     * @param expectedVersion the internship's version when the representative looked at it
+     * @param title new title, or null
+     * @param description new description, or null
+     * @param preferedMajor new preferred major, or null
+     * @param level new level, or null
+     * @param slots new number of slots, or null
+     * @return true if the edits were applied, false on a conflicting change
+     */
+    public boolean updateInternshipDetails(Internship internship, int expectedVersion, String title, String description,
+                                           String preferedMajor, InternshipLevel level, Integer slots) {
+        if (!internship.beginEdit(expectedVersion)) {
+            System.out.println("Error: Internship " + internship.getInternshipID() + " was changed by someone else. Please review it and try again.");
+            return false;
+        }
+        try {
+            if (title != null) {
+                internship.setTitle(title);
+            }
+            if (description != null) {
+                internship.setDescription(description);
+            }
+            if (preferedMajor != null) {
+                internship.setPreferedMajor(preferedMajor);
+            }
+            if (level != null) {
+                internship.setLevel(level);
+            }
+            if (slots != null) {
+                internship.setSlots(slots);
+            }
+        } finally {
+            internship.endEdit();
+        }
+        changed(internship, EventType.INTERNSHIP_UPDATED, "updateInternshipDetails");
+        return true;
+    }
+
+    /**
+     * Set an internship's status and visibility with a compare-and-set
+     * against the expected version, then bring the indexes and storage up
+     * to date.
+     *
+     * @param internship internship to change
+     * @param expectedVersion version the change is based on
+     * @param status new status
+     * @param visible new visibility
+     * @param type event to publish
+     * @param op operation name for the repository
+     * @return true if changed, false on a conflicting change
+     */
+    private boolean changeStatus(Internship internship, int expectedVersion, InternshipStatus status, boolean visible,
+                                 EventType type, String op) {
+        if (!internship.compareAndSetStatus(expectedVersion, status, visible)) {
+            System.out.println("Error: Internship " + internship.getInternshipID() + " was changed by someone else. Please review it and try again.");
+            return false;
+        }
+        changed(internship, type, op);
+        return true;
+    }
+
+    /**
+     * Move a changed internship to its current index buckets, save it and
+     * publish the change. The change itself needs no lock; the internship's
+     * lock is taken only so that index updates and saves cannot interleave
+     * with a removal, which would put a removed internship back.
+     *
+     * @param internship the changed internship
+     * @param type event to publish
+     * @param op operation name for the repository
+     */
+    private void changed(Internship internship, EventType type, String op) {
+        catalogueChanged();
+        activityChanged(internship);
+        locks.run(internship.getInternshipID(), () -> {
+            if (internshipsById.get(internship.getInternshipID()) == internship) {
+                syncIndex(internship); // From the current state, so concurrent changes settle on the latest one
+                repository.saveInternship(op, internship);
+                publish(type, op, internship);
+            }
+        });
+    }
+
+    /**
+     * Publish a change to an internship, with its current status (or, for a
+     * visibility change, VISIBLE/HIDDEN) as the event's state.
+     *
+     * @param type kind of change
+     * @param op operation that made the change
+     * @param internship the changed internship
+     */
+    private void publish(EventType type, String op, Internship internship) {
+        String state = type == EventType.INTERNSHIP_VISIBILITY_CHANGED
+                ? (internship.isVisible() ? "VISIBLE" : "HIDDEN")
+                : internship.getStatus().name();
+        events.publish(new DomainEvent(type, op, internship.getInternshipID(), state, internship));
     }
 
     /**
-     * Find an internship by ID.
+     * Publish a change to an application, with its current status as the
+     * event's state.
+     *
+     * @param type kind of change
+     * @param op operation that made the change
+     * @param application the changed application
+     */
+    private void publish(EventType type, String op, Application application) {
+        events.publish(new DomainEvent(type, op, application.getApplicationID(), application.getStatus().name(), application));
+    }
+
+    /**
+     * Find an internship by ID using the primary-key index.
      *
      * @param id internship identifier
      * @return matching Internship or null if not found
      */
     public Internship findInternshipById(String id) {
-        return internships.stream()
-                .filter(i -> i.getInternshipID().equals(id))
-                .findFirst()
-                .orElse(null);
+        if (id == null) {
+            return null;
+        }
+        return internshipsById.get(id);
+    }
+
+    /**
+     * Internships created by a representative, read from the owner's own list.
+     *
+     * @param owner the representative
+     * @return copy of the owner's internships, in creation order
+     */
+    public List<Internship> getInternshipsOwnedBy(CompanyRepresentative owner) {
+        return new ArrayList<>(owner.getCreatedInternships());
+    }
+
+    /**
+     * Find an internship by ID, but only if the given representative owns it.
+     *
+     * @param owner the representative
+     * @param id internship identifier
+     * @return matching Internship, or null if not found or owned by someone else
+     */
+    public Internship findOwnedInternship(CompanyRepresentative owner, String id) {
+        Internship internship = findInternshipById(id);
+        if (internship == null || !internship.getOwner().getUserID().equals(owner.getUserID())) {
+            return null;
+        }
+        return internship;
+    }
+
+    /**
+     * Find a PENDING application to one of a representative's internships
+     * using the per-owner pending index.
+     *
+     * @param owner the representative
+     * @param applicationId application identifier
+     * @return the pending Application, or null if there is none with that ID
+     */
+    public Application findPendingApplication(CompanyRepresentative owner, String applicationId) {
+        return pendingApplicationsByOwner.getOrDefault(owner.getUserID(), Collections.emptyMap()).get(applicationId);
+    }
+
+    /**
+     * The PENDING applications to a representative's internships, from the
+     * per-owner pending index, in application ID order.
+     *
+     * @param owner the representative
+     * @return the pending applications
+     */
+    public List<Application> getPendingApplications(CompanyRepresentative owner) {
+        return pendingApplicationsByOwner.getOrDefault(owner.getUserID(), Collections.emptyMap()).values().stream()
+                .sorted(APPLICATIONS_BY_ID)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Bring the per-owner pending index and the counters in line with an
+     * application's current status, and bump the application version. Must
+     * be called when an application is added and after every status change.
+     *
+     * @param application application to track
+     */
+    void trackApplication(Application application) {
+        applicationVersion.incrementAndGet(); // The change is already made, so a report at the new version sees it
+        activityChanged(application.getInternship());
+        counters.application(application, application.getStatus());
+        if (application.getStatus() != ApplicationStatus.PENDING) {
+            untrackApplication(application);
+            return;
+        }
+        pendingApplicationsByOwner.compute(application.getInternship().getOwner().getUserID(), (owner, pending) -> {
+            if (pending == null) {
+                pending = new ConcurrentHashMap<>();
+            }
+            pending.put(application.getApplicationID(), application);
+            return pending;
+        });
+    }
+
+    private void untrackApplication(Application application) {
+        pendingApplicationsByOwner.computeIfPresent(application.getInternship().getOwner().getUserID(), (owner, pending) -> {
+            pending.remove(application.getApplicationID(), application);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+
+    /**
+     * A number that changes whenever an internship is created or removed,
+     * or its status, visibility, major or level changes; filling a slot
+     * leaves it alone unless that makes the internship FILLED. It is the
+     * version of the current {@link #catalogue()} snapshot, and validates
+     * anything derived from membership alone, such as a filtered list.
+     *
+     * @return current membership version
+     */
+    public long getMembershipVersion() {
+        return catalogue.get().getVersion();
+    }
+
+    /**
+     * A number that changes whenever any internship is created, removed or
+     * changed. Two equal readings mean the catalogue did not change in
+     * between, so it can serve as a cache validator (e.g. an HTTP ETag).
+     *
+     * @return current catalogue version
+     */
+    public long getCatalogueVersion() {
+        return catalogueVersion.get();
+    }
+
+    /**
+     * A number that changes whenever any application is added or changes
+     * status. Removed applications are covered by the catalogue version, as
+     * they go with their internship.
+     *
+     * @return current application version
+     */
+    public long getApplicationVersion() {
+        return applicationVersion.get();
+    }
+
+    /**
+     * Record that an internship changed outside the indexed fields, such as
+     * its slot count. Call it after the change is made, never before, so
+     * that a snapshot taken at the new version includes the change.
+     */
+    void catalogueChanged() {
+        catalogueVersion.incrementAndGet();
+    }
+
+    /**
+     * @return the locks guarding internship and student state, shared with
+     *         {@link ApplicationManager}
+     */
+    StripedLocks locks() {
+        return locks;
     }
 
     /**
      * @return list of internships currently in PENDING state
      */
     public List<Internship> getPendingInternships() {
-        return internships.stream()
-                .filter(i -> i.getStatus() == InternshipStatus.PENDING)
-                .collect(Collectors.toList());
+        List<Internship> pending = new ArrayList<>(internshipsByStatus.get(InternshipStatus.PENDING));
+        pending.sort(BY_ID);
+        return pending;
+    }
+
+    /**
+     * Reserve one slot for a placement. The reservation is a single
+     * compare-and-set on the internship ({@link Internship#tryFillSlot()}),
+     * so concurrent acceptances never contend on the internship's lock for it
+     * and can never oversubscribe it. Taking the last slot makes the
+     * internship FILLED and hidden in the same step. The lock is taken only
+     * afterwards, briefly, to count the slot and move a FILLED internship to
+     * its new index buckets.
+     *
+     * @param internship internship to take a slot from
+     * @return true if a slot was reserved, false if the internship is full
+     */
+    public boolean fillSlot(Internship internship) {
+        if (!internship.tryFillSlot()) {
+            return false;
+        }
+        slotFilled(internship, "fillSlot");
+        return true;
+    }
+
+    /**
+     * Update the counters and indexes after a slot of the internship was
+     * reserved with {@link Internship#tryFillSlot()}. Takes the internship's
+     * lock, so callers must not hold other stripes.
+     *
+     * @param internship internship whose slot was reserved
+     * @param op operation that reserved it
+     */
+    void slotFilled(Internship internship, String op) {
+        catalogueChanged(); // Slots filled changed even if the status did not
+        activityChanged(internship);
+        locks.run(internship.getInternshipID(), () -> {
+            // Counted only while indexed; a removal subtracts the slots counted so far, so a slot taken
+            // just before the removal is neither counted nor subtracted
+            IndexEntry entry = indexedAs.get(internship);
+            if (entry != null) {
+                entry.slotsFilled++;
+                counters.slotsFilled(1);
+                if (internship.getStatus() == InternshipStatus.FILLED) {
+                    syncIndex(internship);
+                }
+            }
+        });
+        publish(EventType.INTERNSHIP_SLOTS_CHANGED, op, internship);
+    }
+
+    /**
+     * Update the catalogue version and counters after a slot of the
+     * internship was given back with {@link Internship#releaseSlot()}, and
+     * publish the change. Callers must hold the internship's lock.
+     *
+     * @param internship internship whose slot was released
+     * @param op operation that released it
+     */
+    void slotReleased(Internship internship, String op) {
+        catalogueChanged();
+        activityChanged(internship);
+        IndexEntry entry = indexedAs.get(internship);
+        if (entry != null) {
+            entry.slotsFilled--;
+            counters.slotsFilled(-1);
+        }
+        publish(EventType.INTERNSHIP_SLOTS_CHANGED, op, internship);
+    }
+
+    /**
+     * Live totals for the staff dashboard.
+     *
+     * @return the counters, updated on every change
+     */
+    public DashboardCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * @return the dashboard counters, shared with {@link ApplicationManager}
+     */
+    DashboardCounters counters() {
+        return counters;
     }
 
     /**
@@ -291,40 +830,312 @@ public class InternshipManager {
             return;
         }
 
-        // Remove applications associated with this internship from each student
-        for (Application app : internshipToRemove.getApplications()) {
-            app.getStudent().getApplications().remove(app);
-        }
+        locks.run(internshipToRemove.getInternshipID(), () -> {
+            // Remove from the index first; if another session already removed it there is nothing left to do
+            if (!internshipsById.remove(internshipToRemove.getInternshipID(), internshipToRemove)) {
+                return;
+            }
 
-        // Remove from owner's list
-        internshipToRemove.getOwner().getCreatedInternships().remove(internshipToRemove);
+            // Remove applications associated with this internship from each student
+            for (Application app : internshipToRemove.getApplications()) {
+                app.getStudent().getApplications().remove(app);
+                untrackApplication(app);
+                counters.applicationRemoved(app);
+            }
 
-        // Remove from the main list
-        internships.remove(internshipToRemove);
+            // Remove from owner's list
+            internshipToRemove.getOwner().getCreatedInternships().remove(internshipToRemove);
+
+            // Remove from the main list and the secondary indexes
+            internships.remove(internshipToRemove);
+            IndexEntry entry = unindex(internshipToRemove);
+            catalogue.updateAndGet(snapshot -> snapshot.withRemoved(internshipToRemove, entry == null ? null : entry.placement));
+            catalogueChanged();
+            repository.deleteInternship("removeInternship", internshipToRemove);
+            publish(EventType.INTERNSHIP_REMOVED, "removeInternship", internshipToRemove);
+        });
     }
 
     /**
-     * Generate a filtered list of internships for reporting purposes.
+     * Generate a filtered list of internships for reporting purposes. The
+     * list is reused from the {@link ReportCache} for as long as no
+     * internship is created, removed or changes status, visibility, major or
+     * level.
      *
      * @param status optional status filter
      * @param major optional major filter
      * @param level optional level filter
-     * @return filtered list of internships
+     * @return unmodifiable filtered list of internships, in ID order when filtered
      */
     public List<Internship> generateReport(String status, String major, String level) {
-        Stream<Internship> stream = internships.stream();
+        ReportCache.Key key = ReportCache.key(status, major, level);
+        return matching(key, getMembershipVersion());
+    }
+
+    /**
+     * The internships matching the filters, from the cache if it holds them
+     * for the given membership version, else from one pass over the index
+     * buckets.
+     *
+     * @param key normalized filters
+     * @param membershipVersion membership version read before calling
+     * @return unmodifiable list of the matching internships
+     */
+    private List<Internship> matching(ReportCache.Key key, long membershipVersion) {
+        List<Internship> matching = reportCache.getList(key, membershipVersion);
+        if (matching == null) {
+            matching = Collections.unmodifiableList(intersect(key));
+            reportCache.putList(key, membershipVersion, matching);
+        }
+        return matching;
+    }
 
-        if (status != null && !status.trim().isEmpty()) {
-            stream = stream.filter(i -> i.getStatus().name().equalsIgnoreCase(status));
+    private List<Internship> intersect(ReportCache.Key key) {
+        List<Set<Internship>> buckets = new ArrayList<>();
+        if (!key.getStatus().isEmpty()) {
+            InternshipStatus wanted = parseEnum(InternshipStatus.class, key.getStatus());
+            buckets.add(wanted == null ? Collections.emptySet() : internshipsByStatus.getOrDefault(wanted, Collections.emptySet()));
+        }
+        if (!key.getMajor().isEmpty()) {
+            buckets.add(internshipsByMajor.getOrDefault(key.getMajor(), Collections.emptySet()));
         }
-        if (major != null && !major.trim().isEmpty()) {
-            stream = stream.filter(i -> i.getPreferedMajor().equalsIgnoreCase(major));
+        if (!key.getLevel().isEmpty()) {
+            InternshipLevel wanted = parseEnum(InternshipLevel.class, key.getLevel());
+            buckets.add(wanted == null ? Collections.emptySet() : internshipsByLevel.getOrDefault(wanted, Collections.emptySet()));
         }
-        if (level != null && !level.trim().isEmpty()) {
-            stream = stream.filter(i -> i.getLevel().name().equalsIgnoreCase(level));
+        if (buckets.isEmpty()) {
+            return catalogue().getAll();
         }
 
-        return stream.collect(Collectors.toList());
+        // Walk the smallest bucket and keep the postings that are in all the others (hash lookups)
+        buckets.sort(Comparator.comparingInt(Set::size));
+        Set<Internship> smallest = buckets.get(0);
+        List<Set<Internship>> others = buckets.subList(1, buckets.size());
+        return smallest.stream()
+                .filter(i -> others.stream().allMatch(bucket -> bucket.contains(i)))
+                .sorted(BY_ID) // Buckets are unordered
+                .collect(Collectors.toList());
     }
 
-}
\ No newline at end of file
+    /**
+     * Summarize the internships matching the optional filters, together with
+     * their applications: counts by status, level, major and company, fill
+     * rates and the application funnel. Computed in parallel by
+     * {@link ReportEngine} over the list {@link #generateReport} returns, so
+     * a staff member who lists the matches and then summarizes them pays for
+     * one intersection. The summary is reused from the {@link ReportCache}
+     * until membership changes or, for a report filtered by major, until a
+     * slot or application of that major's internships changes; without a
+     * major filter, until any internship or application changes.
+     *
+     * @param status optional status filter
+     * @param major optional major filter
+     * @param level optional level filter
+     * @return the report
+     */
+    public Report summarizeReport(String status, String major, String level) {
+        ReportCache.Key key = ReportCache.key(status, major, level);
+        // Read before the data, so a report that races with a change is stored as already out of date
+        long activity = activity(key);
+        long membership = getMembershipVersion();
+        Report report = reportCache.getReport(key, membership, activity);
+        if (report == null) {
+            report = ReportEngine.summarize(matching(key, membership), describeFilters(key));
+            reportCache.putReport(key, membership, activity, report);
+        }
+        return report;
+    }
+
+    /**
+     * A number that changes whenever a slot, detail or application of an
+     * internship the filters could select changes: the major's own counter
+     * when filtering by major, else the catalogue and application versions
+     * combined (both only grow, so their sum changes whenever either does).
+     *
+     * @param key normalized filters
+     * @return the activity stamp
+     */
+    private long activity(ReportCache.Key key) {
+        if (key.getMajor().isEmpty()) {
+            return catalogueVersion.get() + applicationVersion.get();
+        }
+        AtomicLong majorActivity = activityByMajor.get(key.getMajor());
+        return majorActivity == null ? 0 : majorActivity.get();
+    }
+
+    /**
+     * Record a change to an internship's slots, details or applications for
+     * the reports on its major. Call it after the change is made.
+     *
+     * @param internship the changed internship
+     */
+    private void activityChanged(Internship internship) {
+        activityByMajor.computeIfAbsent(normalizeMajor(internship.getPreferedMajor()), major -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Hit, miss and eviction statistics of the cache behind
+     * {@link #summarizeReport}.
+     *
+     * @return the report cache
+     */
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
+
+    private static String describeFilters(ReportCache.Key key) {
+        List<String> parts = new ArrayList<>();
+        if (!key.getStatus().isEmpty()) {
+            parts.add("status=" + key.getStatus());
+        }
+        if (!key.getMajor().isEmpty()) {
+            parts.add("major=" + key.getMajor());
+        }
+        if (!key.getLevel().isEmpty()) {
+            parts.add("level=" + key.getLevel());
+        }
+        return parts.isEmpty() ? "none" : String.join(", ", parts);
+    }
+
+    /**
+     * Add an internship to the secondary indexes and record where it was put.
+     * The caller publishes the catalogue change.
+     *
+     * @param internship internship to index
+     * @param slotsFilled filled slots to count for it
+     * @return the entry it was recorded under
+     */
+    private IndexEntry index(Internship internship, int slotsFilled) {
+        IndexEntry entry = new IndexEntry(internship, slotsFilled);
+        indexedAs.put(internship, entry);
+        internshipsByStatus.get(entry.status).add(internship);
+        internshipsByLevel.get(entry.level).add(internship);
+        addTo(internshipsByMajor, entry.major, internship);
+        counters.internship(entry.status, entry.level, entry.major, entry.slots, entry.slotsFilled, 1);
+        return entry;
+    }
+
+    /**
+     * Remove an internship from the secondary indexes it was recorded in.
+     * The recorded buckets are used rather than the current fields, because
+     * a slot reservation can change the status without the lock. The
+     * caller publishes the catalogue change.
+     *
+     * @param internship internship to remove
+     * @return the entry it was recorded under, or null if it was not indexed
+     */
+    private IndexEntry unindex(Internship internship) {
+        IndexEntry entry = indexedAs.remove(internship);
+        if (entry == null) {
+            return null;
+        }
+        internshipsByStatus.get(entry.status).remove(internship);
+        internshipsByLevel.get(entry.level).remove(internship);
+        removeFrom(internshipsByMajor, entry.major, internship);
+        counters.internship(entry.status, entry.level, entry.major, entry.slots, entry.slotsFilled, -1);
+        return entry;
+    }
+
+    /**
+     * Move an internship from the buckets it was recorded in to the buckets
+     * matching its current fields, and publish the next catalogue snapshot
+     * if its membership changed. Callers must hold the internship's lock.
+     *
+     * @param internship internship to move
+     */
+    private void syncIndex(Internship internship) {
+        IndexEntry previous = unindex(internship);
+        IndexEntry current = index(internship, previous == null ? 0 : previous.slotsFilled);
+        if (previous == null || !previous.sameMembership(current)) {
+            CatalogueSnapshot.Placement from = previous == null ? null : previous.placement;
+            catalogue.updateAndGet(snapshot -> snapshot.withMoved(internship, from, current.placement));
+        }
+        catalogueChanged(); // After the buckets and the snapshot, so a read at the new version sees them
+    }
+
+    /**
+     * The buckets an internship was last indexed under, and the filled slots
+     * counted for it.
+     */
+    private static final class IndexEntry {
+        private final InternshipStatus status;
+        private final InternshipLevel level;
+        private final String major; // Normalized
+        private final boolean visible;
+        private final CatalogueSnapshot.Placement placement; // Null unless open to students
+        private final int slots;
+        private int slotsFilled; // Changed only under the internship's lock
+
+        IndexEntry(Internship internship, int slotsFilled) {
+            this.status = internship.getStatus();
+            this.level = internship.getLevel();
+            this.major = normalizeMajor(internship.getPreferedMajor());
+            this.visible = internship.isVisible();
+            this.placement = CatalogueSnapshot.Placement.of(status, visible, level, major);
+            this.slots = internship.getSlots();
+            this.slotsFilled = slotsFilled;
+        }
+
+        /**
+         * @param other a later entry for the same internship
+         * @return true if status, visibility, major and level are unchanged
+         */
+        boolean sameMembership(IndexEntry other) {
+            return status == other.status && visible == other.visible && level == other.level && major.equals(other.major);
+        }
+    }
+
+    /**
+     * Add an internship to a bucket of a concurrent index, creating the
+     * bucket if needed. Atomic with respect to {@link #removeFrom}.
+     */
+    private static void addTo(Map<String, Set<Internship>> index, String key, Internship internship) {
+        index.compute(key, (k, bucket) -> {
+            if (bucket == null) {
+                bucket = ConcurrentHashMap.newKeySet();
+            }
+            bucket.add(internship);
+            return bucket;
+        });
+    }
+
+    /**
+     * Remove an internship from a bucket of a concurrent index, dropping the
+     * bucket once it is empty.
+     */
+    private static void removeFrom(Map<String, Set<Internship>> index, String key, Internship internship) {
+        index.computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(internship);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    /**
+     * Build an enum-keyed index with an empty bucket for every constant.
+     */
+    private static <E extends Enum<E>> Map<E, Set<Internship>> enumBuckets(Class<E> type) {
+        Map<E, Set<Internship>> index = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            index.put(constant, ConcurrentHashMap.newKeySet());
+        }
+        return index;
+    }
+
+    /**
+     * Normalize a major for index lookups: trimmed and lower-cased.
+     *
+     * @param major raw major
+     * @return normalized key ("" for null)
+     */
+    static String normalizeMajor(String major) {
+        return major == null ? "" : major.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null; // No constant with that name, so nothing can match
+        }
+    }
+}
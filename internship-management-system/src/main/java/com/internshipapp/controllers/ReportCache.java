@@ -0,0 +1,257 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Report;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of report results, keyed on the normalized filters, for
+ * staff who run the same report again and again. Each entry holds the list
+ * of matching internships and, once computed, their summary. The least
+ * recently used entry is evicted once more than {@code capacity} are held.
+ * <p>
+ * The list is stored with the membership version read before it was
+ * computed (see {@link InternshipManager#getMembershipVersion()}), and is
+ * returned only while that is unchanged, so it is reused across slot fills
+ * and application changes, which cannot change which internships match.
+ * The summary also covers slots and applications, so it is stored with an
+ * activity stamp as well: a number the caller reads before computing it
+ * that changes whenever anything the summary covers changes. A result
+ * computed while a change was being made is simply not reused. The map is
+ * guarded by the cache's monitor, held only for a lookup or store, never
+ * while a result is computed.
+ */
+public final class ReportCache {
+    private final int capacity;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache.
+     *
+     * @param capacity most entries held at once
+     */
+    ReportCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) { // Access order, least recently used first
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= ReportCache.this.capacity) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Normalize a set of report filters, so that spellings that select the
+     * same internships share one entry.
+     *
+     * @param status optional status filter
+     * @param major optional major filter
+     * @param level optional level filter
+     * @return the cache key
+     */
+    static Key key(String status, String major, String level) {
+        return new Key(upperCase(status), InternshipManager.normalizeMajor(major), upperCase(level));
+    }
+
+    private static String upperCase(String filter) {
+        return filter == null ? "" : filter.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Look up the internships matching the filters at a membership version.
+     *
+     * @param key normalized filters
+     * @param membershipVersion current membership version
+     * @return the cached list, or null if there is none for that version
+     */
+    synchronized List<Internship> getList(Key key, long membershipVersion) {
+        Entry entry = current(key, membershipVersion);
+        return count(entry == null ? null : entry.internships);
+    }
+
+    /**
+     * Look up the summary of the matching internships.
+     *
+     * @param key normalized filters
+     * @param membershipVersion current membership version
+     * @param activity current activity stamp for the filters
+     * @return the cached report, or null if there is none or it is out of date
+     */
+    synchronized Report getReport(Key key, long membershipVersion, long activity) {
+        Entry entry = current(key, membershipVersion);
+        return count(entry == null || entry.activity != activity ? null : entry.report);
+    }
+
+    /**
+     * Store the internships matching the filters, unless a list for a later
+     * membership version was stored in the meantime.
+     *
+     * @param key normalized filters
+     * @param membershipVersion membership version read before computing the list
+     * @param internships the matching internships; kept as given, so it must not change
+     */
+    synchronized void putList(Key key, long membershipVersion, List<Internship> internships) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.membershipVersion < membershipVersion) {
+            entries.put(key, new Entry(membershipVersion, internships));
+        }
+    }
+
+    /**
+     * Store the summary of the list stored for the same membership version,
+     * unless a summary at a later activity stamp was stored in the meantime.
+     * Ignored if the list has since been replaced.
+     *
+     * @param key normalized filters
+     * @param membershipVersion membership version the list was computed at
+     * @param activity activity stamp read before computing the report
+     * @param report the report
+     */
+    synchronized void putReport(Key key, long membershipVersion, long activity, Report report) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.membershipVersion == membershipVersion && (entry.report == null || entry.activity <= activity)) {
+            entry.activity = activity;
+            entry.report = report;
+        }
+    }
+
+    /**
+     * @return the entry for the key if it is at the given membership
+     *         version; an older one is dropped, as it can never become valid again
+     */
+    private Entry current(Key key, long membershipVersion) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.membershipVersion < membershipVersion) {
+            entries.remove(key);
+            return null;
+        }
+        return entry != null && entry.membershipVersion == membershipVersion ? entry : null;
+    }
+
+    private <T> T count(T found) {
+        if (found != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return found;
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that had to compute the list or report
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of entries dropped to stay within capacity
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return hits as a fraction of all lookups (0 when there were none)
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long lookups = hitCount + getMisses();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * @return number of entries currently held, including out-of-date ones not yet looked up
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return most entries held at once
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Normalized report filters: status and level upper-cased, major as
+     * indexed; "" for a filter that is not set.
+     */
+    static final class Key {
+        private final String status;
+        private final String major;
+        private final String level;
+
+        private Key(String status, String major, String level) {
+            this.status = status;
+            this.major = major;
+            this.level = level;
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        String getMajor() {
+            return major;
+        }
+
+        String getLevel() {
+            return level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return status.equals(other.status) && major.equals(other.major) && level.equals(other.level);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, major, level);
+        }
+    }
+
+    /**
+     * The matching internships at one membership version, and their summary
+     * at one activity stamp once computed. Guarded by the cache's monitor.
+     */
+    private static final class Entry {
+        private final long membershipVersion;
+        private final List<Internship> internships;
+        private long activity;
+        private Report report;
+
+        Entry(long membershipVersion, List<Internship> internships) {
+            this.membershipVersion = membershipVersion;
+            this.internships = internships;
+        }
+    }
+}
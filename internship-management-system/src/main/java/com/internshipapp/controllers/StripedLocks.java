@@ -0,0 +1,108 @@
+package com.internshipapp.controllers;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks shared out by key. Each key (an internship or student
+ * ID) always maps to the same lock, so writers touching different entities
+ * rarely contend, while writers touching the same entity are serialized.
+ * Two-key operations take both locks in stripe order, so they cannot
+ * deadlock against each other. The locks are reentrant.
+ */
+final class StripedLocks {
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param count number of stripes; rounded up to a power of two
+     */
+    StripedLocks(int count) {
+        int size = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run an action while holding the lock for a key.
+     *
+     * @param key entity ID
+     * @param action action to run
+     */
+    void run(String key, Runnable action) {
+        call(key, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run an action while holding the locks for two keys.
+     *
+     * @param first first entity ID
+     * @param second second entity ID
+     * @param action action to run
+     */
+    void run(String first, String second, Runnable action) {
+        call(first, second, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Compute a value while holding the lock for a key.
+     *
+     * @param key entity ID
+     * @param action action to run
+     * @param <T> result type
+     * @return the action's result
+     */
+    <T> T call(String key, Supplier<T> action) {
+        ReentrantLock lock = stripes[indexOf(key)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compute a value while holding the locks for two keys. The locks are
+     * taken lowest stripe first; a shared stripe is taken once.
+     *
+     * @param first first entity ID
+     * @param second second entity ID
+     * @param action action to run
+     * @param <T> result type
+     * @return the action's result
+     */
+    <T> T call(String first, String second, Supplier<T> action) {
+        int a = indexOf(first);
+        int b = indexOf(second);
+        if (a == b) {
+            return call(first, action);
+        }
+        ReentrantLock outer = stripes[Math.min(a, b)];
+        ReentrantLock inner = stripes[Math.max(a, b)];
+        outer.lock();
+        try {
+            inner.lock();
+            try {
+                return action.get();
+            } finally {
+                inner.unlock();
+            }
+        } finally {
+            outer.unlock();
+        }
+    }
+
+    private int indexOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16); // Spread high bits, as HashMap does
+        return h & (stripes.length - 1);
+    }
+}
@@ -1,142 +1,104 @@
 package com.internshipapp.controllers;
 
+import com.internshipapp.enums.EventType;
+import com.internshipapp.enums.LoginStatus;
+import com.internshipapp.events.DomainEvent;
+import com.internshipapp.events.EventBus;
 import com.internshipapp.models.*;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvValidationException;
+import com.internshipapp.persistence.CsvRepository;
+import com.internshipapp.persistence.DataRepository;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+/**
+ * Controller for user accounts: loading/saving, registration, login and
+ * password changes. Safe for concurrent sessions: the users are kept in a
+ * lock-free queue and the ID index is a concurrent map, so lookups and logins
+ * take no locks, and registration claims an ID atomically. Registrations,
+ * approvals and password changes are published on the {@link EventBus}.
+ */
 public class UserManager {
-    private List<User> users;
-    // File names, not full paths
-    private final String studentCsvFile = "students.csv";
-    private final String staffCsvFile = "staff.csv";
-    private final String companyRepCsvFile = "company_representatives.csv";
+    private final Queue<User> users = new ConcurrentLinkedQueue<>(); // In load and registration order
+    private final Map<String, User> usersById = new ConcurrentHashMap<>(); // Keyed on normalized (case-insensitive) userID
+    private DataRepository repository = new CsvRepository();
+    private EventBus events = new EventBus(); // No subscribers until one is set
 
     /**
      * Create a new UserManager with an empty user list.
      */
     public UserManager() {
-        this.users = new ArrayList<>();
     }
 
     /**
-     * Load all users from the CSV resources (students, staff and company reps).
+     * Set the storage backend users are loaded from and saved to. Must be set
+     * before {@link #loadUsers()}.
+     *
+     * @param repository backend to use
      */
-    public void loadUsers() {
-        users.clear(); // Clear any existing users before loading
-        loadStudents();
-        loadStaff();
-        loadCompanyReps();
-    }
-
-    private void loadStudents() {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(getClass().getClassLoader().getResourceAsStream(studentCsvFile)))) {
-            String[] line;
-            reader.readNext(); // Skip header
-            while ((line = reader.readNext()) != null) {
-                users.add(new Student(line[0], line[1], line[2], Integer.parseInt(line[4]), line[3]));
-            }
-        } catch (IOException | CsvValidationException | NullPointerException e) {
-            System.out.println("Error loading students: " + e.getMessage());
-        }
+    public void setRepository(DataRepository repository) {
+        this.repository = repository;
     }
 
-    private void loadStaff() {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(getClass().getClassLoader().getResourceAsStream(staffCsvFile)))) {
-            String[] line;
-            reader.readNext(); // Skip header
-            while ((line = reader.readNext()) != null) {
-                users.add(new CareerCenterStaff(line[0], line[1], line[2], line[4]));
-            }
-        } catch (IOException | CsvValidationException | NullPointerException e) {
-            System.out.println("Error loading staff: " + e.getMessage());
-        }
+    /**
+     * Set the bus that account changes are published on.
+     *
+     * @param events bus to publish on
+     */
+    public void setEventBus(EventBus events) {
+        this.events = events;
     }
 
-    private void loadCompanyReps() {
-        try (CSVReader reader = new CSVReader(new InputStreamReader(getClass().getClassLoader().getResourceAsStream(companyRepCsvFile)))) {
-            String[] line;
-            reader.readNext(); // Skip header
-            while ((line = reader.readNext()) != null) {
-                CompanyRepresentative rep = new CompanyRepresentative(line[0], line[1], line[2], line[3], line[4], line[5]);
-                rep.setApproved(Boolean.parseBoolean(line[6]));
-                users.add(rep);
-            }
-        } catch (IOException | CsvValidationException | NullPointerException e) {
-            System.out.println("Error loading company representatives: " + e.getMessage());
+    /**
+     * Load all users from the repository (students, staff and company reps).
+     */
+    public void loadUsers() {
+        users.clear(); // Clear any existing users before loading
+        usersById.clear();
+        for (User user : repository.loadUsers()) {
+            user.markClean(); // Matches what is stored
+            addUser(user);
         }
     }
 
     /**
-     * Persist all users back to their CSV resources.
+     * Add a user to the list and the ID index. If another user already holds
+     * the same normalized ID, the first one loaded keeps the index entry.
+     *
+     * @param user user to add
      */
-    public void saveUsers() {
-        saveStudents();
-        saveStaff();
-        saveCompanyReps();
-    }
-
-    private void saveStudents() {
-        try {
-            URL resource = getClass().getClassLoader().getResource(studentCsvFile);
-            if (resource == null) {
-                throw new IOException("Cannot find resource file: " + studentCsvFile);
-            }
-            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(resource.toURI()).toFile()))) {
-                writer.writeNext(new String[]{"StudentID", "Name", "Password", "Major", "Year"});
-                users.stream()
-                    .filter(u -> u instanceof Student)
-                    .map(u -> (Student) u)
-                    .forEach(s -> writer.writeNext(new String[]{s.getUserID(), s.getName(), s.getPassword(), s.getMajor(), String.valueOf(s.getYearOfStudy())}));
-            }
-        } catch (Exception e) {
-            System.out.println("Error saving students: " + e.getMessage());
-        }
+    private void addUser(User user) {
+        users.add(user);
+        usersById.putIfAbsent(normalizeId(user.getUserID()), user);
     }
 
-    private void saveStaff() {
-        try {
-            URL resource = getClass().getClassLoader().getResource(staffCsvFile);
-            if (resource == null) {
-                throw new IOException("Cannot find resource file: " + staffCsvFile);
-            }
-            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(resource.toURI()).toFile()))) {
-                writer.writeNext(new String[]{"StaffID", "Name", "Password", "Role", "Department"});
-                users.stream()
-                    .filter(u -> u instanceof CareerCenterStaff)
-                    .map(u -> (CareerCenterStaff) u)
-                    .forEach(s -> writer.writeNext(new String[]{s.getUserID(), s.getName(), s.getPassword(), "Career Center Staff", "CCDS"}));
-            }
-        } catch (Exception e) {
-            System.out.println("Error saving staff: " + e.getMessage());
-        }
+    /**
+     * Normalize a userID for index lookups: trimmed and lower-cased.
+     *
+     * @param id raw user id
+     * @return normalized key, or null if id is null
+     */
+    private static String normalizeId(String id) {
+        return id == null ? null : id.trim().toLowerCase(Locale.ROOT);
     }
 
-    private void saveCompanyReps() {
-        try {
-            URL resource = getClass().getClassLoader().getResource(companyRepCsvFile);
-            if (resource == null) {
-                throw new IOException("Cannot find resource file: " + companyRepCsvFile);
-            }
-            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(resource.toURI()).toFile()))) {
-                writer.writeNext(new String[]{"CompanyRepID", "Name", "Password", "CompanyName", "Department", "Position", "isApproved"});
-                users.stream()
-                    .filter(u -> u instanceof CompanyRepresentative)
-                    .map(u -> (CompanyRepresentative) u)
-                    .forEach(r -> writer.writeNext(new String[]{r.getUserID(), r.getName(), r.getPassword(), r.getCompanyName(), r.getDepartment(), r.getPosition(), String.valueOf(r.isApproved())}));
-            }
-        } catch (Exception e) {
-            System.out.println("Error saving company representatives: " + e.getMessage());
-        }
+    /**
+     * Persist all users back to the repository.
+     *
+     * @return true if every user was written successfully
+     */
+    public boolean saveUsers() {
+        return repository.saveAllUsers(users);
     }
 
     /**
@@ -152,61 +114,53 @@ public class UserManager {
      * @return true if registration succeeded, false if the userId is taken
      */
     public boolean registerCompanyRepresentative(String userId, String password, String name, String companyName, String department, String position) {
-        // Check if user ID already exists
-        for (User user : users) {
-            if (user.getUserID().equalsIgnoreCase(userId)) {
-                return false; // User ID is already taken
-            }
+        if (userId == null) {
+            return false;
         }
+        // Claim the ID atomically so two sessions cannot register it at once
         CompanyRepresentative newRep = new CompanyRepresentative(userId, name, password, companyName, department, position);
+        if (usersById.putIfAbsent(normalizeId(userId), newRep) != null) {
+            return false; // User ID is already taken
+        }
         users.add(newRep);
+        repository.saveUser("registerCompanyRepresentative", newRep);
+        publish(EventType.REPRESENTATIVE_REGISTERED, "registerCompanyRepresentative", newRep);
         return true;
     }
 
-    // 0 = incorrect ID, 1 = incorrect password, 2 = unapproved rep, 3 = success
     /**
-     * Attempt to login and return a status code.
-     * 0 = incorrect ID, 1 = incorrect password, 2 = unapproved rep, 3 = success
+     * Attempt to login with a single index lookup. The userID is matched
+     * case-insensitively; the password must match exactly.
      *
      * @param userId candidate id
      * @param password candidate password
-     * @return status code as documented above
+     * @return the login outcome together with the authenticated user on success
      */
-    public int loginResult(String userId, String password) {
-        for (User user : users) {
-            if (user.login(userId, password)){
-                if (user instanceof CompanyRepresentative) {
-                    CompanyRepresentative rep = (CompanyRepresentative) user;
-                    if (!rep.isApproved()) {
-                        return 2;
-                    }
-                    else {
-                        return 3;
-                    }
-                }
-                return 3;
-            }
-            else if (user.getUserID().equals(userId)){
-                return 1;
-            }
+    public LoginResult authenticate(String userId, String password) {
+        User user = usersById.get(normalizeId(userId));
+        if (user == null) {
+            return new LoginResult(LoginStatus.INVALID_ID, null);
+        }
+        if (!user.getPassword().equals(password)) {
+            return new LoginResult(LoginStatus.INCORRECT_PASSWORD, null);
+        }
+        if (user instanceof CompanyRepresentative && !((CompanyRepresentative) user).isApproved()) {
+            return new LoginResult(LoginStatus.UNAPPROVED, null);
         }
-        return 0; // Return 0 if login fails
+        return new LoginResult(LoginStatus.SUCCESS, user);
     }
 
     /**
-     * Return the authenticated User instance if credentials match, otherwise null.
+     * Attempt to login and return a status code.
+     * 0 = incorrect ID, 1 = incorrect password, 2 = unapproved rep, 3 = success
+     * (the codes follow the declaration order of {@link LoginStatus}).
      *
      * @param userId candidate id
      * @param password candidate password
-     * @return authenticated User or null
+     * @return status code as documented above
      */
-    public User login(String userId, String password) {
-        for (User user : users) {
-            if (user.login(userId, password)) {
-                return user;
-            }
-        }
-        return null; // Return null if login fails
+    public int loginResult(String userId, String password) {
+        return authenticate(userId, password).getStatus().ordinal();
     }
 
     /**
@@ -219,6 +173,8 @@ public class UserManager {
     public boolean changePassword(User user, String newPassword) {
         if  (user != null) {
             user.setPassword(newPassword);
+            repository.saveUser("changePassword", user);
+            publish(EventType.PASSWORD_CHANGED, "changePassword", user);
             return true;
         }
         return false;
@@ -242,32 +198,97 @@ public class UserManager {
      * @return matching CompanyRepresentative or null
      */
     public CompanyRepresentative findRepresentativeById(String id) {
-        return users.stream()
-                .filter(u -> u instanceof CompanyRepresentative && u.getUserID().equals(id))
-                .map(u -> (CompanyRepresentative) u)
-                .findFirst()
-                .orElse(null);
+        User user = findUserById(id);
+        return user instanceof CompanyRepresentative ? (CompanyRepresentative) user : null;
     }
     
 
     /**
-     * Find a user by id across all user types.
+     * Find a user by id across all user types. The lookup is case-insensitive.
      *
      * @param id user id
      * @return matching User or null
      */
     public User findUserById(String id) {
-        return users.stream()
-                .filter(u -> u.getUserID().equals(id))
-                .findFirst()
-                .orElse(null);
+        return usersById.get(normalizeId(id));
+    }
+
+    /**
+     * Authorize every pending representative the filter selects, in one
+     * call. The changes are stored as one group. Rejection has no batch
+     * form, since rejecting only leaves an account unapproved.
+     *
+     * @param which selects among the pending representatives
+     * @return the representatives that were authorized
+     */
+    public List<CompanyRepresentative> authorizeRepresentatives(Predicate<CompanyRepresentative> which) {
+        List<CompanyRepresentative> selected = getPendingRepresentatives().stream()
+                .filter(which)
+                .collect(Collectors.toList());
+        authorizeAll(selected);
+        return selected;
+    }
+
+    /**
+     * Authorize the pending representatives with the given IDs, in one call.
+     * IDs that are unknown or already authorized are skipped. The changes
+     * are stored as one group.
+     *
+     * @param ids representative IDs
+     * @return the representatives that were authorized
+     */
+    public List<CompanyRepresentative> authorizeRepresentatives(Collection<String> ids) {
+        Set<CompanyRepresentative> selected = new LinkedHashSet<>(); // Drops repeated IDs
+        for (String id : ids) {
+            CompanyRepresentative rep = findRepresentativeById(id);
+            if (rep != null && !rep.isApproved()) {
+                selected.add(rep);
+            }
+        }
+        List<CompanyRepresentative> processed = new ArrayList<>(selected);
+        authorizeAll(processed);
+        return processed;
+    }
+
+    private void authorizeAll(List<CompanyRepresentative> reps) {
+        if (reps.isEmpty()) {
+            return;
+        }
+        for (CompanyRepresentative rep : reps) {
+            rep.setApproved(true);
+        }
+        repository.writeGroup(target -> {
+            for (CompanyRepresentative rep : reps) {
+                target.saveUser("authorizeRepresentatives", rep);
+            }
+        });
+        for (CompanyRepresentative rep : reps) {
+            publish(EventType.REPRESENTATIVE_AUTHORIZED, "authorizeRepresentatives", rep);
+        }
     }
 
     public void authorizeRepresentative(CompanyRepresentative rep, boolean authorize) {
         if (authorize) {
             rep.setApproved(true);
+            repository.saveUser("authorizeRepresentative", rep);
+            publish(EventType.REPRESENTATIVE_AUTHORIZED, "authorizeRepresentative", rep);
         } else {
             // do nothing
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Publish a change to an account. Representatives carry APPROVED or
+     * PENDING as the event's state; other accounts carry none.
+     *
+     * @param type kind of change
+     * @param op operation that made the change
+     * @param user the changed account
+     */
+    private void publish(EventType type, String op, User user) {
+        String state = user instanceof CompanyRepresentative
+                ? (((CompanyRepresentative) user).isApproved() ? "APPROVED" : "PENDING")
+                : null;
+        events.publish(new DomainEvent(type, op, user.getUserID(), state, user));
+    }
+}
@@ -0,0 +1,33 @@
+package com.internshipapp.enums;
+
+/**
+ * Kinds of state change announced on the {@link com.internshipapp.events.EventBus}.
+ */
+public enum EventType {
+    /** A company representative registered and awaits approval. */
+    REPRESENTATIVE_REGISTERED,
+    /** A company representative was approved by staff. */
+    REPRESENTATIVE_AUTHORIZED,
+    /** A user changed their password. */
+    PASSWORD_CHANGED,
+    /** An internship was created. */
+    INTERNSHIP_CREATED,
+    /** An internship's title, description, major, level or slots were edited. */
+    INTERNSHIP_UPDATED,
+    /** An internship was approved or rejected. */
+    INTERNSHIP_STATUS_CHANGED,
+    /** An internship was shown to or hidden from students. */
+    INTERNSHIP_VISIBILITY_CHANGED,
+    /** A slot of an internship was taken or given back. */
+    INTERNSHIP_SLOTS_CHANGED,
+    /** An internship was removed. */
+    INTERNSHIP_REMOVED,
+    /** A student applied for an internship. */
+    APPLICATION_CREATED,
+    /** An application was approved, rejected, accepted or withdrawn. */
+    APPLICATION_STATUS_CHANGED,
+    /** A student asked to withdraw an application. */
+    WITHDRAWAL_REQUESTED,
+    /** Staff approved or rejected a withdrawal request. */
+    WITHDRAWAL_STATUS_CHANGED
+}
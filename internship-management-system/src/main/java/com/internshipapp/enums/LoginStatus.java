@@ -0,0 +1,15 @@
+package com.internshipapp.enums;
+
+/**
+ * Outcome of a login attempt.
+ */
+public enum LoginStatus {
+    /** No user exists with the given ID. */
+    INVALID_ID,
+    /** The user exists but the password did not match. */
+    INCORRECT_PASSWORD,
+    /** The credentials match a company representative who is not yet approved. */
+    UNAPPROVED,
+    /** The credentials are valid and the user may log in. */
+    SUCCESS
+}
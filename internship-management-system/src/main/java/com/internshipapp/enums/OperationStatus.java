@@ -0,0 +1,26 @@
+package com.internshipapp.enums;
+
+/**
+ * Outcome of an operation on applications or withdrawal requests: success,
+ * or the reason it was refused.
+ */
+public enum OperationStatus {
+    /** The operation was carried out. */
+    SUCCESS,
+    /** The student already has the maximum number of applications. */
+    APPLICATION_LIMIT,
+    /** The student has already applied for the internship. */
+    ALREADY_APPLIED,
+    /** The internship has been removed. */
+    INTERNSHIP_UNAVAILABLE,
+    /** The application has already been decided. */
+    NOT_PENDING,
+    /** Every slot of the internship is taken. */
+    SLOTS_FILLED,
+    /** The application changed after the caller looked at it. */
+    CHANGED,
+    /** The application has already been withdrawn or rejected. */
+    ALREADY_WITHDRAWN,
+    /** A withdrawal request for the application is already waiting for staff. */
+    WITHDRAWAL_PENDING
+}
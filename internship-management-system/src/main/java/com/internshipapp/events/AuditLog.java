@@ -0,0 +1,61 @@
+package com.internshipapp.events;
+
+import com.opencsv.CSVWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Subscriber that appends every event to a CSV audit trail, one line of
+ * {@code time, type, op, id, state} per event. Each batch is written and
+ * flushed with one call. The audit trail is a record for people, not a
+ * recovery log, so it is not fsync'd; the journal and repositories are what
+ * make changes durable.
+ */
+public class AuditLog implements EventSubscriber {
+    private final CSVWriter writer;
+
+    /**
+     * Open (or create) the audit file for appending.
+     *
+     * @param file audit file
+     * @throws IOException if the file cannot be opened
+     */
+    public AuditLog(Path file) throws IOException {
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writer = new CSVWriter(out);
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            writer.writeNext(new String[] {
+                    Instant.ofEpochMilli(event.getTimeMillis()).toString(),
+                    event.getType().name(),
+                    event.getOp(),
+                    event.getEntityId(),
+                    event.getState()});
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Error writing audit log: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing audit log: " + e.getMessage());
+        }
+    }
+}
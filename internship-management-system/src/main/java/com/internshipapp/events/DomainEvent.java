@@ -0,0 +1,82 @@
+package com.internshipapp.events;
+
+import com.internshipapp.enums.EventType;
+
+/**
+ * An immutable record of one state change, published by the controllers
+ * after the change has been made.
+ */
+public final class DomainEvent {
+    private final EventType type;
+    private final String op;
+    private final String entityId;
+    private final String state;
+    private final Object subject;
+    private final long timeMillis; // Epoch milliseconds
+
+    /**
+     * Create an event stamped with the current time.
+     *
+     * @param type kind of change
+     * @param op operation that made the change, as passed to the repository
+     * @param entityId ID of the changed entity
+     * @param state the entity's state after the change (e.g. a status name), or null
+     * @param subject the changed entity
+     */
+    public DomainEvent(EventType type, String op, String entityId, String state, Object subject) {
+        this.type = type;
+        this.op = op;
+        this.entityId = entityId;
+        this.state = state;
+        this.subject = subject;
+        this.timeMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return kind of change
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * @return operation that made the change
+     */
+    public String getOp() {
+        return op;
+    }
+
+    /**
+     * @return ID of the changed entity
+     */
+    public String getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * @return the entity's state when the event was published, or null
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * The changed entity itself. Subscribers run later, on the dispatcher
+     * thread, so the entity may have changed again since; {@link #getState()}
+     * is the state this event is about.
+     *
+     * @param kind expected entity class
+     * @param <T> entity type
+     * @return the entity, or null if it is not of the given class
+     */
+    public <T> T getSubject(Class<T> kind) {
+        return kind.isInstance(subject) ? kind.cast(subject) : null;
+    }
+
+    /**
+     * @return when the event was published, in epoch milliseconds
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+}
@@ -0,0 +1,203 @@
+package com.internshipapp.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process bus that carries {@link DomainEvent}s from the controllers to
+ * subscribers such as the audit log, so they can follow changes as they
+ * happen instead of rescanning the managers' lists.
+ * <p>
+ * Publishing is lock-free. Events go into a fixed-size ring: a publisher
+ * claims the next sequence number with a compare-and-set and then fills
+ * that slot. A single dispatcher thread takes the filled slots in sequence
+ * order, up to {@code batchSize} at a time, and hands each batch to every
+ * subscriber. Publishers never wait for subscribers unless the ring is
+ * full, in which case they back off until the dispatcher has made room;
+ * events are not dropped.
+ * <p>
+ * The dispatcher is only started by the first {@link #subscribe}; until
+ * then, and after {@link #close()}, publishing does nothing, so managers
+ * can hold a bus nobody listens to at no cost.
+ */
+public class EventBus {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // Safety net; publishers wake the dispatcher
+    private static final long FULL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AtomicReferenceArray<DomainEvent> ring;
+    private final int mask;
+    private final int batchSize;
+    private final AtomicLong claimed = new AtomicLong(); // Next sequence number a publisher will claim
+    private volatile long consumed = 0; // Every sequence below this has been taken by the dispatcher
+    private volatile boolean idle = false; // Dispatcher is parked, or about to park
+    private volatile boolean closed = false;
+
+    private final List<EventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile Thread dispatcher;
+
+    /**
+     * Create a bus with a {@value #DEFAULT_CAPACITY}-event ring.
+     */
+    public EventBus() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a bus.
+     *
+     * @param capacity ring size; rounded up to a power of two
+     * @param batchSize most events handed to subscribers in one call
+     */
+    public EventBus(int capacity, int batchSize) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Register a subscriber, starting the dispatcher if this is the first.
+     * A subscriber sees the events published after it was registered.
+     *
+     * @param subscriber subscriber to add
+     */
+    public synchronized void subscribe(EventSubscriber subscriber) {
+        if (closed) {
+            return;
+        }
+        if (dispatcher == null) {
+            dispatcher = new Thread(this::runDispatcher, "event-dispatcher");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Publish an event. Returns as soon as the event is in the ring; waits
+     * only while the ring is full. Does nothing if there are no subscribers
+     * or the bus is closed.
+     *
+     * @param event the event to publish
+     */
+    public void publish(DomainEvent event) {
+        if (subscribers.isEmpty() || closed) {
+            return;
+        }
+        long sequence;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - consumed >= ring.length()) {
+                // Full: make sure the dispatcher is draining, then back off
+                LockSupport.unpark(dispatcher);
+                LockSupport.parkNanos(this, FULL_BACKOFF_NANOS);
+                if (closed) {
+                    return;
+                }
+            } else if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        ring.set((int) sequence & mask, event);
+        if (idle) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    /**
+     * Stop the dispatcher after it has delivered every event already in the
+     * ring, then close the subscribers. Events published afterwards are
+     * dropped.
+     */
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            thread = dispatcher;
+        }
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runDispatcher() {
+        while (true) {
+            List<DomainEvent> batch = take();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+                continue;
+            }
+            if (closed) {
+                break;
+            }
+            idle = true;
+            // Re-check after announcing idleness; a publisher either sees the flag or we see its event
+            if (ring.get((int) consumed & mask) == null && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+        // Publishers that claimed a slot before close() have filled it by now or given up
+        for (List<DomainEvent> batch = take(); !batch.isEmpty(); batch = take()) {
+            deliver(batch);
+        }
+        for (EventSubscriber subscriber : subscribers) {
+            try {
+                subscriber.close();
+            } catch (RuntimeException e) {
+                System.out.println("Error closing event subscriber: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Take up to {@code batchSize} events from the ring, stopping at the
+     * first slot that has been claimed but not yet filled.
+     *
+     * @return the events taken, possibly none
+     */
+    private List<DomainEvent> take() {
+        List<DomainEvent> batch = new ArrayList<>();
+        long next = consumed;
+        while (batch.size() < batchSize) {
+            int slot = (int) next & mask;
+            DomainEvent event = ring.get(slot);
+            if (event == null) {
+                break;
+            }
+            ring.lazySet(slot, null); // Ordered before the write of consumed that frees the slot
+            batch.add(event);
+            next++;
+        }
+        consumed = next;
+        return batch;
+    }
+
+    private void deliver(List<DomainEvent> batch) {
+        List<DomainEvent> events = Collections.unmodifiableList(batch); // Shared by every subscriber
+        for (EventSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onEvents(events);
+            } catch (RuntimeException e) {
+                System.out.println("Error in event subscriber: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.internshipapp.events;
+
+import java.util.List;
+
+/**
+ * Receives events from an {@link EventBus}, in batches, on the bus's
+ * dispatcher thread.
+ * <p>
+ * Subscribers run one at a time and must not block on controller locks:
+ * controllers publish while holding them, and a full ring waits for the
+ * dispatcher.
+ */
+@FunctionalInterface
+public interface EventSubscriber {
+
+    /**
+     * Handle a batch of events, in publication order.
+     *
+     * @param events the events; never empty
+     */
+    void onEvents(List<DomainEvent> events);
+
+    /**
+     * Called once when the bus closes, after the last batch.
+     */
+    default void close() {
+    }
+}
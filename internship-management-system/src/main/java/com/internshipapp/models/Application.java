@@ -1,6 +1,7 @@
 package com.internshipapp.models;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.internshipapp.enums.*;
 
@@ -8,13 +9,23 @@ import com.internshipapp.enums.*;
  * Represents a student's application to a specific internship.
  * Contains references to the applying {@link Student}, the {@link Internship}
  * and the current {@link com.internshipapp.enums.ApplicationStatus}.
+ * <p>
+ * Every status change increments a version number, so a decision made
+ * after looking at the application can be applied with
+ * {@link #compareAndSetStatus} only if nothing changed in between.
  */
 public class Application {
     private String applicationID;
     private Student student;
     private Internship internship;
-    private ApplicationStatus status;
-    private Date applicationDate;
+    // Status ordinal in bits 0-7 and version above, so both change together
+    private final AtomicLong state = new AtomicLong();
+    private int applicationDay; // Epoch day
+    private volatile boolean dirty = true; // New objects have not been saved yet
+
+    private static final int VERSION_SHIFT = 8;
+    private static final long STATUS_MASK = 0xFFL;
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
 
     /**
      * Construct a new Application instance.
@@ -28,8 +39,8 @@ public class Application {
         this.applicationID = applicationID;
         this.student = student;
         this.internship = internship;
-        this.applicationDate = new Date();
-        this.status = status;
+        this.applicationDay = EpochDays.today();
+        this.state.set(status.ordinal());
     }
 
     /**
@@ -48,6 +59,7 @@ public class Application {
      */
     public void setApplicationID(String applicationID) {
         this.applicationID = applicationID;
+        dirty = true;
     }
 
     /**
@@ -71,19 +83,29 @@ public class Application {
     /**
      * Returns the date when this application was submitted.
      *
-     * @return the date the application was submitted
+     * @return a new Date at the start of the day the application was submitted
      */
     public Date getApplicationDate() {
-        return applicationDate;
+        return EpochDays.toDate(applicationDay);
+    }
+
+    /**
+     * Returns the date when this application was submitted, as an epoch day.
+     *
+     * @return the day the application was submitted
+     */
+    public int getApplicationDay() {
+        return applicationDay;
     }
 
     /**
      * Set the stored application date (used when loading persisted data).
      *
-     * @param applicationDate the application date to set
+     * @param applicationDay the application date as an epoch day
      */
-    public void setApplicationDate(Date applicationDate) {
-        this.applicationDate = applicationDate;
+    public void setApplicationDay(int applicationDay) {
+        this.applicationDay = applicationDay;
+        dirty = true;
     }
 
     /**
@@ -92,7 +114,7 @@ public class Application {
      * @return the current application status
      */
     public ApplicationStatus getStatus() {
-        return status;
+        return STATUSES[(int) (state.get() & STATUS_MASK)];
     }
 
     /**
@@ -101,6 +123,66 @@ public class Application {
      * @param status new application status
      */
     public void setStatus(ApplicationStatus status) {
-        this.status = status;
+        state.updateAndGet(s -> next(s, status));
+        dirty = true;
+    }
+
+    /**
+     * Returns the version of this application, which changes with every
+     * status change.
+     *
+     * @return the current version
+     */
+    public int getVersion() {
+        return versionOf(state.get());
+    }
+
+    /**
+     * Change the status in one atomic step, provided the application is still
+     * at the expected version. Fails at once on a conflict instead of waiting.
+     *
+     * @param expectedVersion version the caller based the change on
+     * @param status new application status
+     * @return true if the change was made, false if the application changed in the meantime
+     */
+    public boolean compareAndSetStatus(int expectedVersion, ApplicationStatus status) {
+        long current = state.get();
+        if (versionOf(current) != expectedVersion || !state.compareAndSet(current, next(current, status))) {
+            return false;
+        }
+        dirty = true;
+        return true;
+    }
+
+    private static int versionOf(long state) {
+        return (int) (state >>> VERSION_SHIFT);
+    }
+
+    private static long next(long state, ApplicationStatus status) {
+        return (((state >>> VERSION_SHIFT) + 1) << VERSION_SHIFT) | status.ordinal();
+    }
+
+    /**
+     * Indicates whether this application changed since it was last loaded or saved.
+     *
+     * @return true if the application has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Record that this application now matches what is stored.
+     */
+    public void markClean() {
+        dirty = false;
+    }
+
+    /**
+     * Record that this application no longer matches what is stored, such as
+     * after a save that cleared the flag failed.
+     */
+    public void markDirty() {
+        dirty = true;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.internshipapp.models;
 
 import com.internshipapp.enums.*;
 
+import java.util.List;
+
 /**
  * Career center staff user. Can approve/reject internships, authorize
  * company representatives and process withdrawal requests.
@@ -74,13 +76,13 @@ public class CareerCenterStaff extends User {
     }
 
     /**
-     * Generate a report object using provided filters.
+     * Generate a report over a selection of internships.
      *
-     * @param filters free-form filters string (implementation placeholder)
+     * @param internships the internships selected by the filters
+     * @param filters description of the filters, shown on the report
      * @return a Report instance
      */
-    public Report generateReport(String filters) {
-        // Logic to generate a report based on filters
-        return new Report(filters); // Placeholder return
+    public Report generateReport(List<Internship> internships, String filters) {
+        return ReportEngine.summarize(internships, filters);
     }
 }
\ No newline at end of file
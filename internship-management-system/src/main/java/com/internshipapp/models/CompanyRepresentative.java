@@ -1,6 +1,7 @@
 package com.internshipapp.models;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.ArrayList;
 import com.internshipapp.enums.*;
 
@@ -12,7 +13,7 @@ public class CompanyRepresentative extends User {
     private String companyName;
     private String department;
     private String position;
-    private boolean isApproved;
+    private volatile boolean isApproved;
     private List<Internship> createdInternships; // max is 5
 
     /**
@@ -31,7 +32,7 @@ public class CompanyRepresentative extends User {
         this.department = department;
         this.position = position;
         this.isApproved = false; // Default to not approved
-        this.createdInternships = new ArrayList<>();
+        this.createdInternships = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -131,6 +132,7 @@ public class CompanyRepresentative extends User {
      */
     public void setApproved(boolean isApproved) {
         this.isApproved = isApproved;
+        markDirty();
     }
     /**
      * Returns the list of internships created by this representative.
@@ -0,0 +1,67 @@
+package com.internshipapp.models;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Converts between calendar dates stored as epoch days (days since
+ * 1970-01-01, as an {@code int}) and the text and {@link Date} forms used at
+ * the edges of the system. Calendar days are interpreted in the system time
+ * zone. The class holds no state, so it is safe to use from any thread.
+ */
+public final class EpochDays {
+    private EpochDays() {
+    }
+
+    /**
+     * @return today's date in the system time zone, as an epoch day
+     */
+    public static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * @param date a point in time
+     * @return the calendar day containing it in the system time zone
+     */
+    public static int of(Date date) {
+        return (int) LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault()).toEpochDay();
+    }
+
+    /**
+     * @param epochDay calendar day
+     * @return the start of that day in the system time zone
+     */
+    public static Date toDate(int epochDay) {
+        return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * @param epochDay calendar day
+     * @return the day as a LocalDate
+     */
+    public static LocalDate toLocalDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Parse a yyyy-MM-dd date.
+     *
+     * @param text date text
+     * @return parsed epoch day
+     */
+    public static int parse(String text) {
+        return (int) LocalDate.parse(text).toEpochDay();
+    }
+
+    /**
+     * Format an epoch day as yyyy-MM-dd.
+     *
+     * @param epochDay calendar day
+     * @return formatted date
+     */
+    public static String format(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.internshipapp.models;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out sequential IDs of the form prefix + zero-padded number, such as
+ * {@code APP007}. Safe to share between threads without locking.
+ * <p>
+ * Each thread leases a block of numbers from a shared atomic counter and
+ * hands them out from its lease without touching shared state again until
+ * the block runs out. A single thread therefore gets consecutive IDs, while
+ * IDs issued by different threads interleave by block; numbers left in a
+ * thread's lease are simply never used.
+ * <p>
+ * Seed the allocator with {@link #observe(String)} for every existing ID
+ * before the first {@link #next()}, so new IDs continue after the highest
+ * one in use.
+ */
+public final class IdAllocator {
+    private final String prefix;
+    private final int width;
+    private final int blockSize;
+    private final AtomicLong nextUnleased = new AtomicLong(1); // First number no thread has leased yet
+    private final ThreadLocal<Lease> lease = ThreadLocal.withInitial(Lease::new);
+
+    /**
+     * @param prefix text in front of the number, e.g. "APP"
+     * @param width minimum number of digits; shorter numbers are zero-padded
+     * @param blockSize how many numbers a thread leases at a time
+     */
+    public IdAllocator(String prefix, int width, int blockSize) {
+        this.prefix = prefix;
+        this.width = width;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return a new, unused ID
+     */
+    public String next() {
+        Lease current = lease.get();
+        if (current.next >= current.end) {
+            current.next = nextUnleased.getAndAdd(blockSize);
+            current.end = current.next + blockSize;
+        }
+        return format(current.next++);
+    }
+
+    /**
+     * Record an ID that is already in use, so it is never issued again. IDs
+     * that do not consist of this allocator's prefix and a number are
+     * ignored.
+     *
+     * @param id existing ID
+     */
+    public void observe(String id) {
+        long number = parse(id);
+        if (number >= 0) {
+            nextUnleased.accumulateAndGet(number + 1, Math::max);
+        }
+    }
+
+    /**
+     * Format a number as an ID.
+     *
+     * @param number ID number
+     * @return prefix followed by the number, zero-padded to the width
+     */
+    private String format(long number) {
+        char[] digits = new char[20];
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + number % 10);
+            number /= 10;
+        } while (number > 0);
+        while (digits.length - pos < width) {
+            digits[--pos] = '0';
+        }
+        return new StringBuilder(prefix.length() + digits.length - pos)
+                .append(prefix)
+                .append(digits, pos, digits.length - pos)
+                .toString();
+    }
+
+    /**
+     * @param id candidate ID
+     * @return its number, or -1 if it is not prefix + digits
+     */
+    private long parse(String id) {
+        if (id == null || !id.startsWith(prefix) || id.length() == prefix.length()) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = prefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9' || number > (Long.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    /**
+     * The block of numbers a thread has leased: {@code [next, end)}.
+     */
+    private static final class Lease {
+        private long next;
+        private long end;
+    }
+}
@@ -4,27 +4,46 @@ import java.util.Date;
 
 import com.internshipapp.enums.*;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents an internship posting created by a company representative.
  * Stores metadata such as title, description, dates, slots and owner.
+ * <p>
+ * Every change increments a version number. Callers that decided on a
+ * change after looking at the internship pass the version they looked at
+ * to {@link #compareAndSetStatus} or {@link #beginEdit}, which refuse the
+ * change if anything happened in between, so one user's update never
+ * silently overwrites another's.
  */
 public class Internship {
     private String internshipID;
-    private String title;
-    private String description;
-    private InternshipLevel level;
-    private String preferedMajor;
-    private Date openingDate;
-    private Date closingDate;
-    private InternshipStatus status;
+    private volatile String title;
+    private volatile String description;
+    private volatile InternshipLevel level;
+    private volatile String preferedMajor;
+    private int openingDay; // Epoch day
+    private int closingDay; // Epoch day
     private String companyName;
     private CompanyRepresentative owner;
-    private int slots; // max of 10
-    private int slotsFilled;
-    private boolean isVisible;
+    // Slots, slots filled, status, visibility and version packed into one word so they change together
+    private final AtomicLong state = new AtomicLong();
     private List<Application> applications;
+    private volatile boolean dirty = true; // New objects have not been saved yet
+
+    // Layout of the state word: bits 0-15 slots filled, 16-31 slots, 32-39 status ordinal, bit 40 visible,
+    // bit 41 set while an edit is in progress, bits 42-63 version (wraps around)
+    private static final int SLOTS_SHIFT = 16;
+    private static final int STATUS_SHIFT = 32;
+    private static final long COUNT_MASK = 0xFFFFL;
+    private static final long STATUS_MASK = 0xFFL << STATUS_SHIFT;
+    private static final long VISIBLE_BIT = 1L << 40;
+    private static final long VALUE_MASK = (1L << 41) - 1; // Everything pack() sets
+    private static final long EDITING_BIT = 1L << 41;
+    private static final int VERSION_SHIFT = 42;
+    private static final long VERSION_MASK = (1L << (64 - VERSION_SHIFT)) - 1;
+    private static final InternshipStatus[] STATUSES = InternshipStatus.values();
 
     /**
      * Construct a fully-specified Internship instance (used when loading persisted data).
@@ -34,8 +53,8 @@ public class Internship {
      * @param description internship description
      * @param level internship experience level
      * @param preferedMajor preferred major for applicants
-     * @param openingDate opening date
-     * @param closingDate closing date
+     * @param openingDay opening date as an epoch day
+     * @param closingDay closing date as an epoch day
      * @param status current internship status
      * @param companyName company offering the internship
      * @param owner owner {@link com.internshipapp.models.CompanyRepresentative}
@@ -44,33 +63,32 @@ public class Internship {
      * @param isVisible whether the internship is visible to students
      */
     public Internship(String internshipID, String title, String description, InternshipLevel level, String preferedMajor,
-            Date openingDate, Date closingDate, InternshipStatus status, String companyName, CompanyRepresentative owner, int slots,
+            int openingDay, int closingDay, InternshipStatus status, String companyName, CompanyRepresentative owner, int slots,
             int slotsFilled, boolean isVisible) {
         this.internshipID = internshipID;
         this.title = title;
         this.description = description;
         this.level = level;
         this.preferedMajor = preferedMajor;
-        this.openingDate = openingDate;
-        this.closingDate = closingDate;
-        this.status = status;
+        this.openingDay = openingDay;
+        this.closingDay = closingDay;
         this.companyName = companyName;
         this.owner = owner;
-        this.slots = slots;
-        this.slotsFilled = slotsFilled;
-        this.isVisible = isVisible;
-        this.applications = new ArrayList<Application>();
+        this.state.set(pack(slots, slotsFilled, status, isVisible));
+        this.applications = new CopyOnWriteArrayList<Application>();
     } 
 
     /**
-     * Convenience constructor that creates a new Internship with a generated ID.
+     * Convenience constructor that creates a new Internship with an ID taken
+     * from an allocator.
      *
+     * @param ids allocator the ID is taken from
      * @param title internship title
      * @param description internship description
      * @param level internship level
      * @param preferedMajor preferred major
-     * @param openingDate opening date
-     * @param closingDate closing date
+     * @param openingDay opening date as an epoch day
+     * @param closingDay closing date as an epoch day
      * @param status initial status
      * @param companyName company name
      * @param owner owner representative
@@ -78,23 +96,20 @@ public class Internship {
      * @param slotsFilled initial slots filled
      * @param isVisible visibility flag
      */
-    public Internship(String title, String description, InternshipLevel level, String preferedMajor,
-            Date openingDate, Date closingDate, InternshipStatus status, String companyName, CompanyRepresentative owner, int slots,
+    public Internship(IdAllocator ids, String title, String description, InternshipLevel level, String preferedMajor,
+            int openingDay, int closingDay, InternshipStatus status, String companyName, CompanyRepresentative owner, int slots,
             int slotsFilled, boolean isVisible) {
-        this.internshipID = java.util.UUID.randomUUID().toString();
+        this.internshipID = ids.next();
         this.title = title;
         this.description = description;
         this.level = level;
         this.preferedMajor = preferedMajor;
-        this.openingDate = openingDate;
-        this.closingDate = closingDate;
-        this.status = status;
+        this.openingDay = openingDay;
+        this.closingDay = closingDay;
         this.companyName = companyName;
         this.owner = owner;
-        this.slots = slots;
-        this.slotsFilled = slotsFilled;
-        this.isVisible = isVisible;
-        this.applications = new ArrayList<Application>();
+        this.state.set(pack(slots, slotsFilled, status, isVisible));
+        this.applications = new CopyOnWriteArrayList<Application>();
     } 
 
     // Getters and Setters
@@ -115,6 +130,7 @@ public class Internship {
      */
     public void setInternshipID(String internshipID) {
         this.internshipID = internshipID;
+        touch();
     }
 
     /**
@@ -133,6 +149,7 @@ public class Internship {
      */
     public void setTitle(String title) {
         this.title = title;
+        touch();
     }
 
     /**
@@ -151,15 +168,25 @@ public class Internship {
      */
     public void setDescription(String description) {
         this.description = description;
+        touch();
     }
 
     /**
      * Returns the opening date for the internship.
      *
-     * @return the opening date
+     * @return a new Date at the start of the opening day
      */
     public Date getOpeningDate() {
-        return openingDate;
+        return EpochDays.toDate(openingDay);
+    }
+
+    /**
+     * Returns the opening date as an epoch day.
+     *
+     * @return the opening day
+     */
+    public int getOpeningDay() {
+        return openingDay;
     }
 
     /**
@@ -168,16 +195,26 @@ public class Internship {
      * @param openingDate the new opening date
      */
     public void setOpeningDate(Date openingDate) {
-        this.openingDate = openingDate;
+        this.openingDay = EpochDays.of(openingDate);
+        touch();
     }
 
     /**
      * Returns the closing (end) date for the internship.
      *
-     * @return the closing date
+     * @return a new Date at the start of the closing day
      */
     public Date getClosingDate() {
-        return closingDate;
+        return EpochDays.toDate(closingDay);
+    }
+
+    /**
+     * Returns the closing date as an epoch day.
+     *
+     * @return the closing day
+     */
+    public int getClosingDay() {
+        return closingDay;
     }
 
     /**
@@ -186,7 +223,8 @@ public class Internship {
      * @param closingDate the date the internship closes
      */
     public void setClosingDate(Date closingDate) {
-        this.closingDate = closingDate;
+        this.closingDay = EpochDays.of(closingDate);
+        touch();
     }
 
     /**
@@ -205,6 +243,7 @@ public class Internship {
      */
     public void setCompanyName(String companyName) {
         this.companyName = companyName;
+        touch();
     }
 
     /**
@@ -213,7 +252,7 @@ public class Internship {
      * @return total number of slots for this internship
      */
     public int getSlots() {
-        return slots;
+        return slotsOf(state.get());
     }
 
     /**
@@ -222,7 +261,8 @@ public class Internship {
      * @param slots new total number of slots
      */
     public void setSlots(int slots) {
-        this.slots = slots;
+        state.updateAndGet(s -> change(s, slots, filledOf(s), statusOf(s), visibleOf(s)));
+        dirty = true;
     }
 
     /**
@@ -231,7 +271,7 @@ public class Internship {
      * @return how many slots have been filled
      */
     public int getSlotsFilled() {
-        return slotsFilled;
+        return filledOf(state.get());
     }
 
     /**
@@ -240,7 +280,55 @@ public class Internship {
      * @param slotsFilled number of filled slots
      */
     public void setSlotsFilled(int slotsFilled) {
-        this.slotsFilled = slotsFilled;
+        state.updateAndGet(s -> change(s, slotsOf(s), slotsFilled, statusOf(s), visibleOf(s)));
+        dirty = true;
+    }
+
+    /**
+     * Take one slot if any is free, in a single atomic step. Taking the last
+     * slot also sets the status to FILLED and hides the internship, as part
+     * of the same step, so no one can observe or take a slot in between.
+     * Lock-free: concurrent callers retry rather than block.
+     *
+     * @return true if a slot was taken, false if all slots were already filled
+     */
+    public boolean tryFillSlot() {
+        while (true) {
+            long current = state.get();
+            int slots = slotsOf(current);
+            int filled = filledOf(current);
+            if (filled >= slots) {
+                return false;
+            }
+            long next = filled + 1 >= slots
+                    ? change(current, slots, filled + 1, InternshipStatus.FILLED, false)
+                    : change(current, slots, filled + 1, statusOf(current), visibleOf(current));
+            if (state.compareAndSet(current, next)) {
+                dirty = true;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back one filled slot, in a single atomic step. The status and
+     * visibility are left unchanged.
+     *
+     * @return true if a slot was released, false if none was filled
+     */
+    public boolean releaseSlot() {
+        while (true) {
+            long current = state.get();
+            int filled = filledOf(current);
+            if (filled <= 0) {
+                return false;
+            }
+            long next = change(current, slotsOf(current), filled - 1, statusOf(current), visibleOf(current));
+            if (state.compareAndSet(current, next)) {
+                dirty = true;
+                return true;
+            }
+        }
     }
 
     /**
@@ -249,7 +337,7 @@ public class Internship {
      * @return true if this internship is visible to students
      */
     public boolean isVisible() {
-        return isVisible;
+        return visibleOf(state.get());
     }
 
     /**
@@ -258,7 +346,8 @@ public class Internship {
      * @param visible whether the internship should be visible
      */
     public void setVisible(boolean visible) {
-        isVisible = visible;
+        state.updateAndGet(s -> change(s, slotsOf(s), filledOf(s), statusOf(s), visible));
+        dirty = true;
     }
 
     /**
@@ -277,6 +366,7 @@ public class Internship {
      */
     public void setLevel(InternshipLevel level) {
         this.level = level;
+        touch();
     }
 
     /**
@@ -285,7 +375,7 @@ public class Internship {
      * @return the current internship status
      */
     public InternshipStatus getStatus() {
-        return status;
+        return statusOf(state.get());
     }
 
     /**
@@ -294,7 +384,66 @@ public class Internship {
      * @param status new status for the internship
      */
     public void setStatus(InternshipStatus status) {
-        this.status = status;
+        state.updateAndGet(s -> change(s, slotsOf(s), filledOf(s), status, visibleOf(s)));
+        dirty = true;
+    }
+
+    /**
+     * Returns the version of this internship, which changes with every
+     * update. Pass it to {@link #compareAndSetStatus} or {@link #beginEdit}
+     * to make a change only if nothing changed since it was read.
+     *
+     * @return the current version
+     */
+    public int getVersion() {
+        return versionOf(state.get());
+    }
+
+    /**
+     * Set the status and visibility in one atomic step, provided the
+     * internship is still at the expected version and not being edited.
+     * Fails at once on a conflict instead of waiting.
+     *
+     * @param expectedVersion version the caller based the change on
+     * @param status new status
+     * @param visible new visibility
+     * @return true if the change was made, false if the internship changed in the meantime
+     */
+    public boolean compareAndSetStatus(int expectedVersion, InternshipStatus status, boolean visible) {
+        long current = state.get();
+        if (versionOf(current) != expectedVersion || (current & EDITING_BIT) != 0) {
+            return false;
+        }
+        // Every change moves the version, so a failed compare-and-set is always a conflict
+        if (!state.compareAndSet(current, change(current, slotsOf(current), filledOf(current), status, visible))) {
+            return false;
+        }
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Start editing the internship's details, provided it is still at the
+     * expected version and no other edit is in progress. Until
+     * {@link #endEdit()}, other edits and status changes based on an
+     * earlier version fail instead of mixing with this one.
+     *
+     * @param expectedVersion version the caller based the edit on
+     * @return true if the edit may proceed, false if the internship changed in the meantime
+     */
+    public boolean beginEdit(int expectedVersion) {
+        long current = state.get();
+        if (versionOf(current) != expectedVersion || (current & EDITING_BIT) != 0) {
+            return false;
+        }
+        return state.compareAndSet(current, bump(current | EDITING_BIT));
+    }
+
+    /**
+     * Finish an edit started with {@link #beginEdit(int)}.
+     */
+    public void endEdit() {
+        state.updateAndGet(s -> bump(s & ~EDITING_BIT));
     }
 
     /**
@@ -313,6 +462,7 @@ public class Internship {
      */
     public void setPreferedMajor(String preferedMajor) {
         this.preferedMajor = preferedMajor;
+        touch();
     }
 
     /**
@@ -331,6 +481,7 @@ public class Internship {
      */
     public void setOwner(CompanyRepresentative owner) {
         this.owner = owner;
+        touch();
     }
 
     /**
@@ -350,4 +501,75 @@ public class Internship {
     public void addApplication(Application application) {
         this.applications.add(application);
     }
-}
\ No newline at end of file
+
+    /**
+     * Indicates whether this internship changed since it was last loaded or saved.
+     *
+     * @return true if the internship has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Record that this internship now matches what is stored.
+     */
+    public void markClean() {
+        dirty = false;
+    }
+
+    /**
+     * Record that this internship no longer matches what is stored, such as
+     * after a save that cleared the flag failed.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Record a change to a field outside the state word.
+     */
+    private void touch() {
+        state.updateAndGet(Internship::bump);
+        dirty = true;
+    }
+
+    /**
+     * @return the state word with new values, the edit flag kept and the version moved on
+     */
+    private static long change(long state, int slots, int slotsFilled, InternshipStatus status, boolean visible) {
+        return bump((state & ~VALUE_MASK) | pack(slots, slotsFilled, status, visible));
+    }
+
+    private static long bump(long state) {
+        long version = (versionOf(state) + 1) & VERSION_MASK;
+        return (state & ~(VERSION_MASK << VERSION_SHIFT)) | (version << VERSION_SHIFT);
+    }
+
+    private static int versionOf(long state) {
+        return (int) ((state >>> VERSION_SHIFT) & VERSION_MASK);
+    }
+
+    private static long pack(int slots, int slotsFilled, InternshipStatus status, boolean visible) {
+        return (slotsFilled & COUNT_MASK)
+                | ((slots & COUNT_MASK) << SLOTS_SHIFT)
+                | ((long) status.ordinal() << STATUS_SHIFT)
+                | (visible ? VISIBLE_BIT : 0L);
+    }
+
+    private static int filledOf(long state) {
+        return (int) (state & COUNT_MASK);
+    }
+
+    private static int slotsOf(long state) {
+        return (int) ((state >>> SLOTS_SHIFT) & COUNT_MASK);
+    }
+
+    private static InternshipStatus statusOf(long state) {
+        return STATUSES[(int) ((state & STATUS_MASK) >>> STATUS_SHIFT)];
+    }
+
+    private static boolean visibleOf(long state) {
+        return (state & VISIBLE_BIT) != 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.internshipapp.models;
+
+import com.internshipapp.enums.LoginStatus;
+
+/**
+ * Result of a single login attempt: the outcome and, on success, the
+ * authenticated user.
+ */
+public class LoginResult {
+    private final LoginStatus status;
+    private final User user;
+
+    /**
+     * Create a login result.
+     *
+     * @param status outcome of the attempt
+     * @param user authenticated user, or null unless status is SUCCESS
+     */
+    public LoginResult(LoginStatus status, User user) {
+        this.status = status;
+        this.user = user;
+    }
+
+    /**
+     * Returns the outcome of the login attempt.
+     *
+     * @return login status
+     */
+    public LoginStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the authenticated user.
+     *
+     * @return the user on success, otherwise null
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Indicates whether the login succeeded.
+     *
+     * @return true if status is SUCCESS
+     */
+    public boolean isSuccess() {
+        return status == LoginStatus.SUCCESS;
+    }
+}
@@ -0,0 +1,63 @@
+package com.internshipapp.models;
+
+import com.internshipapp.enums.OperationStatus;
+
+/**
+ * Result of an operation that creates something: the outcome and, on
+ * success, what was created.
+ *
+ * @param <T> type of the created object
+ */
+public class OperationResult<T> {
+    private final OperationStatus status;
+    private final T value;
+
+    /**
+     * Create a result.
+     *
+     * @param status outcome of the operation
+     * @param value created object, or null unless status is SUCCESS
+     */
+    public OperationResult(OperationStatus status, T value) {
+        this.status = status;
+        this.value = value;
+    }
+
+    /**
+     * Create the result of a refused operation.
+     *
+     * @param status why it was refused
+     * @param <T> type of the object it would have created
+     * @return result with no value
+     */
+    public static <T> OperationResult<T> refused(OperationStatus status) {
+        return new OperationResult<>(status, null);
+    }
+
+    /**
+     * Returns the outcome of the operation.
+     *
+     * @return operation status
+     */
+    public OperationStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the created object.
+     *
+     * @return the object on success, otherwise null
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Indicates whether the operation succeeded.
+     *
+     * @return true if status is SUCCESS
+     */
+    public boolean isSuccess() {
+        return status == OperationStatus.SUCCESS;
+    }
+}
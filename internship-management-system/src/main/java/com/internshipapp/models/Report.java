@@ -1,47 +1,266 @@
 package com.internshipapp.models;
 
+import com.internshipapp.enums.*;
+
+import java.io.PrintStream;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
 
 /**
- * Simple report container used by staff to present aggregated data.
+ * Aggregated figures over a set of internships and their applications, as
+ * computed by {@link ReportEngine}: counts by status, level, major and
+ * company, slot fill rates and the application funnel. Immutable.
  */
 public class Report {
-    private Date generatedDate;
-    private String content;
+    private final long generatedMillis; // Epoch milliseconds
+    private final String filters;
+    private final int internshipCount;
+    private final Map<InternshipStatus, Integer> countsByStatus;
+    private final Map<InternshipLevel, Integer> countsByLevel;
+    private final Map<String, Group> byMajor; // Sorted, case-insensitive keys
+    private final Map<String, Group> byCompany; // Sorted, case-insensitive keys
+    private final long slots;
+    private final long slotsFilled;
+    private final Map<ApplicationStatus, Integer> applicationsByStatus;
 
     /**
-     * Create a report with the provided textual content. The generated date is set to now.
+     * Create a report, stamped with the current time. The maps are taken
+     * over, not copied, and must not be changed afterwards.
      *
-     * @param content textual content of the report
+     * @param filters description of the selection the report covers
+     * @param internshipCount number of internships covered
+     * @param countsByStatus internships per status
+     * @param countsByLevel internships per level
+     * @param byMajor figures per preferred major
+     * @param byCompany figures per company
+     * @param slots total slots
+     * @param slotsFilled total filled slots
+     * @param applicationsByStatus applications per status
      */
-    public Report(String content) {
-        this.generatedDate = new Date();
-        this.content = content;
+    Report(String filters, int internshipCount, Map<InternshipStatus, Integer> countsByStatus,
+           Map<InternshipLevel, Integer> countsByLevel, Map<String, Group> byMajor, Map<String, Group> byCompany,
+           long slots, long slotsFilled, Map<ApplicationStatus, Integer> applicationsByStatus) {
+        this.generatedMillis = System.currentTimeMillis();
+        this.filters = filters;
+        this.internshipCount = internshipCount;
+        this.countsByStatus = Collections.unmodifiableMap(countsByStatus);
+        this.countsByLevel = Collections.unmodifiableMap(countsByLevel);
+        this.byMajor = Collections.unmodifiableMap(byMajor);
+        this.byCompany = Collections.unmodifiableMap(byCompany);
+        this.slots = slots;
+        this.slotsFilled = slotsFilled;
+        this.applicationsByStatus = Collections.unmodifiableMap(applicationsByStatus);
     }
 
     /**
      * Returns the date/time when this report was generated.
      *
-     * @return generation timestamp
+     * @return a new Date holding the generation timestamp
      */
     public Date getGeneratedDate() {
-        return generatedDate;
+        return new Date(generatedMillis);
     }
 
     /**
-     * Returns the textual content of this report.
+     * Returns the time when this report was generated.
      *
-     * @return report content
+     * @return generation time in epoch milliseconds
+     */
+    public long getGeneratedMillis() {
+        return generatedMillis;
+    }
+
+    /**
+     * @return description of the selection the report covers
+     */
+    public String getFilters() {
+        return filters;
+    }
+
+    /**
+     * @return number of internships covered
+     */
+    public int getInternshipCount() {
+        return internshipCount;
+    }
+
+    /**
+     * @return internships per status; every status is present
+     */
+    public Map<InternshipStatus, Integer> getCountsByStatus() {
+        return countsByStatus;
+    }
+
+    /**
+     * @return internships per level; every level is present
      */
-    public String getContent() {
-        return content;
+    public Map<InternshipLevel, Integer> getCountsByLevel() {
+        return countsByLevel;
+    }
+
+    /**
+     * @return figures per preferred major, sorted by major
+     */
+    public Map<String, Group> getByMajor() {
+        return byMajor;
+    }
+
+    /**
+     * @return figures per company, sorted by company name
+     */
+    public Map<String, Group> getByCompany() {
+        return byCompany;
+    }
+
+    /**
+     * @return total slots over all covered internships
+     */
+    public long getSlots() {
+        return slots;
+    }
+
+    /**
+     * @return total filled slots over all covered internships
+     */
+    public long getSlotsFilled() {
+        return slotsFilled;
+    }
+
+    /**
+     * @return filled slots as a fraction of all slots (0 when there are none)
+     */
+    public double getFillRate() {
+        return ratio(slotsFilled, slots);
+    }
+
+    /**
+     * @return applications per status; every status is present
+     */
+    public Map<ApplicationStatus, Integer> getApplicationsByStatus() {
+        return applicationsByStatus;
+    }
+
+    /**
+     * @return number of applications to the covered internships
+     */
+    public int getApplicationCount() {
+        return applicationsByStatus.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Applications currently holding an offer (approved or accepted) as a
+     * fraction of all applications. An offer later withdrawn counts as
+     * unsuccessful, so this is the current rate, not the historical one.
+     *
+     * @return offer rate (0 when there are no applications)
+     */
+    public double getOfferRate() {
+        return ratio(offers(), getApplicationCount());
+    }
+
+    /**
+     * Accepted placements as a fraction of current offers.
+     *
+     * @return acceptance rate (0 when there are no offers)
+     */
+    public double getAcceptanceRate() {
+        return ratio(applicationsByStatus.get(ApplicationStatus.ACCEPTED), offers());
+    }
+
+    private int offers() {
+        return applicationsByStatus.get(ApplicationStatus.APPROVED) + applicationsByStatus.get(ApplicationStatus.ACCEPTED);
     }
 
     /**
      * Print a human-readable representation of the report to standard out.
      */
     public void printReport() {
-        System.out.println("Report Date: " + generatedDate);
-        System.out.println("Content: " + content);
+        print(System.out);
+    }
+
+    /**
+     * Print a human-readable representation of the report.
+     *
+     * @param out stream to print to
+     */
+    public void print(PrintStream out) {
+        out.println("Report Date: " + new Date(generatedMillis));
+        out.println("Filters: " + filters);
+        out.println("Internships: " + internshipCount + " | By status: " + countsByStatus + " | By level: " + countsByLevel);
+        out.println("Slots filled: " + slotsFilled + "/" + slots + " (" + percent(getFillRate()) + ")");
+        out.println("By major:");
+        byMajor.forEach((major, group) -> out.println("  " + major + ": " + group));
+        out.println("By company:");
+        byCompany.forEach((company, group) -> out.println("  " + company + ": " + group));
+        out.println("Applications: " + getApplicationCount() + " " + applicationsByStatus
+                + " | Offered: " + percent(getOfferRate()) + " | Accepted: " + percent(getAcceptanceRate()) + " of offers");
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    private static String percent(double rate) {
+        return String.format(Locale.ROOT, "%.1f%%", rate * 100);
+    }
+
+    /**
+     * Figures for one major or company.
+     */
+    public static final class Group {
+        private final int internships;
+        private final long slots;
+        private final long slotsFilled;
+        private final int applications;
+
+        Group(int internships, long slots, long slotsFilled, int applications) {
+            this.internships = internships;
+            this.slots = slots;
+            this.slotsFilled = slotsFilled;
+            this.applications = applications;
+        }
+
+        /**
+         * @return number of internships in the group
+         */
+        public int getInternships() {
+            return internships;
+        }
+
+        /**
+         * @return total slots in the group
+         */
+        public long getSlots() {
+            return slots;
+        }
+
+        /**
+         * @return filled slots in the group
+         */
+        public long getSlotsFilled() {
+            return slotsFilled;
+        }
+
+        /**
+         * @return filled slots as a fraction of the group's slots (0 when there are none)
+         */
+        public double getFillRate() {
+            return ratio(slotsFilled, slots);
+        }
+
+        /**
+         * @return number of applications to the group's internships
+         */
+        public int getApplications() {
+            return applications;
+        }
+
+        @Override
+        public String toString() {
+            return internships + " internship(s), " + slotsFilled + "/" + slots + " slots filled ("
+                    + percent(getFillRate()) + "), " + applications + " application(s)";
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.internshipapp.models;
+
+import com.internshipapp.enums.*;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes {@link Report}s as a parallel fork/join reduction. The
+ * internships are split in halves until a part is at most
+ * {@value #SEQUENTIAL_THRESHOLD} long; each part is tallied on its own
+ * (including the applications of its internships) and the tallies are
+ * merged pairwise on the way back up. Small selections are tallied on the
+ * calling thread without touching the pool.
+ * <p>
+ * Internships are read without locks, so a report taken while others are
+ * making changes reflects each internship as of some moment during the run.
+ */
+public final class ReportEngine {
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private ReportEngine() {
+    }
+
+    /**
+     * Summarize the given internships on the common fork/join pool.
+     *
+     * @param internships internships to cover
+     * @param filters description of the selection, shown on the report
+     * @return the report
+     */
+    public static Report summarize(List<Internship> internships, String filters) {
+        return summarize(internships, filters, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Summarize the given internships on a chosen pool.
+     *
+     * @param internships internships to cover
+     * @param filters description of the selection, shown on the report
+     * @param pool pool to run the reduction on
+     * @return the report
+     */
+    public static Report summarize(List<Internship> internships, String filters, ForkJoinPool pool) {
+        Internship[] items = internships.toArray(new Internship[0]); // Fixed partitions, even if the list changes
+        Tally tally = items.length <= SEQUENTIAL_THRESHOLD
+                ? new Tally().add(items, 0, items.length)
+                : pool.invoke(new TallyTask(items, 0, items.length));
+        return tally.toReport(filters);
+    }
+
+    /**
+     * Tallies one range of the internships, splitting it while it is too
+     * long to do in one go.
+     */
+    private static final class TallyTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final Internship[] items;
+        private final int from;
+        private final int to;
+
+        TallyTask(Internship[] items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                return new Tally().add(items, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            TallyTask left = new TallyTask(items, from, middle);
+            left.fork();
+            Tally right = new TallyTask(items, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Mutable partial result for one range. Enum-keyed counts are arrays
+     * indexed by ordinal; groups are sorted maps with case-insensitive keys,
+     * so "Computer Science" and "computer science" count as one major.
+     */
+    private static final class Tally {
+        private static final InternshipStatus[] STATUSES = InternshipStatus.values();
+        private static final InternshipLevel[] LEVELS = InternshipLevel.values();
+        private static final ApplicationStatus[] APPLICATION_STATUSES = ApplicationStatus.values();
+
+        private int internships = 0;
+        private final int[] byStatus = new int[STATUSES.length];
+        private final int[] byLevel = new int[LEVELS.length];
+        private final Map<String, long[]> byMajor = new TreeMap<>(String.CASE_INSENSITIVE_ORDER); // {internships, slots, filled, applications}
+        private final Map<String, long[]> byCompany = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private long slots = 0;
+        private long slotsFilled = 0;
+        private final int[] applicationsByStatus = new int[APPLICATION_STATUSES.length];
+
+        Tally add(Internship[] items, int from, int to) {
+            for (int i = from; i < to; i++) {
+                Internship internship = items[i];
+                int slotCount = internship.getSlots();
+                int filled = internship.getSlotsFilled();
+                int applications = 0;
+                for (Application application : internship.getApplications()) {
+                    applicationsByStatus[application.getStatus().ordinal()]++;
+                    applications++;
+                }
+                internships++;
+                byStatus[internship.getStatus().ordinal()]++;
+                byLevel[internship.getLevel().ordinal()]++;
+                slots += slotCount;
+                slotsFilled += filled;
+                addTo(byMajor, groupKey(internship.getPreferedMajor()), 1, slotCount, filled, applications);
+                addTo(byCompany, groupKey(internship.getCompanyName()), 1, slotCount, filled, applications);
+            }
+            return this;
+        }
+
+        Tally merge(Tally other) {
+            internships += other.internships;
+            addAll(byStatus, other.byStatus);
+            addAll(byLevel, other.byLevel);
+            other.byMajor.forEach((key, sums) -> addTo(byMajor, key, sums[0], sums[1], sums[2], sums[3]));
+            other.byCompany.forEach((key, sums) -> addTo(byCompany, key, sums[0], sums[1], sums[2], sums[3]));
+            slots += other.slots;
+            slotsFilled += other.slotsFilled;
+            addAll(applicationsByStatus, other.applicationsByStatus);
+            return this;
+        }
+
+        Report toReport(String filters) {
+            return new Report(filters, internships, toEnumMap(InternshipStatus.class, STATUSES, byStatus),
+                    toEnumMap(InternshipLevel.class, LEVELS, byLevel), toGroups(byMajor), toGroups(byCompany),
+                    slots, slotsFilled, toEnumMap(ApplicationStatus.class, APPLICATION_STATUSES, applicationsByStatus));
+        }
+
+        private static void addTo(Map<String, long[]> groups, String key, long internships, long slots, long filled, long applications) {
+            long[] sums = groups.computeIfAbsent(key, k -> new long[4]);
+            sums[0] += internships;
+            sums[1] += slots;
+            sums[2] += filled;
+            sums[3] += applications;
+        }
+
+        private static void addAll(int[] into, int[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+
+        private static String groupKey(String name) {
+            return name == null || name.trim().isEmpty() ? "(none)" : name.trim();
+        }
+
+        private static <E extends Enum<E>> Map<E, Integer> toEnumMap(Class<E> type, E[] constants, int[] counts) {
+            Map<E, Integer> map = new EnumMap<>(type);
+            for (E constant : constants) {
+                map.put(constant, counts[constant.ordinal()]);
+            }
+            return map;
+        }
+
+        private static Map<String, Report.Group> toGroups(Map<String, long[]> sums) {
+            Map<String, Report.Group> groups = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            sums.forEach((key, s) -> groups.put(key, new Report.Group((int) s[0], s[1], s[2], (int) s[3])));
+            return groups;
+        }
+    }
+}
@@ -2,8 +2,8 @@ package com.internshipapp.models;
 
 import com.internshipapp.enums.ApplicationStatus;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Student extends User {
     private int yearOfStudy;
@@ -14,7 +14,7 @@ public class Student extends User {
         super(userID, name, password);
         this.yearOfStudy = yearOfStudy;
         this.major = major;
-        this.applications = new ArrayList<>();
+        this.applications = new CopyOnWriteArrayList<>();
     }
 
     // addAppliction, applying would be through a controller
@@ -68,6 +68,7 @@ public class Student extends User {
 
     public void setYearOfStudy(int yearOfStudy) {
         this.yearOfStudy = yearOfStudy;
+        markDirty();
     }
 
     public String getMajor() {
@@ -76,5 +77,6 @@ public class Student extends User {
 
     public void setMajor(String major) {
         this.major = major;
+        markDirty();
     }
 }
\ No newline at end of file
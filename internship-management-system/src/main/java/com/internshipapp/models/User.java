@@ -9,7 +9,8 @@ public abstract class User {
     protected String userID;
     /** Display name for the user. */
     protected String name;
-    private String password;
+    private volatile String password;
+    private volatile boolean dirty = true; // New users have not been saved yet
 
     /**
      * Construct a user with identifying information.
@@ -81,5 +82,30 @@ public abstract class User {
     public void setPassword(String newPass) {
         // Implement password change logic here
         password = newPass;
+        markDirty();
     }
-}
\ No newline at end of file
+
+    /**
+     * Indicates whether this user changed since it was last loaded or saved.
+     *
+     * @return true if the user has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Record that a persisted field of this user changed, or that a save
+     * that cleared the flag failed.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Record that this user now matches what is stored.
+     */
+    public void markClean() {
+        dirty = false;
+    }
+}
@@ -9,8 +9,11 @@ import java.util.Date;
 public class WithdrawalRequest {
     private String requestID;
     private Application application;
-    private Date requestDate;
-    private RequestStatus status;
+    private final long requestMillis; // Epoch milliseconds
+    private volatile RequestStatus status;
+    private volatile boolean dirty = true; // New objects have not been saved yet
+
+    private static final IdAllocator IDS = new IdAllocator("WDR", 3, 16); // Requests are not persisted, so no seeding
 
     /**
      * Create a new withdrawal request for an application.
@@ -18,9 +21,9 @@ public class WithdrawalRequest {
      * @param application the application to withdraw from
      */
     public WithdrawalRequest(Application application) {
-        this.requestID = java.util.UUID.randomUUID().toString();
+        this.requestID = IDS.next();
         this.application = application;
-        this.requestDate = new Date();
+        this.requestMillis = System.currentTimeMillis();
         this.status = RequestStatus.PENDING;
     }
 
@@ -54,10 +57,19 @@ public class WithdrawalRequest {
     /**
      * Returns the date this withdrawal request was created.
      *
-     * @return the date the request was created
+     * @return a new Date holding the time the request was created
      */
     public Date getRequestDate() {
-        return requestDate;
+        return new Date(requestMillis);
+    }
+
+    /**
+     * Returns the time this withdrawal request was created.
+     *
+     * @return creation time in epoch milliseconds
+     */
+    public long getRequestMillis() {
+        return requestMillis;
     }
 
     /**
@@ -67,5 +79,22 @@ public class WithdrawalRequest {
      */
     public void setStatus(RequestStatus status) {
         this.status = status;
+        dirty = true;
+    }
+
+    /**
+     * Indicates whether this request changed since it was last loaded or saved.
+     *
+     * @return true if the request has unsaved changes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Record that this request now matches what is stored.
+     */
+    public void markClean() {
+        dirty = false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,299 @@
+package com.internshipapp.persistence;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Parallel CSV ingestion used by the managers' load methods.
+ * <p>
+ * A file is read into memory once and split into record-aligned chunks: a
+ * single cheap scan finds line breaks that are outside quoted fields, so a
+ * chunk never starts in the middle of a record. Chunks are then parsed with
+ * OpenCSV on a fork/join pool, and rows can be mapped to model objects in
+ * parallel as well. Results are always returned in file order, so loading is
+ * deterministic regardless of how the work was scheduled.
+ */
+public class CsvChunkLoader {
+    private static final int MIN_CHUNK_CHARS = 64 * 1024;
+    private static final int MIN_ROWS_PER_TASK = 2048;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a loader that runs on the common fork/join pool.
+     */
+    public CsvChunkLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a loader that runs on the given pool.
+     *
+     * @param pool pool used for parsing and mapping
+     */
+    public CsvChunkLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Read a CSV stream and return its rows, excluding the header, in file order.
+     *
+     * @param in stream to read; it is fully consumed but not closed
+     * @return parsed rows
+     * @throws IOException if the stream cannot be read
+     * @throws CsvValidationException if a chunk contains malformed CSV
+     */
+    public List<String[]> readRows(InputStream in) throws IOException, CsvValidationException {
+        return readRows(in, null);
+    }
+
+    /**
+     * Read a CSV stream and return its rows, excluding the header, in file
+     * order, noting the physical line each row starts on.
+     *
+     * @param in stream to read; it is fully consumed but not closed
+     * @param lineNumbers if not null, receives the 1-based starting line of each returned row;
+     *                    should be an identity map
+     * @return parsed rows
+     * @throws IOException if the stream cannot be read
+     * @throws CsvValidationException if a chunk contains malformed CSV
+     */
+    public List<String[]> readRows(InputStream in, Map<String[], Integer> lineNumbers) throws IOException, CsvValidationException {
+        char[] text = new String(in.readAllBytes(), StandardCharsets.UTF_8).toCharArray();
+        List<Integer> startLines = new ArrayList<>();
+        int[] bounds = findChunkBounds(text, startLines);
+        int chunkCount = bounds.length - 1;
+        if (chunkCount <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<List<String[]>> parsed = new ArrayList<>(Collections.nCopies(chunkCount, null)); // One slot per chunk
+        int[][] lines = new int[chunkCount][];
+        Exception[] failures = new Exception[chunkCount];
+        int[] chunkLines = startLines.stream().mapToInt(Integer::intValue).toArray();
+        pool.invoke(new ParseChunks(text, bounds, chunkLines, parsed, lines, failures, 0, chunkCount));
+
+        // Report the failure from the earliest chunk, as a sequential read would
+        for (Exception failure : failures) {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof CsvValidationException) {
+                throw (CsvValidationException) failure;
+            }
+        }
+
+        int total = 0;
+        for (List<String[]> chunk : parsed) {
+            total += chunk.size();
+        }
+        List<String[]> rows = new ArrayList<>(total);
+        for (int c = 0; c < chunkCount; c++) {
+            List<String[]> chunk = parsed.get(c);
+            rows.addAll(chunk);
+            if (lineNumbers != null) {
+                for (int r = 0; r < chunk.size(); r++) {
+                    lineNumbers.put(chunk.get(r), lines[c][r]);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Map rows to objects in parallel. The returned list is aligned with the
+     * input: element {@code i} is the result for {@code rows.get(i)}, or null if
+     * the mapper returned null or rejected the row with an exception. Rejected
+     * rows are reported in file order once mapping finishes.
+     *
+     * @param rows rows to map
+     * @param mapper thread-safe function turning a row into an object
+     * @param label name used in messages about rejected rows (e.g. "internships")
+     * @param <T> result type
+     * @return mapped objects aligned with rows
+     */
+    public <T> List<T> mapRows(List<String[]> rows, Function<String[], T> mapper, String label) {
+        return mapRows(rows, mapper, label, Collections.emptyMap());
+    }
+
+    /**
+     * Map rows to objects in parallel, reporting rejected rows by the line
+     * they were read from.
+     *
+     * @param rows rows to map
+     * @param mapper thread-safe function turning a row into an object
+     * @param label name used in messages about rejected rows (e.g. "internships")
+     * @param lineNumbers starting line of each row, as filled in by {@link #readRows(InputStream, Map)};
+     *                    rows not in it (such as ones replayed from the journal) are reported by position
+     * @param <T> result type
+     * @return mapped objects aligned with rows
+     */
+    public <T> List<T> mapRows(List<String[]> rows, Function<String[], T> mapper, String label, Map<String[], Integer> lineNumbers) {
+        Object[] results = new Object[rows.size()];
+        String[] errors = new String[rows.size()];
+        if (!rows.isEmpty()) {
+            pool.invoke(new MapRows<>(rows, mapper, results, errors, 0, rows.size()));
+        }
+
+        List<T> mapped = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            if (errors[i] != null) {
+                Integer line = lineNumbers.get(rows.get(i));
+                String where = line != null ? "row at line " + line : "row " + (i + 1) + " (after the header)";
+                System.out.println("Skipping invalid " + where + " in " + label + ": " + errors[i]);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) results[i];
+            mapped.add(value);
+        }
+        return mapped;
+    }
+
+    /**
+     * Find chunk boundaries that fall on record ends. The first record (the
+     * header) is excluded, so the first chunk starts at the second record.
+     *
+     * @param text full file contents
+     * @param startLines receives the 1-based line each chunk starts on
+     * @return ascending offsets; chunk {@code i} spans {@code [b[i], b[i+1])}
+     */
+    private int[] findChunkBounds(char[] text, List<Integer> startLines) {
+        int parallelism = Math.max(1, pool.getParallelism());
+        int targetChunk = Math.max(MIN_CHUNK_CHARS, text.length / (parallelism * 4));
+
+        List<Integer> bounds = new ArrayList<>();
+        boolean inQuotes = false;
+        int nextTarget = -1; // -1 until the header has been skipped
+        int line = 1; // Physical line of text[i], counting breaks inside quoted fields too
+        for (int i = 0; i < text.length; i++) {
+            char c = text[i];
+            if (c == '"') {
+                inQuotes = !inQuotes; // An escaped quote ("") toggles twice
+            } else if (c == '\n') {
+                line++;
+                if (!inQuotes && (nextTarget < 0 || i + 1 >= nextTarget)) {
+                    bounds.add(i + 1);
+                    startLines.add(line);
+                    nextTarget = i + 1 + targetChunk;
+                }
+            }
+        }
+        if (bounds.isEmpty()) {
+            return new int[0]; // Header only, or empty file
+        }
+        if (bounds.get(bounds.size() - 1) < text.length) {
+            bounds.add(text.length);
+        }
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Parses a range of chunks, splitting the range in half until a single
+     * chunk remains.
+     */
+    private static class ParseChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] text;
+        private final int[] bounds;
+        private final int[] startLines;
+        private final List<List<String[]>> out;
+        private final int[][] lines;
+        private final Exception[] failures;
+        private final int from;
+        private final int to;
+
+        ParseChunks(char[] text, int[] bounds, int[] startLines, List<List<String[]>> out, int[][] lines,
+                    Exception[] failures, int from, int to) {
+            this.text = text;
+            this.bounds = bounds;
+            this.startLines = startLines;
+            this.out = out;
+            this.lines = lines;
+            this.failures = failures;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParseChunks(text, bounds, startLines, out, lines, failures, from, mid),
+                          new ParseChunks(text, bounds, startLines, out, lines, failures, mid, to));
+                return;
+            }
+            int start = bounds[from];
+            int end = bounds[from + 1];
+            List<String[]> rows = new ArrayList<>();
+            List<Integer> rowLines = new ArrayList<>();
+            try (CSVReader reader = new CSVReader(new CharArrayReader(text, start, end - start))) {
+                long consumed = reader.getLinesRead(); // Lines before the record about to be read
+                String[] line;
+                while ((line = reader.readNext()) != null) {
+                    if (!(line.length == 1 && line[0].isEmpty())) { // Skip blank lines
+                        rows.add(line);
+                        rowLines.add(startLines[from] + (int) consumed);
+                    }
+                    consumed = reader.getLinesRead();
+                }
+            } catch (IOException | CsvValidationException e) {
+                failures[from] = e;
+            }
+            out.set(from, rows);
+            lines[from] = rowLines.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Maps a range of rows, splitting the range in half until it is small
+     * enough to process directly.
+     */
+    private static class MapRows<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String[]> rows;
+        private final Function<String[], T> mapper;
+        private final Object[] results;
+        private final String[] errors;
+        private final int from;
+        private final int to;
+
+        MapRows(List<String[]> rows, Function<String[], T> mapper, Object[] results, String[] errors, int from, int to) {
+            this.rows = rows;
+            this.mapper = mapper;
+            this.results = results;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MIN_ROWS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MapRows<>(rows, mapper, results, errors, from, mid),
+                          new MapRows<>(rows, mapper, results, errors, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                try {
+                    results[i] = mapper.apply(rows.get(i));
+                } catch (RuntimeException e) {
+                    errors[i] = e.toString();
+                }
+            }
+        }
+    }
+}
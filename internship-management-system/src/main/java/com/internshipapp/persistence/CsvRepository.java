@@ -0,0 +1,442 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.enums.*;
+import com.internshipapp.models.*;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Repository backed by the CSV resources on the classpath.
+ * <p>
+ * Loading prefers a fresh binary snapshot of each file and otherwise parses
+ * the CSV with {@link CsvChunkLoader}, replaying the {@link Journal} over it.
+ * Single-row saves append to the journal; full saves rewrite the CSV file
+ * and then its snapshot, skipping files whose rows are all clean and whose
+ * row count has not changed. {@link #checkpoint()} truncates the journal once
+ * all files have been saved.
+ */
+public class CsvRepository implements DataRepository {
+    private final CsvChunkLoader csvLoader = new CsvChunkLoader();
+    private final Journal journal; // Optional; null when changes are only saved in full
+    private final Map<String, Integer> storedCounts = new ConcurrentHashMap<>(); // Rows per file as last loaded or saved
+    private final Set<String> staleFiles = ConcurrentHashMap.newKeySet(); // Files whose CSV lags the journal
+
+    /**
+     * Create a repository without a journal: single-row saves are ignored and
+     * changes reach disk only through the full saves.
+     */
+    public CsvRepository() {
+        this(null);
+    }
+
+    /**
+     * Create a repository that journals single-row saves.
+     *
+     * @param journal journal to append to and replay from, may be null
+     */
+    public CsvRepository(Journal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public List<User> loadUsers() {
+        List<User> users = new ArrayList<>();
+        users.addAll(loadFile(CsvRows.STUDENTS_FILE, "students",
+                r -> new Student(r.string(), r.string(), r.string(), r.integer(), r.string()),
+                line -> new Student(line[0], line[1], line[2], Integer.parseInt(line[4]), line[3])));
+        users.addAll(loadFile(CsvRows.STAFF_FILE, "staff",
+                r -> new CareerCenterStaff(r.string(), r.string(), r.string(), "CCDS"),
+                line -> new CareerCenterStaff(line[0], line[1], line[2], line[4])));
+        users.addAll(loadFile(CsvRows.COMPANY_REPS_FILE, "company representatives",
+                r -> {
+                    CompanyRepresentative rep = new CompanyRepresentative(r.string(), r.string(), r.string(), r.string(), r.string(), r.string());
+                    rep.setApproved(r.bool());
+                    return rep;
+                },
+                line -> {
+                    CompanyRepresentative rep = new CompanyRepresentative(line[0], line[1], line[2], line[3], line[4], line[5]);
+                    rep.setApproved(Boolean.parseBoolean(line[6]));
+                    return rep;
+                }));
+        return users;
+    }
+
+    @Override
+    public List<Internship> loadInternships(Function<String, CompanyRepresentative> owners) {
+        InternshipLevel[] levels = InternshipLevel.values();
+        InternshipStatus[] statuses = InternshipStatus.values();
+        // Owners are resolved afterwards, so parsing only builds the internship and keeps the owner ID
+        List<InternshipRecord> records = loadFile(CsvRows.INTERNSHIPS_FILE, "internships",
+                r -> {
+                    // Values are read in the order saveAllInternships writes them
+                    String id = r.string();
+                    String title = r.string();
+                    String description = r.string();
+                    InternshipLevel level = r.enumValue(levels);
+                    String preferredMajor = r.string();
+                    int openingDay = r.epochDay();
+                    int closingDay = r.epochDay();
+                    InternshipStatus status = r.enumValue(statuses);
+                    String companyName = r.string();
+                    String ownerId = r.string();
+                    int slots = r.integer();
+                    int slotsFilled = r.integer();
+                    boolean isVisible = r.bool();
+                    return new InternshipRecord(new Internship(id, title, description, level, preferredMajor, openingDay,
+                            closingDay, status, companyName, null, slots, slotsFilled, isVisible), ownerId);
+                },
+                line -> new InternshipRecord(new Internship(
+                        line[0], line[1], line[2], InternshipLevel.valueOf(line[3]), line[4],
+                        EpochDays.parse(line[5]), EpochDays.parse(line[6]), InternshipStatus.valueOf(line[7]), line[8], null,
+                        Integer.parseInt(line[10]), Integer.parseInt(line[11]), Boolean.parseBoolean(line[12])), line[9]));
+
+        List<Internship> internships = new ArrayList<>(records.size());
+        for (InternshipRecord record : records) {
+            CompanyRepresentative owner = owners.apply(record.ownerId);
+            if (owner != null) {
+                record.internship.setOwner(owner);
+                internships.add(record.internship);
+            }
+        }
+        return internships;
+    }
+
+    @Override
+    public List<Application> loadApplications(Function<String, Student> students, Function<String, Internship> internships) {
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        List<ApplicationRecord> records = loadFile(CsvRows.APPLICATIONS_FILE, "applications",
+                r -> new ApplicationRecord(r.string(), r.string(), r.string(), r.enumValue(statuses), r.epochDay()),
+                line -> new ApplicationRecord(line[0], line[1], line[2], ApplicationStatus.valueOf(line[3]), EpochDays.parse(line[4])));
+
+        List<Application> applications = new ArrayList<>(records.size());
+        for (ApplicationRecord record : records) {
+            Student student = students.apply(record.studentId);
+            Internship internship = internships.apply(record.internshipId);
+            if (student != null && internship != null) {
+                Application app = new Application(record.id, student, internship, record.status);
+                app.setApplicationDay(record.applicationDay); // Set persistent date
+                applications.add(app);
+            }
+        }
+        return applications;
+    }
+
+    /**
+     * Load one file, from its snapshot if a fresh one exists, otherwise from
+     * the CSV with the journal replayed over it. Rows that fail to parse are
+     * reported and skipped.
+     *
+     * @param fileName CSV resource name
+     * @param label name used in error messages
+     * @param snapshotRow reads one object from the snapshot
+     * @param csvRow builds one object from a CSV row; must be thread-safe
+     * @param <T> loaded type
+     * @return loaded objects in file order
+     */
+    private <T> List<T> loadFile(String fileName, String label, Function<SnapshotReader, T> snapshotRow,
+                                 Function<String[], T> csvRow) {
+        Path snapshot = SnapshotReader.findFresh(fileName, journal);
+        if (snapshot != null) {
+            try {
+                SnapshotReader reader = SnapshotReader.open(snapshot);
+                List<T> loaded = new ArrayList<>(reader.rowCount());
+                for (int r = 0; r < reader.rowCount(); r++) {
+                    loaded.add(snapshotRow.apply(reader));
+                }
+                storedCounts.put(fileName, loaded.size());
+                return loaded;
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Error reading " + snapshot.getFileName() + ", loading " + fileName + " instead: " + e.getMessage());
+            }
+        }
+
+        List<T> loaded = new ArrayList<>();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            Map<String[], Integer> lineNumbers = new IdentityHashMap<>();
+            List<String[]> rows = csvLoader.readRows(in, lineNumbers);
+            if (journal != null && journal.hasEntries(fileName)) {
+                // The CSV is behind the journal, so it must be rewritten even if nothing else changes
+                staleFiles.add(fileName);
+                rows = journal.replay(fileName, rows);
+            }
+            for (T value : csvLoader.mapRows(rows, csvRow, fileName, lineNumbers)) {
+                if (value != null) {
+                    loaded.add(value);
+                }
+            }
+        } catch (IOException | CsvValidationException | NullPointerException e) {
+            System.out.println("Error loading " + label + ": " + e.getMessage());
+        }
+        storedCounts.put(fileName, loaded.size());
+        return loaded;
+    }
+
+    @Override
+    public void saveUser(String op, User user) {
+        if (journal == null) {
+            return;
+        }
+        if (user instanceof Student) {
+            journal.recordUpsert(op, CsvRows.STUDENTS_FILE, CsvRows.student((Student) user));
+        } else if (user instanceof CareerCenterStaff) {
+            journal.recordUpsert(op, CsvRows.STAFF_FILE, CsvRows.staff((CareerCenterStaff) user));
+        } else if (user instanceof CompanyRepresentative) {
+            journal.recordUpsert(op, CsvRows.COMPANY_REPS_FILE, CsvRows.companyRep((CompanyRepresentative) user));
+        }
+    }
+
+    @Override
+    public void saveInternship(String op, Internship internship) {
+        if (journal != null) {
+            journal.recordUpsert(op, CsvRows.INTERNSHIPS_FILE, CsvRows.internship(internship));
+        }
+    }
+
+    @Override
+    public void saveApplication(String op, Application application) {
+        if (journal != null) {
+            journal.recordUpsert(op, CsvRows.APPLICATIONS_FILE, CsvRows.application(application));
+        }
+    }
+
+    @Override
+    public void deleteInternship(String op, Internship internship) {
+        if (journal == null) {
+            return;
+        }
+        for (Application app : internship.getApplications()) {
+            journal.recordDelete(op, CsvRows.APPLICATIONS_FILE, app.getApplicationID());
+        }
+        journal.recordDelete(op, CsvRows.INTERNSHIPS_FILE, internship.getInternshipID());
+    }
+
+    /**
+     * Journal the writes as one group: one write and fsync for all of them.
+     */
+    @Override
+    public void writeGroup(Consumer<DataRepository> writes) {
+        if (journal == null) {
+            writes.accept(this);
+        } else {
+            journal.group(() -> writes.accept(this));
+        }
+    }
+
+    @Override
+    public boolean saveAllUsers(Collection<User> users) {
+        boolean students = saveFile(CsvRows.STUDENTS_FILE, CsvRows.STUDENT_HEADER, "students", filter(users, Student.class),
+                CsvRows::student, Student::isDirty, Student::markClean, Student::markDirty,
+                (w, s) -> w.string(s.getUserID()).string(s.getName()).string(s.getPassword()).integer(s.getYearOfStudy()).string(s.getMajor()));
+        boolean staff = saveFile(CsvRows.STAFF_FILE, CsvRows.STAFF_HEADER, "staff", filter(users, CareerCenterStaff.class),
+                CsvRows::staff, CareerCenterStaff::isDirty, CareerCenterStaff::markClean, CareerCenterStaff::markDirty,
+                (w, s) -> w.string(s.getUserID()).string(s.getName()).string(s.getPassword()));
+        boolean reps = saveFile(CsvRows.COMPANY_REPS_FILE, CsvRows.COMPANY_REP_HEADER, "company representatives",
+                filter(users, CompanyRepresentative.class),
+                CsvRows::companyRep, CompanyRepresentative::isDirty, CompanyRepresentative::markClean, CompanyRepresentative::markDirty,
+                (w, r) -> w.string(r.getUserID()).string(r.getName()).string(r.getPassword()).string(r.getCompanyName())
+                        .string(r.getDepartment()).string(r.getPosition()).bool(r.isApproved()));
+        return students && staff && reps;
+    }
+
+    @Override
+    public boolean saveAllInternships(Collection<Internship> internships) {
+        return saveFile(CsvRows.INTERNSHIPS_FILE, CsvRows.INTERNSHIP_HEADER, "internships", internships,
+                CsvRows::internship, Internship::isDirty, Internship::markClean, Internship::markDirty,
+                (w, i) -> w.string(i.getInternshipID()).string(i.getTitle()).string(i.getDescription())
+                        .enumValue(i.getLevel()).string(i.getPreferedMajor())
+                        .epochDay(i.getOpeningDay()).epochDay(i.getClosingDay())
+                        .enumValue(i.getStatus()).string(i.getCompanyName()).string(i.getOwner().getUserID())
+                        .integer(i.getSlots()).integer(i.getSlotsFilled()).bool(i.isVisible()));
+    }
+
+    @Override
+    public boolean saveAllApplications(Collection<Application> applications) {
+        return saveFile(CsvRows.APPLICATIONS_FILE, CsvRows.APPLICATION_HEADER, "applications", applications,
+                CsvRows::application, Application::isDirty, Application::markClean, Application::markDirty,
+                (w, app) -> w.string(app.getApplicationID()).string(app.getStudent().getUserID())
+                        .string(app.getInternship().getInternshipID()).enumValue(app.getStatus())
+                        .epochDay(app.getApplicationDay()));
+    }
+
+    /**
+     * Rewrite one CSV file and then its binary snapshot, unless nothing in it
+     * changed. The CSV is written to a temporary file and renamed over the
+     * old one, so a failed save never leaves a truncated file. The snapshot
+     * is written after the CSV so it is never older than it.
+     * <p>
+     * Each object's dirty flag is cleared before any row is serialized, so a
+     * change another session makes meanwhile either makes it into the file
+     * or leaves the object dirty for the next save; if the file cannot be
+     * written, the cleared flags are set again.
+     *
+     * @param fileName CSV resource name
+     * @param header CSV header row
+     * @param label name used in error messages
+     * @param items objects to write, in order
+     * @param toRow converts an object to its CSV row
+     * @param isDirty reports whether an object has unsaved changes
+     * @param markClean records that an object was saved
+     * @param markDirty records that an object still needs saving
+     * @param toSnapshot writes an object's snapshot values
+     * @param <T> saved type
+     * @return true if the CSV file was written or was already up to date
+     */
+    private <T> boolean saveFile(String fileName, String[] header, String label, Collection<T> items,
+                                 Function<T, String[]> toRow, Predicate<T> isDirty, Consumer<T> markClean,
+                                 Consumer<T> markDirty, BiConsumer<SnapshotWriter, T> toSnapshot) {
+        if (!needsWrite(fileName, items, isDirty)) {
+            return true;
+        }
+
+        List<T> cleared = new ArrayList<>();
+        for (T item : items) {
+            if (isDirty.test(item)) {
+                markClean.accept(item); // Before the row is built; a later change marks it again
+                cleared.add(item);
+            }
+        }
+        try {
+            Path target = ResourceFiles.locate(fileName);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+                writer.writeNext(header);
+                for (T item : items) {
+                    writer.writeNext(toRow.apply(item));
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            cleared.forEach(markDirty);
+            System.out.println("Error saving " + label + ": " + e.getMessage());
+            return false;
+        }
+
+        try {
+            SnapshotWriter snapshot = new SnapshotWriter();
+            for (T item : items) {
+                toSnapshot.accept(snapshot, item);
+                snapshot.endRow();
+            }
+            snapshot.writeTo(ResourceFiles.snapshotFor(fileName), ResourceFiles.locate(fileName));
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot of " + fileName + ": " + e.getMessage());
+        }
+
+        storedCounts.put(fileName, items.size());
+        staleFiles.remove(fileName);
+        return true;
+    }
+
+    /**
+     * A file needs writing if it lags the journal, if rows were added or
+     * removed since it was last loaded or saved, or if any row changed.
+     */
+    private <T> boolean needsWrite(String fileName, Collection<T> items, Predicate<T> isDirty) {
+        if (staleFiles.contains(fileName)) {
+            return true;
+        }
+        Integer stored = storedCounts.get(fileName);
+        if (stored == null || stored != items.size()) {
+            return true;
+        }
+        for (T item : items) {
+            if (isDirty.test(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T extends User> List<T> filter(Collection<User> users, Class<T> type) {
+        List<T> matching = new ArrayList<>();
+        for (User user : users) {
+            if (type.isInstance(user)) {
+                matching.add(type.cast(user));
+            }
+        }
+        return matching;
+    }
+
+    @Override
+    public void checkpoint() {
+        if (journal != null) {
+            try {
+                journal.truncate();
+            } catch (IOException e) {
+                System.out.println("Error truncating journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Without a journal, single-row saves are dropped, so every change still
+     * needs a full save.
+     *
+     * @return true if there is no journal or it has grown past its threshold
+     */
+    @Override
+    public boolean needsCheckpoint() {
+        return journal == null || journal.needsCompaction();
+    }
+
+    @Override
+    public void close() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Error closing journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A parsed internship whose owner has not been resolved yet.
+     */
+    private static class InternshipRecord {
+        private final Internship internship;
+        private final String ownerId;
+
+        InternshipRecord(Internship internship, String ownerId) {
+            this.internship = internship;
+            this.ownerId = ownerId;
+        }
+    }
+
+    /**
+     * A validated application row whose references have not been resolved yet.
+     */
+    private static class ApplicationRecord {
+        private final String id;
+        private final String studentId;
+        private final String internshipId;
+        private final ApplicationStatus status;
+        private final int applicationDay;
+
+        ApplicationRecord(String id, String studentId, String internshipId, ApplicationStatus status, int applicationDay) {
+            this.id = id;
+            this.studentId = studentId;
+            this.internshipId = internshipId;
+            this.status = status;
+            this.applicationDay = applicationDay;
+        }
+    }
+}
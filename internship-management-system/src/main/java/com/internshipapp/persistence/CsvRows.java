@@ -0,0 +1,95 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.models.*;
+
+/**
+ * CSV file names, headers and row layouts shared by the managers' save
+ * methods and the {@link Journal}. Dates are written as yyyy-MM-dd through
+ * {@link EpochDays}.
+ */
+public final class CsvRows {
+    /** Resource name of the students file. */
+    public static final String STUDENTS_FILE = "students.csv";
+    /** Resource name of the staff file. */
+    public static final String STAFF_FILE = "staff.csv";
+    /** Resource name of the company representatives file. */
+    public static final String COMPANY_REPS_FILE = "company_representatives.csv";
+    /** Resource name of the internships file. */
+    public static final String INTERNSHIPS_FILE = "internships.csv";
+    /** Resource name of the applications file. */
+    public static final String APPLICATIONS_FILE = "applications.csv";
+
+    /** Header row of the students file. */
+    public static final String[] STUDENT_HEADER = {"StudentID", "Name", "Password", "Major", "Year"};
+    /** Header row of the staff file. */
+    public static final String[] STAFF_HEADER = {"StaffID", "Name", "Password", "Role", "Department"};
+    /** Header row of the company representatives file. */
+    public static final String[] COMPANY_REP_HEADER = {"CompanyRepID", "Name", "Password", "CompanyName", "Department", "Position", "isApproved"};
+    /** Header row of the internships file. */
+    public static final String[] INTERNSHIP_HEADER = {"internshipID", "title", "description", "level", "preferedMajor", "openingDate", "closingDate", "status", "companyName", "ownerID", "slots", "slotsFilled", "isVisible"};
+    /** Header row of the applications file. */
+    public static final String[] APPLICATION_HEADER = {"applicationID", "studentID", "internshipID", "status", "applicationDate"};
+
+    private CsvRows() {
+    }
+
+    /**
+     * @param s student to convert
+     * @return the student's row in students.csv
+     */
+    public static String[] student(Student s) {
+        return new String[]{s.getUserID(), s.getName(), s.getPassword(), s.getMajor(), String.valueOf(s.getYearOfStudy())};
+    }
+
+    /**
+     * @param s staff member to convert
+     * @return the staff member's row in staff.csv
+     */
+    public static String[] staff(CareerCenterStaff s) {
+        return new String[]{s.getUserID(), s.getName(), s.getPassword(), "Career Center Staff", "CCDS"};
+    }
+
+    /**
+     * @param r representative to convert
+     * @return the representative's row in company_representatives.csv
+     */
+    public static String[] companyRep(CompanyRepresentative r) {
+        return new String[]{r.getUserID(), r.getName(), r.getPassword(), r.getCompanyName(), r.getDepartment(), r.getPosition(), String.valueOf(r.isApproved())};
+    }
+
+    /**
+     * @param i internship to convert
+     * @return the internship's row in internships.csv
+     */
+    public static String[] internship(Internship i) {
+        return new String[]{
+            i.getInternshipID(),
+            i.getTitle(),
+            i.getDescription(),
+            i.getLevel().name(),
+            i.getPreferedMajor(),
+            EpochDays.format(i.getOpeningDay()),
+            EpochDays.format(i.getClosingDay()),
+            i.getStatus().name(),
+            i.getCompanyName(),
+            i.getOwner().getUserID(),
+            String.valueOf(i.getSlots()),
+            String.valueOf(i.getSlotsFilled()),
+            String.valueOf(i.isVisible())
+        };
+    }
+
+    /**
+     * @param app application to convert
+     * @return the application's row in applications.csv
+     */
+    public static String[] application(Application app) {
+        return new String[]{
+            app.getApplicationID(),
+            app.getStudent().getUserID(),
+            app.getInternship().getInternshipID(),
+            app.getStatus().name(),
+            EpochDays.format(app.getApplicationDay())
+        };
+    }
+}
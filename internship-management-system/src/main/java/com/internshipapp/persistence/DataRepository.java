@@ -0,0 +1,133 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.models.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Storage backend behind the managers. Managers keep the in-memory model and
+ * indexes; a repository loads that model at startup and persists changes,
+ * either one row at a time as they happen or as a full snapshot.
+ * <p>
+ * Each {@code save}/{@code delete} call names the operation that caused it
+ * (for example "acceptPlacement"), which backends may record for auditing.
+ */
+public interface DataRepository extends AutoCloseable {
+
+    /**
+     * Load every user: students, then staff, then company representatives.
+     *
+     * @return loaded users
+     */
+    List<User> loadUsers();
+
+    /**
+     * Load every internship with its owner set. Internships whose owner
+     * cannot be resolved are dropped.
+     *
+     * @param owners resolves an owner ID to a representative, or null
+     * @return loaded internships in storage order
+     */
+    List<Internship> loadInternships(Function<String, CompanyRepresentative> owners);
+
+    /**
+     * Load every application with its student and internship set.
+     * Applications whose references cannot be resolved are dropped.
+     *
+     * @param students resolves a student ID, or null
+     * @param internships resolves an internship ID, or null
+     * @return loaded applications in storage order
+     */
+    List<Application> loadApplications(Function<String, Student> students, Function<String, Internship> internships);
+
+    /**
+     * Persist the current state of one user.
+     *
+     * @param op operation that changed the user
+     * @param user changed user
+     */
+    void saveUser(String op, User user);
+
+    /**
+     * Persist the current state of one internship.
+     *
+     * @param op operation that changed the internship
+     * @param internship changed internship
+     */
+    void saveInternship(String op, Internship internship);
+
+    /**
+     * Persist the current state of one application.
+     *
+     * @param op operation that changed the application
+     * @param application changed application
+     */
+    void saveApplication(String op, Application application);
+
+    /**
+     * Remove an internship together with all of its applications.
+     *
+     * @param op operation that removed the internship
+     * @param internship removed internship
+     */
+    void deleteInternship(String op, Internship internship);
+
+    /**
+     * Run several writes as one group. Backends that can store them
+     * together do so (one journal write and fsync, or one transaction), so a
+     * batch operation is persisted as a unit rather than row by row. The
+     * writes must be made against the repository passed in.
+     *
+     * @param writes the writes, given the repository to make them against
+     */
+    default void writeGroup(Consumer<DataRepository> writes) {
+        writes.accept(this);
+    }
+
+    /**
+     * Write every user as a full snapshot.
+     *
+     * @param users all users
+     * @return true on success
+     */
+    boolean saveAllUsers(Collection<User> users);
+
+    /**
+     * Write every internship as a full snapshot.
+     *
+     * @param internships all internships
+     * @return true on success
+     */
+    boolean saveAllInternships(Collection<Internship> internships);
+
+    /**
+     * Write every application as a full snapshot.
+     *
+     * @param applications all applications
+     * @return true on success
+     */
+    boolean saveAllApplications(Collection<Application> applications);
+
+    /**
+     * Called after all three full snapshots were written successfully, so the
+     * backend can discard incremental change records that are now redundant.
+     */
+    void checkpoint();
+
+    /**
+     * Indicates whether enough incremental changes have built up that the
+     * caller should write full snapshots and {@link #checkpoint()}.
+     *
+     * @return true if a checkpoint is due
+     */
+    boolean needsCheckpoint();
+
+    /**
+     * Release files and connections held by the backend.
+     */
+    @Override
+    void close();
+}
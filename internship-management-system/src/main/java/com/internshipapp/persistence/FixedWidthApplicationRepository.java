@@ -0,0 +1,510 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.models.*;
+import com.opencsv.CSVWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Repository decorator that keeps applications in a file of fixed-width
+ * records and passes users and internships through to another repository.
+ * <p>
+ * Every record has the same size, so record {@code n} starts at a known
+ * offset and an in-memory map from application ID to record number gives
+ * random access to any application. An application's row only ever changes
+ * in its status, so saving an existing application is a one-byte write at
+ * the record's status offset rather than a rewrite of the whole file. New
+ * applications are appended; removed ones are flagged as deleted in place.
+ * Writes are forced to disk as they are made, or once at the end of a
+ * {@link #writeGroup(Consumer)}, as applications do not go through the
+ * journal.
+ * <p>
+ * Full saves drop deleted records by rewriting the file (through a temporary
+ * file and an atomic rename) and export the applications back to
+ * applications.csv, so the CSV stays a complete copy of the data. When the
+ * record file does not exist yet it is seeded from the wrapped repository.
+ * A record that cannot be decoded is skipped when loading; if the file cannot
+ * be read at all, applications are loaded from the CSV copy instead.
+ * <p>
+ * Record layout: status ordinal (1 byte), flags (1 byte), then the
+ * application ID, student ID and internship ID as length-prefixed UTF-8 in
+ * fixed-width fields, then the application date as an epoch day (4 bytes).
+ */
+public class FixedWidthApplicationRepository implements DataRepository {
+    private static final int MAGIC = 0x494D5341; // "IMSA"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 8; // magic, version, record size
+
+    private static final int STATUS_OFFSET = 0;
+    private static final int FLAGS_OFFSET = 1;
+    private static final int ID_OFFSET = 2;
+    private static final int ID_WIDTH = 24;
+    private static final int STUDENT_OFFSET = ID_OFFSET + 1 + ID_WIDTH;
+    private static final int STUDENT_WIDTH = 48;
+    private static final int INTERNSHIP_OFFSET = STUDENT_OFFSET + 1 + STUDENT_WIDTH;
+    private static final int INTERNSHIP_WIDTH = 24;
+    private static final int DATE_OFFSET = INTERNSHIP_OFFSET + 1 + INTERNSHIP_WIDTH;
+    private static final short RECORD_SIZE = DATE_OFFSET + Integer.BYTES;
+
+    private static final byte FLAG_DELETED = 1;
+
+    private final DataRepository delegate;
+    private final Path file;
+    private final Path csvFile; // Export target; null for applications.csv among the resources
+    private final ThreadLocal<Integer> groupDepth = ThreadLocal.withInitial(() -> 0); // Nesting of writeGroup() on this thread
+    private final ApplicationStatus[] statuses = ApplicationStatus.values();
+
+    private FileChannel channel;
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private int recordCount = 0;
+    private int deletedCount = 0;
+    private boolean seeded; // False until the file holds the full set of applications
+    private boolean exported; // False while the records may differ from applications.csv
+
+    /**
+     * Open (or create) the record file.
+     *
+     * @param delegate repository for users and internships, and the seed for applications
+     * @param file record file
+     * @throws IOException if the file cannot be opened or is not a record file
+     */
+    public FixedWidthApplicationRepository(DataRepository delegate, Path file) throws IOException {
+        this(delegate, file, null);
+    }
+
+    /**
+     * Open (or create) the record file, exporting to a given CSV file.
+     *
+     * @param delegate repository for users and internships, and the seed for applications
+     * @param file record file
+     * @param csvFile file full saves export to, or null for applications.csv among the resources
+     * @throws IOException if the file cannot be opened or is not a record file
+     */
+    FixedWidthApplicationRepository(DataRepository delegate, Path file, Path csvFile) throws IOException {
+        this.delegate = delegate;
+        this.file = file;
+        this.csvFile = csvFile;
+        this.seeded = Files.exists(file);
+        this.exported = !seeded; // A seed comes from the CSV; an existing file may have moved on since
+        this.channel = open(file);
+        indexRecords();
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putShort(VERSION).putShort(RECORD_SIZE).flip();
+            writeFully(channel, header, 0);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getShort() != VERSION || header.getShort() != RECORD_SIZE) {
+                channel.close();
+                throw new IOException("Unrecognised record file: " + file.getFileName());
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Rebuild the ID to record number map. A torn record at the end of the
+     * file, left by a crash during an append, is ignored and overwritten by
+     * the next append.
+     */
+    private void indexRecords() throws IOException {
+        slotsById.clear();
+        deletedCount = 0;
+        recordCount = (int) ((channel.size() - HEADER_SIZE) / RECORD_SIZE);
+        for (int slot = 0; slot < recordCount; slot++) {
+            ByteBuffer record = readRecord(slot);
+            if (record.get(FLAGS_OFFSET) == FLAG_DELETED) {
+                deletedCount++;
+            } else if (validId(record)) { // A corrupt record is reported and skipped by the load
+                slotsById.put(getString(record, ID_OFFSET, ID_WIDTH), slot);
+            }
+        }
+    }
+
+    @Override
+    public List<User> loadUsers() {
+        return delegate.loadUsers();
+    }
+
+    @Override
+    public List<Internship> loadInternships(Function<String, CompanyRepresentative> owners) {
+        return delegate.loadInternships(owners);
+    }
+
+    @Override
+    public synchronized List<Application> loadApplications(Function<String, Student> students, Function<String, Internship> internships) {
+        if (!seeded) {
+            List<Application> applications = delegate.loadApplications(students, internships);
+            try {
+                for (Application app : applications) {
+                    append(app);
+                }
+                channel.force(false);
+                seeded = true;
+            } catch (IOException e) {
+                System.out.println("Error seeding " + file.getFileName() + ": " + e.getMessage());
+            }
+            return applications;
+        }
+
+        List<Application> applications = new ArrayList<>(slotsById.size());
+        try {
+            for (int slot = 0; slot < recordCount; slot++) {
+                ByteBuffer record = readRecord(slot);
+                if (record.get(FLAGS_OFFSET) == FLAG_DELETED) {
+                    continue;
+                }
+                Application app;
+                try {
+                    app = decode(record, students, internships);
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Error: skipping application record " + slot + " of " + file.getFileName() + ": " + e.getMessage());
+                    continue;
+                }
+                if (app != null) {
+                    applications.add(app);
+                }
+            }
+        } catch (IOException e) {
+            // A partial list would be written back over the file by the next full save; use the CSV copy instead
+            System.out.println("Error loading applications from " + file.getFileName() + ", using the CSV copy: " + e.getMessage());
+            return delegate.loadApplications(students, internships);
+        }
+        return applications;
+    }
+
+    /**
+     * @return the application a record holds, or null if its student or internship no longer exists
+     * @throws IllegalArgumentException if the record is corrupt
+     */
+    private Application decode(ByteBuffer record, Function<String, Student> students, Function<String, Internship> internships) {
+        int status = record.get(STATUS_OFFSET);
+        if (status < 0 || status >= statuses.length) {
+            throw new IllegalArgumentException("unknown status " + status);
+        }
+        String id = getString(record, ID_OFFSET, ID_WIDTH);
+        Student student = students.apply(getString(record, STUDENT_OFFSET, STUDENT_WIDTH));
+        Internship internship = internships.apply(getString(record, INTERNSHIP_OFFSET, INTERNSHIP_WIDTH));
+        if (student == null || internship == null) {
+            return null;
+        }
+        Application app = new Application(id, student, internship, statuses[status]);
+        app.setApplicationDay(record.getInt(DATE_OFFSET));
+        return app;
+    }
+
+    @Override
+    public void saveUser(String op, User user) {
+        delegate.saveUser(op, user);
+    }
+
+    @Override
+    public void saveInternship(String op, Internship internship) {
+        delegate.saveInternship(op, internship);
+    }
+
+    /**
+     * Write an application: a one-byte status write if it already has a
+     * record, otherwise an append.
+     */
+    @Override
+    public synchronized void saveApplication(String op, Application application) {
+        try {
+            Integer slot = slotsById.get(application.getApplicationID());
+            if (slot != null) {
+                ByteBuffer status = ByteBuffer.allocate(1).put(0, (byte) application.getStatus().ordinal());
+                writeFully(channel, status, offsetOf(slot) + STATUS_OFFSET);
+            } else {
+                append(application);
+            }
+            exported = false;
+            commitUnlessGrouped();
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error saving application " + application.getApplicationID() + " (" + op + "): " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void deleteInternship(String op, Internship internship) {
+        delegate.deleteInternship(op, internship);
+        try {
+            ByteBuffer deleted = ByteBuffer.allocate(1);
+            for (Application app : internship.getApplications()) {
+                Integer slot = slotsById.remove(app.getApplicationID());
+                if (slot != null) {
+                    deleted.put(0, FLAG_DELETED).rewind();
+                    writeFully(channel, deleted, offsetOf(slot) + FLAGS_OFFSET);
+                    deletedCount++;
+                }
+            }
+            exported = false;
+            commitUnlessGrouped();
+        } catch (IOException e) {
+            System.out.println("Error removing applications of " + internship.getInternshipID() + " (" + op + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Group the writes in the wrapped repository. Application writes go to
+     * the record file as they are made and are forced to disk together when
+     * the outermost group ends.
+     */
+    @Override
+    public void writeGroup(Consumer<DataRepository> writes) {
+        groupDepth.set(groupDepth.get() + 1);
+        try {
+            delegate.writeGroup(target -> writes.accept(this));
+        } finally {
+            groupDepth.set(groupDepth.get() - 1);
+        }
+        if (groupDepth.get() == 0) {
+            commit();
+        }
+    }
+
+    /**
+     * Force application writes to disk, unless the calling thread is inside
+     * a group, which forces them when it ends.
+     */
+    private void commitUnlessGrouped() throws IOException {
+        if (groupDepth.get() == 0) {
+            channel.force(false);
+        }
+    }
+
+    private synchronized void commit() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            System.out.println("Error flushing " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean saveAllUsers(Collection<User> users) {
+        return delegate.saveAllUsers(users);
+    }
+
+    @Override
+    public boolean saveAllInternships(Collection<Internship> internships) {
+        return delegate.saveAllInternships(internships);
+    }
+
+    /**
+     * Rewrite the record file without deleted records and export the
+     * applications to applications.csv. Does nothing if neither the records
+     * nor the applications changed since the last export. If the rewritten
+     * file cannot be moved into place, the old one is reopened, so single
+     * record updates keep working.
+     */
+    @Override
+    public synchronized boolean saveAllApplications(Collection<Application> applications) {
+        boolean changed = !exported || deletedCount > 0 || applications.size() != slotsById.size();
+        for (Application app : applications) {
+            changed |= app.isDirty();
+        }
+        if (!changed) {
+            return true;
+        }
+
+        List<Application> cleared = new ArrayList<>();
+        for (Application app : applications) {
+            if (app.isDirty()) {
+                app.markClean(); // Before it is encoded; a later change marks it again
+                cleared.add(app);
+            }
+        }
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.deleteIfExists(temp);
+            try (FileChannel rewrite = open(temp)) {
+                long position = HEADER_SIZE;
+                for (Application app : applications) {
+                    writeFully(rewrite, encode(app), position);
+                    position += RECORD_SIZE;
+                }
+                rewrite.force(true);
+            }
+            channel.close();
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                channel = open(file); // The new file, or the old one if the move failed, so later writes still work
+            }
+            indexRecords();
+            seeded = true;
+        } catch (IOException | IllegalArgumentException e) {
+            cleared.forEach(Application::markDirty);
+            System.out.println("Error saving " + file.getFileName() + ": " + e.getMessage());
+            return false;
+        }
+
+        if (!exportCsv(applications)) {
+            cleared.forEach(Application::markDirty);
+            return false;
+        }
+        exported = true;
+        return true;
+    }
+
+    /**
+     * Write applications to applications.csv in the usual CSV layout.
+     *
+     * @param applications applications to export, in order
+     * @return true if the file was written
+     */
+    public synchronized boolean exportCsv(Collection<Application> applications) {
+        try {
+            Path target = csvFile != null ? csvFile : ResourceFiles.locate(CsvRows.APPLICATIONS_FILE);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+                writer.writeNext(CsvRows.APPLICATION_HEADER);
+                for (Application app : applications) {
+                    writer.writeNext(CsvRows.application(app));
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error exporting applications: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param id application ID
+     * @return record number of the application, or -1 if it has no live record
+     */
+    public synchronized int slotOf(String id) {
+        Integer slot = slotsById.get(id);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Read the status stored in one record.
+     *
+     * @param slot record number
+     * @return the stored status
+     * @throws IOException if the record cannot be read
+     */
+    public synchronized ApplicationStatus readStatus(int slot) throws IOException {
+        int status = readRecord(slot).get(STATUS_OFFSET);
+        if (status < 0 || status >= statuses.length) {
+            throw new IOException("Unknown status " + status + " in record " + slot);
+        }
+        return statuses[status];
+    }
+
+    @Override
+    public synchronized void checkpoint() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            System.out.println("Error flushing " + file.getFileName() + ": " + e.getMessage());
+        }
+        delegate.checkpoint();
+    }
+
+    @Override
+    public boolean needsCheckpoint() {
+        return delegate.needsCheckpoint();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Error closing " + file.getFileName() + ": " + e.getMessage());
+        }
+        delegate.close();
+    }
+
+    private void append(Application app) throws IOException {
+        writeFully(channel, encode(app), offsetOf(recordCount));
+        slotsById.put(app.getApplicationID(), recordCount);
+        recordCount++;
+    }
+
+    private ByteBuffer encode(Application app) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(STATUS_OFFSET, (byte) app.getStatus().ordinal());
+        putString(record, ID_OFFSET, ID_WIDTH, app.getApplicationID());
+        putString(record, STUDENT_OFFSET, STUDENT_WIDTH, app.getStudent().getUserID());
+        putString(record, INTERNSHIP_OFFSET, INTERNSHIP_WIDTH, app.getInternship().getInternshipID());
+        record.putInt(DATE_OFFSET, app.getApplicationDay());
+        return record;
+    }
+
+    private ByteBuffer readRecord(int slot) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        readFully(channel, record, offsetOf(slot));
+        return record;
+    }
+
+    private static long offsetOf(int slot) {
+        return HEADER_SIZE + (long) slot * RECORD_SIZE;
+    }
+
+    private static void putString(ByteBuffer record, int offset, int width, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > width) {
+            throw new IllegalArgumentException("Value too long for a " + width + "-byte field: " + value);
+        }
+        record.put(offset, (byte) utf8.length);
+        record.put(offset + 1, utf8);
+    }
+
+    private static boolean validId(ByteBuffer record) {
+        return (record.get(ID_OFFSET) & 0xFF) <= ID_WIDTH;
+    }
+
+    private static String getString(ByteBuffer record, int offset, int width) {
+        int length = record.get(offset) & 0xFF;
+        if (length > width) {
+            throw new IllegalArgumentException("field at offset " + offset + " is longer than " + width + " bytes");
+        }
+        byte[] utf8 = new byte[length];
+        record.get(offset + 1, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.rewind();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of record file");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,553 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.enums.*;
+import com.internshipapp.models.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Repository backed by an embedded H2 database in file mode.
+ * <p>
+ * Each user, internship and application is one table row, so a single-row
+ * save is one {@code MERGE} through a prepared statement that is created once
+ * and reused. Full saves run as one transaction of batched merges followed by
+ * batched deletes of rows that are no longer in memory. Columns the managers
+ * and reports filter on (type, status, owner, major, foreign keys) are indexed.
+ * <p>
+ * A new, empty database is seeded from the CSV resources the first time it is
+ * opened. Rows keep the order they were first inserted in, through the
+ * auto-increment {@code seq} column.
+ */
+public class H2Repository implements DataRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String TYPE_STUDENT = "STUDENT";
+    private static final String TYPE_STAFF = "STAFF";
+    private static final String TYPE_COMPANY_REP = "COMPANY_REP";
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS users ("
+            + "seq BIGINT AUTO_INCREMENT, id VARCHAR(64) PRIMARY KEY, type VARCHAR(16) NOT NULL, "
+            + "name VARCHAR(255), password VARCHAR(255), major VARCHAR(255), year_of_study INT, "
+            + "company_name VARCHAR(255), department VARCHAR(255), position VARCHAR(255), approved BOOLEAN)",
+        "CREATE INDEX IF NOT EXISTS idx_users_type ON users(type)",
+        "CREATE TABLE IF NOT EXISTS internships ("
+            + "seq BIGINT AUTO_INCREMENT, id VARCHAR(64) PRIMARY KEY, title VARCHAR(255), description VARCHAR(4096), "
+            + "level VARCHAR(16), prefered_major VARCHAR(255), opening_date DATE, closing_date DATE, "
+            + "status VARCHAR(16), company_name VARCHAR(255), owner_id VARCHAR(64), "
+            + "slots INT, slots_filled INT, visible BOOLEAN)",
+        "CREATE INDEX IF NOT EXISTS idx_internships_status ON internships(status)",
+        "CREATE INDEX IF NOT EXISTS idx_internships_owner ON internships(owner_id)",
+        "CREATE INDEX IF NOT EXISTS idx_internships_major ON internships(prefered_major)",
+        "CREATE TABLE IF NOT EXISTS applications ("
+            + "seq BIGINT AUTO_INCREMENT, id VARCHAR(64) PRIMARY KEY, student_id VARCHAR(64), "
+            + "internship_id VARCHAR(64), status VARCHAR(16), application_date DATE)",
+        "CREATE INDEX IF NOT EXISTS idx_applications_student ON applications(student_id)",
+        "CREATE INDEX IF NOT EXISTS idx_applications_internship ON applications(internship_id)",
+        "CREATE INDEX IF NOT EXISTS idx_applications_status ON applications(status)"
+    };
+
+    private final Connection connection;
+    private final PreparedStatement upsertUser;
+    private final PreparedStatement upsertInternship;
+    private final PreparedStatement upsertApplication;
+    private final PreparedStatement deleteUser;
+    private final PreparedStatement deleteInternship;
+    private final PreparedStatement deleteApplication;
+    private final PreparedStatement deleteApplicationsOfInternship;
+    private int failedInGroup = 0; // Writes that failed inside the current writeGroup()
+
+    /**
+     * Open (or create) the database and prepare the statements used for saves.
+     * An empty database is seeded from the CSV resources.
+     *
+     * @param databaseFile database file path without the ".mv.db" suffix
+     * @throws SQLException if the database cannot be opened or created
+     */
+    public H2Repository(Path databaseFile) throws SQLException {
+        this("jdbc:h2:file:" + databaseFile.toAbsolutePath(), new CsvRepository());
+    }
+
+    /**
+     * Open (or create) a database by JDBC URL, seeding it from another
+     * repository if it is empty.
+     *
+     * @param url H2 JDBC URL
+     * @param seed repository an empty database is filled from
+     * @throws SQLException if the database cannot be opened or created
+     */
+    H2Repository(String url, DataRepository seed) throws SQLException {
+        this.connection = DriverManager.getConnection(url, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        }
+
+        this.upsertUser = connection.prepareStatement(
+                "MERGE INTO users (id, type, name, password, major, year_of_study, company_name, department, position, approved) "
+                        + "KEY(id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        this.upsertInternship = connection.prepareStatement(
+                "MERGE INTO internships (id, title, description, level, prefered_major, opening_date, closing_date, status, "
+                        + "company_name, owner_id, slots, slots_filled, visible) KEY(id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        this.upsertApplication = connection.prepareStatement(
+                "MERGE INTO applications (id, student_id, internship_id, status, application_date) KEY(id) VALUES (?, ?, ?, ?, ?)");
+        this.deleteUser = connection.prepareStatement("DELETE FROM users WHERE id = ?");
+        this.deleteInternship = connection.prepareStatement("DELETE FROM internships WHERE id = ?");
+        this.deleteApplication = connection.prepareStatement("DELETE FROM applications WHERE id = ?");
+        this.deleteApplicationsOfInternship = connection.prepareStatement("DELETE FROM applications WHERE internship_id = ?");
+
+        if (isEmpty()) {
+            seedFrom(seed);
+        }
+    }
+
+    private boolean isEmpty() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            return rs.next() && rs.getLong(1) == 0;
+        }
+    }
+
+    /**
+     * Copy every row of another repository into this one.
+     *
+     * @param source repository to copy from
+     */
+    private void seedFrom(DataRepository source) {
+        System.out.println("Seeding database from CSV files...");
+        List<User> users = source.loadUsers();
+        Map<String, User> usersById = new HashMap<>();
+        for (User user : users) {
+            usersById.putIfAbsent(user.getUserID(), user);
+        }
+        List<Internship> internships = source.loadInternships(id -> {
+            User user = usersById.get(id);
+            return user instanceof CompanyRepresentative ? (CompanyRepresentative) user : null;
+        });
+        Map<String, Internship> internshipsById = new HashMap<>();
+        for (Internship internship : internships) {
+            internshipsById.put(internship.getInternshipID(), internship);
+        }
+        List<Application> applications = source.loadApplications(id -> {
+            User user = usersById.get(id);
+            return user instanceof Student ? (Student) user : null;
+        }, internshipsById::get);
+
+        saveAllUsers(users);
+        saveAllInternships(internships);
+        saveAllApplications(applications);
+    }
+
+    @Override
+    public synchronized List<User> loadUsers() {
+        List<User> users = new ArrayList<>();
+        // Same order as the CSV backend: students, then staff, then representatives
+        String query = "SELECT * FROM users ORDER BY CASE type WHEN '" + TYPE_STUDENT + "' THEN 0 WHEN '" + TYPE_STAFF
+                + "' THEN 1 ELSE 2 END, seq";
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(query)) {
+            while (rs.next()) {
+                String id = rs.getString("id");
+                String name = rs.getString("name");
+                String password = rs.getString("password");
+                switch (rs.getString("type")) {
+                    case TYPE_STUDENT:
+                        users.add(new Student(id, name, password, rs.getInt("year_of_study"), rs.getString("major")));
+                        break;
+                    case TYPE_STAFF:
+                        users.add(new CareerCenterStaff(id, name, password, rs.getString("department")));
+                        break;
+                    case TYPE_COMPANY_REP:
+                        CompanyRepresentative rep = new CompanyRepresentative(id, name, password, rs.getString("company_name"),
+                                rs.getString("department"), rs.getString("position"));
+                        rep.setApproved(rs.getBoolean("approved"));
+                        users.add(rep);
+                        break;
+                    default:
+                        System.out.println("Skipping user " + id + " with unknown type " + rs.getString("type"));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Error loading users: " + e.getMessage());
+        }
+        return users;
+    }
+
+    @Override
+    public synchronized List<Internship> loadInternships(Function<String, CompanyRepresentative> owners) {
+        List<Internship> internships = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM internships ORDER BY seq")) {
+            while (rs.next()) {
+                CompanyRepresentative owner = owners.apply(rs.getString("owner_id"));
+                if (owner == null) {
+                    continue;
+                }
+                internships.add(new Internship(
+                        rs.getString("id"), rs.getString("title"), rs.getString("description"),
+                        InternshipLevel.valueOf(rs.getString("level")), rs.getString("prefered_major"),
+                        epochDay(rs, "opening_date"), epochDay(rs, "closing_date"),
+                        InternshipStatus.valueOf(rs.getString("status")), rs.getString("company_name"), owner,
+                        rs.getInt("slots"), rs.getInt("slots_filled"), rs.getBoolean("visible")));
+            }
+        } catch (SQLException e) {
+            System.out.println("Error loading internships: " + e.getMessage());
+        }
+        return internships;
+    }
+
+    @Override
+    public synchronized List<Application> loadApplications(Function<String, Student> students, Function<String, Internship> internships) {
+        List<Application> applications = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM applications ORDER BY seq")) {
+            while (rs.next()) {
+                Student student = students.apply(rs.getString("student_id"));
+                Internship internship = internships.apply(rs.getString("internship_id"));
+                if (student == null || internship == null) {
+                    continue;
+                }
+                Application app = new Application(rs.getString("id"), student, internship,
+                        ApplicationStatus.valueOf(rs.getString("status")));
+                app.setApplicationDay(epochDay(rs, "application_date")); // Set persistent date
+                applications.add(app);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error loading applications: " + e.getMessage());
+        }
+        return applications;
+    }
+
+    @Override
+    public synchronized void saveUser(String op, User user) {
+        try {
+            bindUser(user);
+            upsertUser.executeUpdate();
+        } catch (SQLException e) {
+            failed();
+            System.out.println("Error saving user " + user.getUserID() + " (" + op + "): " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void saveInternship(String op, Internship internship) {
+        try {
+            bindInternship(internship);
+            upsertInternship.executeUpdate();
+        } catch (SQLException e) {
+            failed();
+            System.out.println("Error saving internship " + internship.getInternshipID() + " (" + op + "): " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void saveApplication(String op, Application application) {
+        try {
+            bindApplication(application);
+            upsertApplication.executeUpdate();
+        } catch (SQLException e) {
+            failed();
+            System.out.println("Error saving application " + application.getApplicationID() + " (" + op + "): " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void deleteInternship(String op, Internship internship) {
+        boolean ownTransaction = false;
+        try {
+            ownTransaction = connection.getAutoCommit(); // Inside writeGroup() the group's transaction covers it
+            connection.setAutoCommit(false);
+            deleteApplicationsOfInternship.setString(1, internship.getInternshipID());
+            deleteApplicationsOfInternship.executeUpdate();
+            deleteInternship.setString(1, internship.getInternshipID());
+            deleteInternship.executeUpdate();
+            if (ownTransaction) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            if (ownTransaction) {
+                rollback();
+            } else {
+                failed();
+            }
+            System.out.println("Error removing internship " + internship.getInternshipID() + " (" + op + "): " + e.getMessage());
+        } finally {
+            if (ownTransaction) {
+                restoreAutoCommit();
+            }
+        }
+    }
+
+    /**
+     * Make the writes in one transaction. If any of them fails, each failure
+     * is reported and the whole group is rolled back, so the group is stored
+     * completely or not at all; the rows stay dirty in memory and are written
+     * by the next full save.
+     */
+    @Override
+    public synchronized void writeGroup(Consumer<DataRepository> writes) {
+        try {
+            if (!connection.getAutoCommit()) {
+                writes.accept(this); // Already inside a group
+                return;
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            System.out.println("Error starting transaction: " + e.getMessage());
+            writes.accept(this);
+            return;
+        }
+        failedInGroup = 0;
+        try {
+            writes.accept(this);
+            if (failedInGroup > 0) {
+                rollback();
+                System.out.println("Error saving changes: " + failedInGroup + " write(s) failed, so none of the group was saved");
+            } else {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            rollback();
+            System.out.println("Error saving changes: " + e.getMessage());
+        } finally {
+            failedInGroup = 0;
+            restoreAutoCommit();
+        }
+    }
+
+    /**
+     * Record that a write failed; inside a group this rolls the group back.
+     */
+    private void failed() {
+        failedInGroup++;
+    }
+
+    @Override
+    public synchronized boolean saveAllUsers(Collection<User> users) {
+        return saveAll("users", users, User::getUserID, User::isDirty, User::markClean, User::markDirty, upsertUser, this::bindUser, deleteUser);
+    }
+
+    @Override
+    public synchronized boolean saveAllInternships(Collection<Internship> internships) {
+        return saveAll("internships", internships, Internship::getInternshipID, Internship::isDirty, Internship::markClean, Internship::markDirty,
+                upsertInternship, this::bindInternship, deleteInternship);
+    }
+
+    @Override
+    public synchronized boolean saveAllApplications(Collection<Application> applications) {
+        return saveAll("applications", applications, Application::getApplicationID, Application::isDirty, Application::markClean, Application::markDirty,
+                upsertApplication, this::bindApplication, deleteApplication);
+    }
+
+    /**
+     * Make a table match a collection in one transaction: merge the items
+     * with unsaved changes in batches, then delete the rows whose IDs are no
+     * longer present. Clean items were already written by single-row saves
+     * or an earlier full save. An item's dirty flag is cleared just before
+     * its values are bound, so a change made meanwhile is either in the
+     * batch or left for the next save; a rollback sets the flags again.
+     * Inside {@link #writeGroup} the group's transaction covers it.
+     *
+     * @param table table name
+     * @param items all items that should be stored
+     * @param idOf returns an item's ID
+     * @param isDirty reports whether an item has unsaved changes
+     * @param markClean records that an item was saved
+     * @param markDirty records that an item still needs saving
+     * @param upsert merge statement for the table
+     * @param bind binds an item's values to the merge statement
+     * @param delete delete-by-ID statement for the table
+     * @param <T> stored type
+     * @return true if the transaction committed
+     */
+    private <T> boolean saveAll(String table, Collection<T> items, Function<T, String> idOf, Predicate<T> isDirty,
+                                Consumer<T> markClean, Consumer<T> markDirty, PreparedStatement upsert, Binder<T> bind,
+                                PreparedStatement delete) {
+        List<T> cleared = new ArrayList<>();
+        boolean ownTransaction = false;
+        try {
+            ownTransaction = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            Set<String> kept = new HashSet<>();
+            int pending = 0;
+            for (T item : items) {
+                kept.add(idOf.apply(item));
+                if (!isDirty.test(item)) {
+                    continue;
+                }
+                markClean.accept(item);
+                cleared.add(item);
+                bind.bind(item);
+                upsert.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    upsert.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                upsert.executeBatch();
+            }
+
+            pending = 0;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT id FROM " + table)) {
+                while (rs.next()) {
+                    String id = rs.getString(1);
+                    if (!kept.contains(id)) {
+                        delete.setString(1, id);
+                        delete.addBatch();
+                        pending++;
+                    }
+                }
+            }
+            if (pending > 0) {
+                delete.executeBatch();
+            }
+            if (ownTransaction) {
+                connection.commit();
+            }
+            return true;
+        } catch (SQLException e) {
+            if (ownTransaction) {
+                rollback();
+            } else {
+                failed();
+            }
+            cleared.forEach(markDirty);
+            System.out.println("Error saving " + table + ": " + e.getMessage());
+            return false;
+        } finally {
+            if (ownTransaction) {
+                restoreAutoCommit();
+            }
+        }
+    }
+
+    private void bindUser(User user) throws SQLException {
+        upsertUser.setString(1, user.getUserID());
+        upsertUser.setString(3, user.getName());
+        upsertUser.setString(4, user.getPassword());
+        upsertUser.setNull(5, Types.VARCHAR);
+        upsertUser.setNull(6, Types.INTEGER);
+        upsertUser.setNull(7, Types.VARCHAR);
+        upsertUser.setNull(8, Types.VARCHAR);
+        upsertUser.setNull(9, Types.VARCHAR);
+        upsertUser.setNull(10, Types.BOOLEAN);
+        if (user instanceof Student) {
+            Student s = (Student) user;
+            upsertUser.setString(2, TYPE_STUDENT);
+            upsertUser.setString(5, s.getMajor());
+            upsertUser.setInt(6, s.getYearOfStudy());
+        } else if (user instanceof CompanyRepresentative) {
+            CompanyRepresentative r = (CompanyRepresentative) user;
+            upsertUser.setString(2, TYPE_COMPANY_REP);
+            upsertUser.setString(7, r.getCompanyName());
+            upsertUser.setString(8, r.getDepartment());
+            upsertUser.setString(9, r.getPosition());
+            upsertUser.setBoolean(10, r.isApproved());
+        } else {
+            upsertUser.setString(2, TYPE_STAFF);
+            upsertUser.setString(8, "CCDS"); // Staff always belong to CCDS, as in staff.csv
+        }
+    }
+
+    private void bindInternship(Internship i) throws SQLException {
+        upsertInternship.setString(1, i.getInternshipID());
+        upsertInternship.setString(2, i.getTitle());
+        upsertInternship.setString(3, i.getDescription());
+        upsertInternship.setString(4, i.getLevel().name());
+        upsertInternship.setString(5, i.getPreferedMajor());
+        upsertInternship.setObject(6, EpochDays.toLocalDate(i.getOpeningDay()));
+        upsertInternship.setObject(7, EpochDays.toLocalDate(i.getClosingDay()));
+        upsertInternship.setString(8, i.getStatus().name());
+        upsertInternship.setString(9, i.getCompanyName());
+        upsertInternship.setString(10, i.getOwner().getUserID());
+        upsertInternship.setInt(11, i.getSlots());
+        upsertInternship.setInt(12, i.getSlotsFilled());
+        upsertInternship.setBoolean(13, i.isVisible());
+    }
+
+    private void bindApplication(Application app) throws SQLException {
+        upsertApplication.setString(1, app.getApplicationID());
+        upsertApplication.setString(2, app.getStudent().getUserID());
+        upsertApplication.setString(3, app.getInternship().getInternshipID());
+        upsertApplication.setString(4, app.getStatus().name());
+        upsertApplication.setObject(5, EpochDays.toLocalDate(app.getApplicationDay()));
+    }
+
+    private static int epochDay(ResultSet rs, String column) throws SQLException {
+        return (int) rs.getObject(column, LocalDate.class).toEpochDay();
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.out.println("Error rolling back: " + e.getMessage());
+        }
+    }
+
+    private void restoreAutoCommit() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.out.println("Error restoring auto-commit: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Every change is already a committed row, so a checkpoint only asks H2
+     * to flush its own log.
+     */
+    @Override
+    public synchronized void checkpoint() {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CHECKPOINT");
+        } catch (SQLException e) {
+            System.out.println("Error checkpointing database: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean needsCheckpoint() {
+        return false;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close(); // Also closes the prepared statements
+        } catch (SQLException e) {
+            System.out.println("Error closing database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Binds one item's values to a prepared statement.
+     *
+     * @param <T> bound type
+     */
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(T item) throws SQLException;
+    }
+}
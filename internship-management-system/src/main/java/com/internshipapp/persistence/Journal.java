@@ -0,0 +1,322 @@
+package com.internshipapp.persistence;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.CSVWriter;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of row changes made since the last CSV
+ * snapshot.
+ * <p>
+ * Every mutation in the managers appends the after-image of each row it
+ * touched (or a delete marker), tagged with the operation that caused it.
+ * Entries are buffered and written and fsync'd in groups: when
+ * {@code groupSize} entries are pending, or at most {@code maxDelayMillis}
+ * after the first pending entry. Entries recorded inside {@link #group(Runnable)}
+ * are never split across writes. On startup the loaders pass the snapshot
+ * rows through {@link #replay(String, List)}, which applies the journalled
+ * changes for that file in order. Compaction rewrites the CSV snapshot and
+ * then calls {@link #truncate()}; because entries are full row images,
+ * replaying a journal over a snapshot that already contains them is harmless.
+ * <p>
+ * Each line is {@code crc, op, file, id, kind, fields...}. A line whose CRC
+ * does not match, such as a torn write at the end of the file after a crash,
+ * ends the replay, and the file is cut back to the end of the last good line
+ * before new entries are appended, so they are not glued onto the torn tail.
+ */
+public class Journal implements AutoCloseable {
+    private static final String UPSERT = "U";
+    private static final String DELETE = "D";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int groupSize;
+    private final int compactionThreshold;
+    private final ScheduledExecutorService flusher;
+
+    private final List<String[]> recovered = new ArrayList<>();
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingCount = 0;
+    private int groupDepth = 0; // Nesting of group() calls; no flush while inside one
+    private int entriesSinceCompaction = 0;
+
+    /**
+     * Open (or create) a journal file and read any entries left from a
+     * previous run.
+     *
+     * @param file journal file
+     * @param groupSize number of pending entries that triggers a write and fsync
+     * @param maxDelayMillis longest time an entry may wait before it is written
+     * @param compactionThreshold number of entries after which {@link #needsCompaction()} reports true
+     * @throws IOException if the file cannot be read or opened
+     */
+    public Journal(Path file, int groupSize, long maxDelayMillis, int compactionThreshold) throws IOException {
+        this.file = file;
+        this.groupSize = groupSize;
+        this.compactionThreshold = compactionThreshold;
+        long validLength = readExisting();
+        this.entriesSinceCompaction = recovered.size();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() > validLength) {
+            System.out.println("Discarding " + (channel.size() - validLength) + " byte(s) of torn journal tail");
+            channel.truncate(validLength);
+            channel.force(true);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, maxDelayMillis, maxDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record the new contents of a row.
+     *
+     * @param op name of the operation that changed the row (e.g. "acceptPlacement")
+     * @param fileName CSV file the row belongs to
+     * @param row full row contents; column 0 is the row's ID
+     */
+    public synchronized void recordUpsert(String op, String fileName, String[] row) {
+        append(op, fileName, row[0], UPSERT, row);
+    }
+
+    /**
+     * Record that a row was removed.
+     *
+     * @param op name of the operation that removed the row
+     * @param fileName CSV file the row belongs to
+     * @param id ID of the removed row
+     */
+    public synchronized void recordDelete(String op, String fileName, String id) {
+        append(op, fileName, id, DELETE, new String[0]);
+    }
+
+    /**
+     * Record several entries as one group: they are written and fsync'd
+     * together, after the last of them, and no flush in between separates
+     * them. Other threads cannot record entries meanwhile.
+     *
+     * @param entries records the entries, on the calling thread
+     */
+    public synchronized void group(Runnable entries) {
+        groupDepth++;
+        try {
+            entries.run();
+        } finally {
+            groupDepth--;
+        }
+        if (groupDepth == 0) {
+            flushQuietly();
+        }
+    }
+
+    private void append(String op, String fileName, String id, String kind, String[] fields) {
+        String[] body = new String[4 + fields.length];
+        body[0] = op;
+        body[1] = fileName;
+        body[2] = id;
+        body[3] = kind;
+        System.arraycopy(fields, 0, body, 4, fields.length);
+
+        String[] line = new String[body.length + 1];
+        line[0] = Long.toHexString(checksum(body));
+        System.arraycopy(body, 0, line, 1, body.length);
+
+        StringWriter out = new StringWriter();
+        try (CSVWriter writer = new CSVWriter(out)) {
+            writer.writeNext(line);
+        } catch (IOException e) {
+            // StringWriter does not throw
+        }
+        pending.append(out);
+        pendingCount++;
+        entriesSinceCompaction++;
+        if (pendingCount >= groupSize && groupDepth == 0) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Check whether any recovered entries belong to a CSV file.
+     *
+     * @param fileName CSV file name
+     * @return true if replaying would change that file's rows
+     */
+    public synchronized boolean hasEntries(String fileName) {
+        for (String[] entry : recovered) {
+            if (entry[2].equals(fileName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Apply the journalled changes for one CSV file to its snapshot rows.
+     *
+     * @param fileName CSV file the rows were read from
+     * @param rows snapshot rows in file order (column 0 is the ID)
+     * @return rows with upserts applied in place or appended, and deletes removed
+     */
+    public synchronized List<String[]> replay(String fileName, List<String[]> rows) {
+        if (!hasEntries(fileName)) {
+            return rows;
+        }
+
+        Map<String, String[]> byId = new LinkedHashMap<>();
+        for (String[] row : rows) {
+            byId.put(row[0], row);
+        }
+        for (String[] entry : recovered) {
+            if (!entry[2].equals(fileName)) {
+                continue;
+            }
+            if (DELETE.equals(entry[4])) {
+                byId.remove(entry[3]);
+            } else {
+                byId.put(entry[3], Arrays.copyOfRange(entry, 5, entry.length));
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Write and fsync all pending entries.
+     *
+     * @throws IOException if the write fails
+     */
+    public synchronized void flush() throws IOException {
+        if (pendingCount == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        pending.setLength(0);
+        pendingCount = 0;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.out.println("Error writing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return true once enough entries have accumulated that the snapshot should be rewritten
+     */
+    public synchronized boolean needsCompaction() {
+        return entriesSinceCompaction >= compactionThreshold;
+    }
+
+    /**
+     * Discard all entries. Call only after the CSV snapshot has been rewritten
+     * successfully.
+     *
+     * @throws IOException if the file cannot be truncated
+     */
+    public synchronized void truncate() throws IOException {
+        pending.setLength(0);
+        pendingCount = 0;
+        recovered.clear();
+        channel.truncate(0);
+        channel.force(true);
+        entriesSinceCompaction = 0;
+    }
+
+    /**
+     * Flush pending entries and release the file.
+     *
+     * @throws IOException if the final flush fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        flusher.shutdownNow();
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Read the entries left from a previous run, stopping at the first torn
+     * or corrupted line.
+     *
+     * @return length in bytes of the file up to the end of the last good line
+     */
+    private long readExisting() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        List<Long> linesAfter = new ArrayList<>(); // Physical lines read up to the end of each good entry
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVReader reader = new CSVReaderBuilder(in).withCSVParser(new RFC4180ParserBuilder().build()).build()) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                if (line.length < 5) {
+                    break;
+                }
+                String[] body = Arrays.copyOfRange(line, 1, line.length);
+                if (!Long.toHexString(checksum(body)).equals(line[0])) {
+                    break; // Torn or corrupted tail: ignore the rest
+                }
+                recovered.add(line);
+                linesAfter.add(reader.getLinesRead());
+            }
+        } catch (CsvValidationException e) {
+            // An unterminated quoted field at the tail; keep what was recovered
+        }
+
+        // Find where the last good line ends; one missing its newline was torn too
+        byte[] bytes = Files.readAllBytes(file);
+        long length = 0;
+        long newlines = 0;
+        int good = 0;
+        for (int i = 0; i < bytes.length && good < linesAfter.size(); i++) {
+            if (bytes[i] == '\n' && ++newlines == linesAfter.get(good)) {
+                length = i + 1;
+                good++;
+            }
+        }
+        recovered.subList(good, recovered.size()).clear();
+        return length;
+    }
+
+    private static long checksum(String[] fields) {
+        CRC32 crc = new CRC32();
+        for (String field : fields) {
+            // CSVWriter writes null as an empty field, so checksum it the same way
+            crc.update((field == null ? "" : field).getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,49 @@
+package com.internshipapp.persistence;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Locates the data files that live beside the CSV resources on the classpath.
+ */
+public final class ResourceFiles {
+    private ResourceFiles() {
+    }
+
+    /**
+     * Resolve a classpath resource to a file on disk.
+     *
+     * @param resourceName resource name, e.g. "internships.csv"
+     * @return path of the resource
+     * @throws IOException if the resource is missing or not a plain file
+     */
+    public static Path locate(String resourceName) throws IOException {
+        URL resource = ResourceFiles.class.getClassLoader().getResource(resourceName);
+        if (resource == null) {
+            throw new IOException("Cannot find resource file: " + resourceName);
+        }
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException | IllegalArgumentException | java.nio.file.FileSystemNotFoundException e) {
+            throw new IOException("Resource is not a file: " + resourceName, e);
+        }
+    }
+
+    /**
+     * Path of the binary snapshot kept beside a CSV resource, e.g.
+     * "internships.bin" beside "internships.csv".
+     *
+     * @param csvResourceName CSV resource name
+     * @return snapshot path (the file may not exist)
+     * @throws IOException if the CSV resource cannot be located
+     */
+    public static Path snapshotFor(String csvResourceName) throws IOException {
+        String baseName = csvResourceName.endsWith(".csv")
+                ? csvResourceName.substring(0, csvResourceName.length() - 4)
+                : csvResourceName;
+        return locate(csvResourceName).resolveSibling(baseName + ".bin");
+    }
+}
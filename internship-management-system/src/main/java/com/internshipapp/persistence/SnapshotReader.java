@@ -0,0 +1,159 @@
+package com.internshipapp.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a binary snapshot written by {@link SnapshotWriter}. The file is
+ * memory-mapped and its checksum verified; the string dictionary is decoded
+ * once up front and rows are then read sequentially with the typed
+ * accessors, in the same order the values were written.
+ */
+public class SnapshotReader {
+    private final MappedByteBuffer buffer;
+    private final String[] dictionary;
+    private final int rowCount;
+
+    private SnapshotReader(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < SnapshotWriter.HEADER_SIZE || buffer.getInt() != SnapshotWriter.MAGIC
+                || buffer.getShort() != SnapshotWriter.VERSION) {
+            throw new IOException("Unrecognised snapshot format");
+        }
+        buffer.getLong(); // Source size and checksum, checked by isFresh()
+        buffer.getLong();
+        long expected = buffer.getLong();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != expected) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        int size = buffer.getInt();
+        this.dictionary = new String[size];
+        for (int i = 0; i < size; i++) {
+            int length = buffer.getInt();
+            byte[] utf8 = new byte[length];
+            buffer.get(utf8);
+            dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        this.rowCount = buffer.getInt();
+    }
+
+    /**
+     * Map a snapshot file and read its header and dictionary.
+     *
+     * @param file snapshot file
+     * @return reader positioned at the first row
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     */
+    public static SnapshotReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new SnapshotReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Find a snapshot of a CSV resource that can be loaded instead of the CSV:
+     * it must exist, have been made from the CSV as it is now, and the journal
+     * must hold no changes for that file.
+     *
+     * @param csvResourceName CSV resource name
+     * @param journal journal to check, may be null
+     * @return snapshot path, or null if the CSV should be loaded instead
+     */
+    public static Path findFresh(String csvResourceName, Journal journal) {
+        if (journal != null && journal.hasEntries(csvResourceName)) {
+            return null;
+        }
+        try {
+            Path csv = ResourceFiles.locate(csvResourceName);
+            Path snapshot = ResourceFiles.snapshotFor(csvResourceName);
+            return isFresh(snapshot, csv) ? snapshot : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check that a snapshot was made from a CSV file as it is now. The size
+     * and checksum are compared rather than modification times, which may be
+     * too coarse to tell an edit apart from the save that wrote the snapshot.
+     *
+     * @param snapshot snapshot file
+     * @param csv CSV file
+     * @return true if the snapshot exists and records the CSV's current size and checksum
+     * @throws IOException if either file cannot be read
+     */
+    static boolean isFresh(Path snapshot, Path csv) throws IOException {
+        if (!Files.exists(snapshot)) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(SnapshotWriter.HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+        }
+        header.flip();
+        if (header.remaining() < SnapshotWriter.HEADER_SIZE || header.getInt() != SnapshotWriter.MAGIC
+                || header.getShort() != SnapshotWriter.VERSION) {
+            return false;
+        }
+        return header.getLong() == Files.size(csv) && header.getLong() == SnapshotWriter.checksum(csv);
+    }
+
+    /**
+     * @return number of rows in the snapshot
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the next string value, or null
+     */
+    public String string() {
+        int index = buffer.getInt();
+        return index == SnapshotWriter.NULL_STRING ? null : dictionary[index];
+    }
+
+    /**
+     * @return the next int value
+     */
+    public int integer() {
+        return buffer.getInt();
+    }
+
+    /**
+     * Read the next enum value.
+     *
+     * @param values the enum's {@code values()} array
+     * @param <E> enum type
+     * @return the next enum value
+     */
+    public <E extends Enum<E>> E enumValue(E[] values) {
+        return values[buffer.get()];
+    }
+
+    /**
+     * @return the next boolean value
+     */
+    public boolean bool() {
+        return buffer.get() != 0;
+    }
+
+    /**
+     * @return the next date value, as an epoch day
+     */
+    public int epochDay() {
+        return buffer.getInt();
+    }
+}
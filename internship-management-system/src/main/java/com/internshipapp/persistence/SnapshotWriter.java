@@ -0,0 +1,185 @@
+package com.internshipapp.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Builds a binary snapshot of one CSV file, to be read back with
+ * {@link SnapshotReader}.
+ * <p>
+ * Layout (big-endian): magic, format version, the size and CRC-32 of the
+ * CSV file the snapshot was made from, the CRC-32 of the rest of the file,
+ * then the string dictionary (count, then length-prefixed UTF-8 entries),
+ * the row count, and then the rows. Row values are written in a fixed order chosen by the caller:
+ * strings as dictionary indexes, dates as epoch days, enums as ordinals.
+ * Repeated values such as majors, company names and IDs used as foreign keys
+ * are stored once.
+ */
+public class SnapshotWriter {
+    static final int MAGIC = 0x494D5353; // "IMSS"
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + 3 * Long.BYTES;
+    static final int NULL_STRING = -1;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> entries = new ArrayList<>();
+    private ByteBuffer rows = ByteBuffer.allocate(4096);
+    private int rowCount = 0;
+
+    /**
+     * Append a string value to the current row.
+     *
+     * @param value value, may be null
+     * @return this writer
+     */
+    public SnapshotWriter string(String value) {
+        if (value == null) {
+            return integer(NULL_STRING);
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            index = entries.size();
+            dictionary.put(value, index);
+            entries.add(value);
+        }
+        return integer(index);
+    }
+
+    /**
+     * Append an int value to the current row.
+     *
+     * @param value value
+     * @return this writer
+     */
+    public SnapshotWriter integer(int value) {
+        ensureCapacity(Integer.BYTES);
+        rows.putInt(value);
+        return this;
+    }
+
+    /**
+     * Append an enum value to the current row as its ordinal.
+     *
+     * @param value value, must not be null
+     * @return this writer
+     */
+    public SnapshotWriter enumValue(Enum<?> value) {
+        ensureCapacity(1);
+        rows.put((byte) value.ordinal());
+        return this;
+    }
+
+    /**
+     * Append a boolean value to the current row.
+     *
+     * @param value value
+     * @return this writer
+     */
+    public SnapshotWriter bool(boolean value) {
+        ensureCapacity(1);
+        rows.put((byte) (value ? 1 : 0));
+        return this;
+    }
+
+    /**
+     * Append a date, stored as an epoch day, to the current row.
+     *
+     * @param epochDay value
+     * @return this writer
+     */
+    public SnapshotWriter epochDay(int epochDay) {
+        return integer(epochDay);
+    }
+
+    /**
+     * Finish the current row.
+     */
+    public void endRow() {
+        rowCount++;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (rows.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(rows.capacity() * 2, rows.position() + bytes));
+            rows.flip();
+            larger.put(rows);
+            rows = larger;
+        }
+    }
+
+    /**
+     * Write the snapshot to a temporary file and move it over the target, so
+     * readers never see a partially written snapshot.
+     *
+     * @param target snapshot file
+     * @param source CSV file the snapshot was made from, as written
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Path target, Path source) throws IOException {
+        ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+        DataOutputStream dictionaryOut = new DataOutputStream(dictionaryBytes);
+        dictionaryOut.writeInt(entries.size());
+        for (String entry : entries) {
+            byte[] utf8 = entry.getBytes(StandardCharsets.UTF_8);
+            dictionaryOut.writeInt(utf8.length);
+            dictionaryOut.write(utf8);
+        }
+        dictionaryOut.writeInt(rowCount);
+        dictionaryOut.flush();
+        ByteBuffer body = ByteBuffer.wrap(dictionaryBytes.toByteArray());
+        ByteBuffer rowBytes = ByteBuffer.wrap(rows.array(), 0, rows.position());
+        CRC32 bodyCrc = new CRC32();
+        bodyCrc.update(body.duplicate());
+        bodyCrc.update(rowBytes.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putLong(Files.size(source)).putLong(checksum(source)).putLong(bodyCrc.getValue()).flip();
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            writeFully(channel, body);
+            writeFully(channel, rowBytes);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param file file to checksum
+     * @return CRC-32 of the file's contents
+     * @throws IOException if the file cannot be read
+     */
+    static long checksum(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
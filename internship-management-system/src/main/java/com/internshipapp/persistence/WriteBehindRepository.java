@@ -0,0 +1,332 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.models.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Repository decorator that moves single-row saves off the calling thread.
+ * <p>
+ * {@code save}/{@code delete} calls only mark the entity dirty. Marks are
+ * coalesced per entity, so an internship changed five times before the next
+ * flush is written once, with its latest state. A background writer hands the
+ * dirty entities to the wrapped repository every {@code flushIntervalMillis},
+ * or sooner once {@code flushThreshold} entities are dirty.
+ * <p>
+ * The number of dirty and in-flight entities is bounded by {@code capacity}.
+ * When the wrapped repository falls that far behind, marking a new entity
+ * blocks until the writer has caught up; re-marking an entity that is
+ * already dirty never blocks. Each flush reaches the wrapped repository as
+ * one {@link DataRepository#writeGroup group}. Full saves, groups and
+ * {@link #close()} first drain every pending write, in order;
+ * {@link #checkpoint()}, and full saves inside {@link #runExclusive}, leave
+ * pending writes for after the checkpoint.
+ */
+public class WriteBehindRepository implements DataRepository {
+    private final DataRepository delegate;
+    private final long flushIntervalNanos;
+    private final int flushThreshold;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushRequested = lock.newCondition();
+    private final Map<String, PendingWrite> dirty = new LinkedHashMap<>(); // Keyed on entity kind and ID
+    private int inFlight = 0;
+    private volatile boolean closed = false;
+
+    private final Object writeLock = new Object(); // Held while writes reach the delegate, so batches never overlap
+    private boolean exclusive = false; // Inside runExclusive(); guarded by writeLock
+    private final Thread writer;
+
+    /**
+     * Wrap a repository and start the background writer.
+     *
+     * @param delegate repository that performs the writes
+     * @param flushIntervalMillis longest time a change waits before it is written
+     * @param flushThreshold number of dirty entities that triggers an early flush
+     * @param capacity number of dirty and in-flight entities at which marking blocks
+     */
+    public WriteBehindRepository(DataRepository delegate, long flushIntervalMillis, int flushThreshold, int capacity) {
+        this.delegate = delegate;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.flushThreshold = flushThreshold;
+        this.capacity = capacity;
+
+        this.writer = new Thread(this::runWriter, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public List<User> loadUsers() {
+        return delegate.loadUsers();
+    }
+
+    @Override
+    public List<Internship> loadInternships(Function<String, CompanyRepresentative> owners) {
+        return delegate.loadInternships(owners);
+    }
+
+    @Override
+    public List<Application> loadApplications(Function<String, Student> students, Function<String, Internship> internships) {
+        return delegate.loadApplications(students, internships);
+    }
+
+    @Override
+    public void saveUser(String op, User user) {
+        mark("U:" + user.getUserID(), target -> target.saveUser(op, user));
+    }
+
+    @Override
+    public void saveInternship(String op, Internship internship) {
+        mark("I:" + internship.getInternshipID(), target -> target.saveInternship(op, internship));
+    }
+
+    @Override
+    public void saveApplication(String op, Application application) {
+        mark("A:" + application.getApplicationID(), target -> target.saveApplication(op, application));
+    }
+
+    @Override
+    public void deleteInternship(String op, Internship internship) {
+        lock.lock();
+        try {
+            // The delete also removes the applications, so their pending saves are moot
+            for (Application app : internship.getApplications()) {
+                dirty.remove("A:" + app.getApplicationID());
+            }
+        } finally {
+            lock.unlock();
+        }
+        mark("I:" + internship.getInternshipID(), target -> target.deleteInternship(op, internship));
+    }
+
+    /**
+     * Write a group straight through to the wrapped repository, as one group
+     * there, instead of marking its entities. The caller waits until it is
+     * written, so a batch is stored as a unit rather than spread over
+     * several flushes.
+     */
+    @Override
+    public void writeGroup(Consumer<DataRepository> writes) {
+        synchronized (writeLock) {
+            writePending();
+            delegate.writeGroup(writes);
+        }
+    }
+
+    @Override
+    public boolean saveAllUsers(Collection<User> users) {
+        synchronized (writeLock) {
+            drainUnlessExclusive();
+            return delegate.saveAllUsers(users);
+        }
+    }
+
+    @Override
+    public boolean saveAllInternships(Collection<Internship> internships) {
+        synchronized (writeLock) {
+            drainUnlessExclusive();
+            return delegate.saveAllInternships(internships);
+        }
+    }
+
+    @Override
+    public boolean saveAllApplications(Collection<Application> applications) {
+        synchronized (writeLock) {
+            drainUnlessExclusive();
+            return delegate.saveAllApplications(applications);
+        }
+    }
+
+    /**
+     * Checkpoint the wrapped repository without draining first. The full
+     * saves before a checkpoint have already captured every change marked
+     * before them; a change marked since must reach a journal after the
+     * checkpoint, or the truncation would drop it.
+     */
+    @Override
+    public void checkpoint() {
+        synchronized (writeLock) {
+            delegate.checkpoint();
+        }
+    }
+
+    /**
+     * Run a sequence of full saves and a checkpoint as one unit. Pending
+     * writes are drained first. Until the action returns the background
+     * writer is held off and the full saves do not drain, so a change made
+     * meanwhile cannot reach the wrapped repository between a full save and
+     * the checkpoint that follows it (where, for a journal, it would be
+     * truncated away); it is written afterwards.
+     *
+     * @param action the saves and checkpoint to run
+     */
+    public void runExclusive(Runnable action) {
+        synchronized (writeLock) {
+            writePending();
+            exclusive = true;
+            try {
+                action.run();
+            } finally {
+                exclusive = false;
+            }
+        }
+    }
+
+    @Override
+    public boolean needsCheckpoint() {
+        return delegate.needsCheckpoint();
+    }
+
+    /**
+     * Stop the background writer, write everything still pending and close
+     * the wrapped repository.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            flushRequested.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            writePending();
+        }
+        delegate.close();
+    }
+
+    /**
+     * Record that an entity needs writing, replacing any pending write for it.
+     * Blocks while the writer is {@code capacity} entities behind.
+     *
+     * @param key entity kind and ID
+     * @param write the write to perform
+     */
+    private void mark(String key, PendingWrite write) {
+        lock.lock();
+        try {
+            boolean interrupted = false;
+            while (!closed && !dirty.containsKey(key) && dirty.size() + inFlight >= capacity) {
+                flushRequested.signal(); // A full queue must not wait for the interval
+                try {
+                    notFull.await();
+                } catch (InterruptedException e) {
+                    interrupted = true; // Keep waiting; dropping the write would lose data
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            dirty.put(key, write);
+            if (dirty.size() >= flushThreshold) {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closed) {
+            // Writer has stopped; write through so the change is not stranded
+            synchronized (writeLock) {
+                writePending();
+            }
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            lock.lock();
+            try {
+                long remaining = flushIntervalNanos;
+                while (!closed && dirty.size() < Math.min(flushThreshold, capacity) && remaining > 0) {
+                    remaining = flushRequested.awaitNanos(remaining);
+                }
+                if (closed) {
+                    return; // close() drains what is left
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            synchronized (writeLock) {
+                writePending();
+            }
+        }
+    }
+
+    /**
+     * Drain pending writes before a full save, except inside
+     * {@link #runExclusive}. Callers must hold {@link #writeLock}.
+     */
+    private void drainUnlessExclusive() {
+        if (!exclusive) {
+            writePending();
+        }
+    }
+
+    /**
+     * Take every pending write and hand it to the delegate in marking order.
+     * Callers must hold {@link #writeLock}.
+     */
+    private void writePending() {
+        List<PendingWrite> batch;
+        lock.lock();
+        try {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(dirty.values());
+            dirty.clear();
+            inFlight = batch.size();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            delegate.writeGroup(target -> {
+                for (PendingWrite write : batch) {
+                    try {
+                        write.writeTo(target);
+                    } catch (RuntimeException e) {
+                        System.out.println("Error writing change: " + e.getMessage());
+                    }
+                }
+            });
+        } finally {
+            lock.lock();
+            try {
+                inFlight = 0;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A coalesced change waiting to be written.
+     */
+    @FunctionalInterface
+    private interface PendingWrite {
+        void writeTo(DataRepository target);
+    }
+}
@@ -0,0 +1,218 @@
+package com.internshipapp.ui;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Telnet-style server that gives every connection its own
+ * {@link ConsoleSession}, so many people can use the system at once. Each
+ * connection is served by its own thread, reading and writing the socket
+ * through the same menus the console uses.
+ * <p>
+ * Sessions spend nearly all their time waiting for input, so they are kept
+ * cheap: on a Java runtime with virtual threads each session gets one;
+ * otherwise it gets a daemon platform thread with a small stack. Session
+ * buffers are kept small as well. Output is flushed whenever the session
+ * waits for input, so prompts without a line break still reach the client.
+ */
+public class ConsoleServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final BiFunction<Scanner, PrintStream, ConsoleSession> sessions;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private Thread acceptor;
+
+    private static final int BACKLOG = 128;
+    private static final long SESSION_STACK_SIZE = 256 * 1024; // Used when virtual threads are unavailable
+    private static final int OUTPUT_BUFFER_SIZE = 1024;
+    private static final Method OF_VIRTUAL = findVirtualThreadBuilder();
+
+    /**
+     * Bind the server socket. Connections are not accepted until {@link #start()}.
+     *
+     * @param bindAddress address to listen on, or null for all addresses
+     * @param port port to listen on, or 0 for any free port
+     * @param sessions creates the session for a connection from its input and output
+     * @throws IOException if the socket cannot be bound
+     */
+    public ConsoleServer(InetAddress bindAddress, int port, BiFunction<Scanner, PrintStream, ConsoleSession> sessions) throws IOException {
+        this.serverSocket = new ServerSocket(port, BACKLOG, bindAddress);
+        this.sessions = sessions;
+    }
+
+    /**
+     * Start accepting connections on a background thread. From now on,
+     * {@code System.out} output of session threads goes to their connection.
+     */
+    public synchronized void start() {
+        SessionOutput.install();
+        acceptor = new Thread(this::acceptLoop, "console-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return number of open connections
+     */
+    public int getSessionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Stop accepting connections and disconnect every open session. Session
+     * threads end when their next read fails.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.out.println("Error closing server socket: " + e.getMessage());
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                return; // Closed
+            } catch (IOException e) {
+                System.out.println("Error accepting connection: " + e.getMessage());
+                continue;
+            }
+            connections.add(socket);
+            try {
+                startSessionThread(() -> serve(socket), "session-" + socket.getPort());
+            } catch (RuntimeException | OutOfMemoryError e) {
+                // Out of threads; turn the client away rather than stop accepting
+                System.out.println("Error starting session: " + e.getMessage());
+                connections.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Run one session over a connection until the user exits or disconnects.
+     *
+     * @param socket the connection
+     */
+    private void serve(Socket socket) {
+        try {
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE),
+                    false, StandardCharsets.UTF_8);
+            Scanner scanner = new Scanner(new InputStreamReader(
+                    new FlushingInputStream(socket.getInputStream(), out), StandardCharsets.UTF_8));
+            SessionOutput.bind(out);
+            try {
+                sessions.apply(scanner, out).run();
+            } finally {
+                SessionOutput.unbind();
+                out.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error in session: " + e.getMessage());
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * Start a thread for a session: a virtual thread where the runtime has
+     * them, else a small-stack daemon platform thread.
+     *
+     * @param task session body
+     * @param name thread name
+     */
+    private static void startSessionThread(Runnable task, String name) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                Class<?> builderType = OF_VIRTUAL.getReturnType();
+                builder = builderType.getMethod("name", String.class).invoke(builder, name);
+                Thread thread = (Thread) builderType.getMethod("unstarted", Runnable.class).invoke(builder, task);
+                thread.start();
+                return;
+            } catch (ReflectiveOperationException e) {
+                // Fall through to a platform thread
+            }
+        }
+        Thread thread = new Thread(null, task, name, SESSION_STACK_SIZE);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * The project targets Java 17, which has no virtual threads, so
+     * {@code Thread.ofVirtual()} is looked up reflectively to use them when
+     * running on a newer runtime.
+     *
+     * @return the method, or null if this runtime lacks it
+     */
+    private static Method findVirtualThreadBuilder() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+    }
+
+    /**
+     * Input stream that flushes the session's output before every read, so
+     * the client sees a prompt before the session waits for its answer.
+     */
+    private static final class FlushingInputStream extends FilterInputStream {
+        private final PrintStream out;
+
+        FlushingInputStream(InputStream in, PrintStream out) {
+            super(in);
+            this.out = out;
+        }
+
+        @Override
+        public int read() throws IOException {
+            out.flush();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            out.flush();
+            return super.read(b, off, len);
+        }
+    }
+}
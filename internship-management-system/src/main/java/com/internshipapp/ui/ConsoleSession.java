@@ -0,0 +1,153 @@
+package com.internshipapp.ui;
+
+import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.UserManager;
+import com.internshipapp.enums.LoginStatus;
+import com.internshipapp.models.*;
+
+import java.io.PrintStream;
+import java.util.Scanner;
+
+import static org.fusesource.jansi.Ansi.*;
+import static org.fusesource.jansi.Ansi.Color.*;
+
+/**
+ * One person's conversation with the system: the login/registration loop
+ * and the menu of whoever logs in, read from and written to the given
+ * streams. The console application runs one session over standard input
+ * and output; {@link ConsoleServer} runs one per connection.
+ */
+public class ConsoleSession {
+    private final UserManager userManager;
+    private final InternshipManager internshipManager;
+    private final ApplicationManager applicationManager;
+    private final Scanner scanner;
+    private final PrintStream out;
+    private final Runnable afterLogout;
+
+    /**
+     * @param userManager manager for user accounts
+     * @param internshipManager manager for internships
+     * @param applicationManager manager for applications
+     * @param scanner session input
+     * @param out session output
+     * @param afterLogout run each time a user logs out
+     */
+    public ConsoleSession(UserManager userManager, InternshipManager internshipManager, ApplicationManager applicationManager,
+                          Scanner scanner, PrintStream out, Runnable afterLogout) {
+        this.userManager = userManager;
+        this.internshipManager = internshipManager;
+        this.applicationManager = applicationManager;
+        this.scanner = scanner;
+        this.out = out;
+        this.afterLogout = afterLogout;
+    }
+
+    /**
+     * Handle login, registration and the logged-in user's menu until the
+     * user chooses to exit or the input ends.
+     */
+    public void run() {
+        try {
+            loop();
+        } catch (SessionInput.InputEndedException e) {
+            // Input closed (end of file or dropped connection); treat it as exiting
+        }
+    }
+
+    private void loop() {
+        boolean running = true;
+        User currentUser = null;
+
+        while (running) {
+            if (currentUser == null) {
+                out.println(ansi().fg(CYAN).a("\nWelcome to the Internship Management System").reset());
+                out.println("1. Login");
+                out.println("2. Register as Company Representative");
+                out.println("3. Exit");
+                out.print(ansi().fg(YELLOW).a("Choose an option: ").reset());
+
+                try {
+                    int choice = Integer.parseInt(SessionInput.nextLine(scanner));
+
+                    switch (choice) {
+                        case 1:
+                            out.print(ansi().fg(YELLOW).a("Enter User ID: ").reset());
+                            String userId = SessionInput.nextLine(scanner);
+                            out.print(ansi().fg(YELLOW).a("Enter Password: ").reset());
+                            String password = SessionInput.nextLine(scanner);
+                            LoginResult loginResult = userManager.authenticate(userId, password);
+
+                            if (loginResult.getStatus() == LoginStatus.INVALID_ID) {
+                                out.println(ansi().fg(RED).a("Invalid User ID. Please try again.").reset());
+                            } else if (loginResult.getStatus() == LoginStatus.INCORRECT_PASSWORD) {
+                                out.println(ansi().fg(RED).a("Incorrect password. Please try again.").reset());
+                            } else if (loginResult.getStatus() == LoginStatus.UNAPPROVED) {
+                                out.println(ansi().fg(RED).a("Your account is not approved yet. Please contact the career center.").reset());
+                            } else {
+                                currentUser = loginResult.getUser();
+                                out.println(ansi().fg(GREEN).a("Login successful. Welcome, " + currentUser.getName() + "!").reset());
+                            }
+                            break;
+                        case 2:
+                            out.print(ansi().fg(YELLOW).a("Enter User ID: ").reset());
+                            String newUserId = SessionInput.nextLine(scanner);
+                            out.print(ansi().fg(YELLOW).a("Enter Password: ").reset());
+                            String newPassword = SessionInput.nextLine(scanner);
+                            out.print(ansi().fg(YELLOW).a("Enter Your Name: ").reset());
+                            String newName = SessionInput.nextLine(scanner);
+                            out.print(ansi().fg(YELLOW).a("Enter Company Name: ").reset());
+                            String companyName = SessionInput.nextLine(scanner);
+                            out.print(ansi().fg(YELLOW).a("Enter Department: ").reset());
+                            String department = SessionInput.nextLine(scanner);
+                            out.print(ansi().fg(YELLOW).a("Enter Position: ").reset());
+                            String position = SessionInput.nextLine(scanner);
+
+                            if (userManager.registerCompanyRepresentative(newUserId, newPassword, newName, companyName, department, position)) {
+                                out.println(ansi().fg(GREEN).a("Registration successful. Your account is pending approval from the career center.").reset());
+                            } else {
+                                out.println(ansi().fg(RED).a("Registration failed. User ID might already exist.").reset());
+                            }
+                            break;
+                        case 3:
+                            running = false;
+                            break;
+                        default:
+                            out.println(ansi().fg(RED).a("Invalid option. Please enter 1, 2, or 3.").reset());
+                    }
+                } catch (NumberFormatException e) {
+                    out.println(ansi().fg(RED).a("Invalid input. Please enter a number.").reset());
+                }
+            }
+
+            if (currentUser != null) {
+                UserMenu userMenu = getUserMenu(currentUser);
+                if (userMenu != null) {
+                    userMenu.displayMenu();
+                }
+
+                currentUser = null;
+                afterLogout.run();
+            }
+        }
+    }
+
+    /**
+     * Returns the UI menu implementation for the given user instance.
+     *
+     * @param user the currently logged-in user
+     * @return a {@link UserMenu} implementation for the user's type, or null
+     *         if no suitable menu exists
+     */
+    private UserMenu getUserMenu(User user) {
+        if (user instanceof Student) {
+            return new StudentMenu((Student) user, userManager, internshipManager, applicationManager, scanner, out);
+        } else if (user instanceof CompanyRepresentative) {
+            return new CompanyRepMenu((CompanyRepresentative) user, userManager, internshipManager, scanner, out);
+        } else if (user instanceof CareerCenterStaff) {
+            return new StaffMenu((CareerCenterStaff) user, userManager, internshipManager, applicationManager, scanner, out);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.internshipapp.ui;
+
+import java.util.Scanner;
+
+/**
+ * Reads a session's input, and reports the end of it (end of file or a
+ * dropped connection) as an {@link InputEndedException} rather than the
+ * scanner's own exception, which bad input can throw as well.
+ */
+final class SessionInput {
+    private SessionInput() {
+    }
+
+    /**
+     * Read the next line of input.
+     *
+     * @param scanner session input
+     * @return the line, without its line separator
+     * @throws InputEndedException if there is no more input
+     */
+    static String nextLine(Scanner scanner) {
+        if (!scanner.hasNextLine()) {
+            throw new InputEndedException();
+        }
+        return scanner.nextLine();
+    }
+
+    /**
+     * Read the next token as a number.
+     *
+     * @param scanner session input
+     * @return the number
+     * @throws InputEndedException if there is no more input
+     * @throws java.util.InputMismatchException if the next token is not a number
+     */
+    static int nextInt(Scanner scanner) {
+        if (!scanner.hasNext()) {
+            throw new InputEndedException();
+        }
+        return scanner.nextInt();
+    }
+
+    /**
+     * Thrown when a session's input has ended, so the session can finish as
+     * if the user had chosen to exit.
+     */
+    static final class InputEndedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InputEndedException() {
+            super("Session input ended", null, false, false); // Expected; no stack trace needed
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.internshipapp.ui;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Standard output that follows the session. Controllers report some
+ * outcomes with {@code System.out.println}; once {@link #install()} has run,
+ * anything a thread prints that way goes to the stream bound to it with
+ * {@link #bind(PrintStream)} (a session's connection, or nowhere while an
+ * HTTP request runs an operation), and output from other threads goes to
+ * the server console.
+ */
+public final class SessionOutput extends OutputStream {
+    private static final ThreadLocal<PrintStream> CURRENT = new ThreadLocal<>();
+    private final PrintStream console;
+
+    private SessionOutput(PrintStream console) {
+        this.console = console;
+    }
+
+    /**
+     * Replace {@code System.out} with a stream that routes by thread.
+     */
+    public static synchronized void install() {
+        if (!(System.out instanceof Routing)) {
+            System.setOut(new Routing(new SessionOutput(System.out)));
+        }
+    }
+
+    /**
+     * Send the calling thread's {@code System.out} output to a session.
+     *
+     * @param out the session's output
+     */
+    public static void bind(PrintStream out) {
+        CURRENT.set(out);
+    }
+
+    /**
+     * Send the calling thread's {@code System.out} output back to the console.
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    private PrintStream target() {
+        PrintStream out = CURRENT.get();
+        return out != null ? out : console;
+    }
+
+    @Override
+    public void write(int b) {
+        target().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        target().write(b, off, len);
+    }
+
+    @Override
+    public void flush() {
+        target().flush();
+    }
+
+    /**
+     * The installed {@code System.out}; a distinct type so it is installed once.
+     */
+    private static final class Routing extends PrintStream {
+        Routing(SessionOutput out) {
+            super(out, true, StandardCharsets.UTF_8);
+        }
+    }
+}
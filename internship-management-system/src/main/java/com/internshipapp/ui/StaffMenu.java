@@ -1,14 +1,20 @@
 package com.internshipapp.ui;
 
 import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.DashboardCounters;
 import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.ReportCache;
 import com.internshipapp.controllers.UserManager;
 import com.internshipapp.models.*;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,6 +31,8 @@ public class StaffMenu implements UserMenu {
     private UserManager userManager;
     private InternshipManager internshipManager;
     private ApplicationManager applicationManager;
+    private final Scanner scanner; // Input of the session the menu runs in
+    private final PrintStream out; // Output of the session the menu runs in
 
     /**
      * Construct a new StaffMenu for a logged-in staff user.
@@ -33,30 +41,35 @@ public class StaffMenu implements UserMenu {
      * @param userManager manager for user accounts
      * @param internshipManager manager for internships
      * @param applicationManager manager for applications and withdrawal requests
+     * @param scanner session input
+     * @param out session output
      */
-    public StaffMenu(CareerCenterStaff staff, UserManager userManager, InternshipManager internshipManager, ApplicationManager applicationManager) {
+    public StaffMenu(CareerCenterStaff staff, UserManager userManager, InternshipManager internshipManager, ApplicationManager applicationManager,
+            Scanner scanner, PrintStream out) {
         this.staff = staff;
         this.userManager = userManager;
         this.internshipManager = internshipManager;
         this.applicationManager = applicationManager;
+        this.scanner = scanner;
+        this.out = out;
     }
 
     @Override
     public void displayMenu() {
-        Scanner scanner = new Scanner(System.in);
         int choice;
 
         do {
-            System.out.println(ansi().fg(BLUE).bold().a("\n=== Staff Menu ===").reset());
-            System.out.println("1. Authorize Company Representative");
-            System.out.println("2. Approve/Reject Internship");
-            System.out.println("3. Process Withdrawal Request");
-            System.out.println("4. Generate Report");
-            System.out.println("5. Change Password");
-            System.out.println("0. Logout");
-            System.out.print(ansi().fg(YELLOW).a("Enter your choice: ").reset());
+            out.println(ansi().fg(BLUE).bold().a("\n=== Staff Menu ===").reset());
+            out.println("1. Authorize Company Representative");
+            out.println("2. Approve/Reject Internship");
+            out.println("3. Process Withdrawal Request");
+            out.println("4. Generate Report");
+            out.println("5. Change Password");
+            out.println("6. View Dashboard");
+            out.println("0. Logout");
+            out.print(ansi().fg(YELLOW).a("Enter your choice: ").reset());
             try {
-                choice = Integer.parseInt(scanner.nextLine());
+                choice = Integer.parseInt(SessionInput.nextLine(scanner));
             } catch (NumberFormatException e) {
                 choice = -1;
             }
@@ -67,143 +80,256 @@ public class StaffMenu implements UserMenu {
                 case 3: processWithdrawal(scanner); break;
                 case 4: generateReport(scanner); break;
                 case 5: changePassword(scanner); choice = 0; break;
-                case 0: System.out.println("Logging out..."); break;
-                default: System.out.println(ansi().fg(RED).a("Invalid choice. Please try again.").reset());
+                case 6: viewDashboard(); break;
+                case 0: out.println("Logging out..."); break;
+                default: out.println(ansi().fg(RED).a("Invalid choice. Please try again.").reset());
             }
         } while (choice != 0);
     }
 
     private void generateReport(Scanner scanner) {
-        System.out.println(ansi().fg(CYAN).a("\n--- Generate Internship Report ---").reset());
-        System.out.println("Enter filter criteria. Press Enter to skip a filter.");
+        out.println(ansi().fg(CYAN).a("\n--- Generate Internship Report ---").reset());
+        out.println("Enter filter criteria. Press Enter to skip a filter.");
 
-        System.out.print(ansi().fg(YELLOW).a("Filter by Status (PENDING, APPROVED, REJECTED, FILLED): ").reset());
-        String statusFilter = scanner.nextLine().toUpperCase();
+        out.print(ansi().fg(YELLOW).a("Filter by Status (PENDING, APPROVED, REJECTED, FILLED): ").reset());
+        String statusFilter = SessionInput.nextLine(scanner).toUpperCase();
 
-        System.out.print(ansi().fg(YELLOW).a("Filter by Preferred Major: ").reset());
-        String majorFilter = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Filter by Preferred Major: ").reset());
+        String majorFilter = SessionInput.nextLine(scanner);
 
-        System.out.print(ansi().fg(YELLOW).a("Filter by Level (BASIC, INTERMEDIATE, ADVANCED): ").reset());
-        String levelFilter = scanner.nextLine().toUpperCase();
+        out.print(ansi().fg(YELLOW).a("Filter by Level (BASIC, INTERMEDIATE, ADVANCED): ").reset());
+        String levelFilter = SessionInput.nextLine(scanner).toUpperCase();
 
         List<Internship> reportData = internshipManager.generateReport(statusFilter, majorFilter, levelFilter);
 
-        System.out.println(ansi().fg(CYAN).a("\n--- Report Results ---").reset());
+        out.println(ansi().fg(CYAN).a("\n--- Report Results ---").reset());
         if (reportData.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("No internships found matching your criteria.").reset());
+            out.println(ansi().fg(YELLOW).a("No internships found matching your criteria.").reset());
         } else {
-            reportData.forEach(i -> System.out.println("ID: " + i.getInternshipID() + " | Title: " + i.getTitle() + " | Status: " + i.getStatus() + " | Major: " + i.getPreferedMajor()));
-            System.out.println(ansi().fg(YELLOW).a("\n" + reportData.size() + " records found.").reset());
+            reportData.forEach(i -> out.println("ID: " + i.getInternshipID() + " | Title: " + i.getTitle() + " | Status: " + i.getStatus() + " | Major: " + i.getPreferedMajor()));
+            out.println(ansi().fg(YELLOW).a("\n" + reportData.size() + " records found.").reset());
+
+            out.println(ansi().fg(CYAN).a("\n--- Summary ---").reset());
+            internshipManager.summarizeReport(statusFilter, majorFilter, levelFilter).print(out);
         }
     }
 
+    private void viewDashboard() {
+        DashboardCounters counters = internshipManager.getCounters();
+        out.println(ansi().fg(CYAN).a("\n--- Dashboard ---").reset());
+        out.println("Internships by status: " + counters.getInternshipsByStatus());
+        out.println("Internships by level: " + counters.getInternshipsByLevel());
+        out.println("Internships by major: " + counters.getInternshipsByMajor());
+        out.println("Slots filled: " + counters.getSlotsFilled() + "/" + counters.getSlots());
+        out.println("Applications by status: " + counters.getApplicationsByStatus());
+        out.println("Pending withdrawal requests: " + counters.getPendingWithdrawals());
+        ReportCache reports = internshipManager.getReportCache();
+        out.println("Report cache: " + reports.getSize() + "/" + reports.getCapacity() + " held | Hits: " + reports.getHits()
+                + " | Misses: " + reports.getMisses() + " | Evictions: " + reports.getEvictions());
+    }
+
     private void processRepresentative(Scanner scanner) {
         List<CompanyRepresentative> pendingReps = userManager.getPendingRepresentatives();
         if (pendingReps.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("No pending company representatives to authorize.").reset());
+            out.println(ansi().fg(YELLOW).a("No pending company representatives to authorize.").reset());
+            return;
+        }
+        out.println(ansi().fg(CYAN).a("--- Pending Representatives ---").reset());
+        pendingReps.forEach(r -> out.println("ID: " + r.getUserID() + ", Name: " + r.getName() + ", Company: " + r.getCompanyName()));
+        out.print(ansi().fg(YELLOW).a("Enter Representative ID to process (several IDs separated by commas, or ALL): ").reset());
+        String repId = SessionInput.nextLine(scanner);
+        if (isBatch(repId)) {
+            processRepresentatives(scanner, repId);
             return;
         }
-        System.out.println(ansi().fg(CYAN).a("--- Pending Representatives ---").reset());
-        pendingReps.forEach(r -> System.out.println("ID: " + r.getUserID() + ", Name: " + r.getName() + ", Company: " + r.getCompanyName()));
-        System.out.print(ansi().fg(YELLOW).a("Enter Representative ID to process: ").reset());
-        String repId = scanner.nextLine();
         CompanyRepresentative rep = userManager.findRepresentativeById(repId);
 
         if (rep != null) {
-            System.out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R)? ").reset());
-            String action = scanner.nextLine().toUpperCase();
+            out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R)? ").reset());
+            String action = SessionInput.nextLine(scanner).toUpperCase();
             if (action.equals("A")) {
                 userManager.authorizeRepresentative(rep, true);
-                System.out.println(ansi().fg(GREEN).a("Representative authorized.").reset());
+                out.println(ansi().fg(GREEN).a("Representative authorized.").reset());
             } else if (action.equals("R")) {
                 userManager.authorizeRepresentative(rep, false);
-                System.out.println(ansi().fg(GREEN).a("Representative rejected.").reset());
+                out.println(ansi().fg(GREEN).a("Representative rejected.").reset());
             } else {
-                System.out.println(ansi().fg(RED).a("Invalid action.").reset());
+                out.println(ansi().fg(RED).a("Invalid action.").reset());
             }
         } else {
-            System.out.println(ansi().fg(RED).a("Representative not found.").reset());
+            out.println(ansi().fg(RED).a("Representative not found.").reset());
         }
     }
 
     private void processInternship(Scanner scanner) {
         List<Internship> pendingInternships = internshipManager.getPendingInternships();
         if (pendingInternships.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("No pending internships to approve.").reset());
+            out.println(ansi().fg(YELLOW).a("No pending internships to approve.").reset());
+            return;
+        }
+        // The decisions are based on the internships as listed here, so remember their versions now
+        Map<String, Integer> listedVersions = new LinkedHashMap<>();
+        out.println(ansi().fg(CYAN).a("--- Pending Internships ---").reset());
+        for (Internship i : pendingInternships) {
+            listedVersions.put(i.getInternshipID(), i.getVersion());
+            out.println("ID: " + i.getInternshipID() + ", Title: " + i.getTitle());
+        }
+        out.print(ansi().fg(YELLOW).a("Enter Internship ID to process (several IDs separated by commas, or ALL): ").reset());
+        String internId = SessionInput.nextLine(scanner);
+        if (isBatch(internId)) {
+            processInternships(scanner, internId, listedVersions);
             return;
         }
-        System.out.println(ansi().fg(CYAN).a("--- Pending Internships ---").reset());
-        pendingInternships.forEach(i -> System.out.println("ID: " + i.getInternshipID() + ", Title: " + i.getTitle()));
-        System.out.print(ansi().fg(YELLOW).a("Enter Internship ID to process: ").reset());
-        String internId = scanner.nextLine();
         Internship internship = internshipManager.findInternshipById(internId);
+        Integer version = listedVersions.get(internId);
 
-        if (internship != null) {
-            System.out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R)? ").reset());
-            String action = scanner.nextLine().toUpperCase();
+        if (internship != null && version != null) {
+            out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R)? ").reset());
+            String action = SessionInput.nextLine(scanner).toUpperCase();
             if (action.equals("A")) {
-                internshipManager.approveInternship(internship);
-                System.out.println(ansi().fg(GREEN).a("Internship approved and is now open.").reset());
+                if (internshipManager.approveInternship(internship, version)) {
+                    out.println(ansi().fg(GREEN).a("Internship approved and is now open.").reset());
+                }
             } else if (action.equals("R")) {
-                internshipManager.rejectInternship(internship);
-                System.out.println(ansi().fg(GREEN).a("Internship rejected.").reset());
+                if (internshipManager.rejectInternship(internship, version)) {
+                    out.println(ansi().fg(GREEN).a("Internship rejected.").reset());
+                }
             } else {
-                System.out.println(ansi().fg(RED).a("Invalid action.").reset());
+                out.println(ansi().fg(RED).a("Invalid action.").reset());
             }
         } else {
-            System.out.println(ansi().fg(RED).a("Internship not found.").reset());
+            out.println(ansi().fg(RED).a("Internship not found or not pending.").reset());
+        }
+    }
+
+    /**
+     * Authorize several representatives at once. Only approval has a batch
+     * form; a representative left unapproved stays pending.
+     *
+     * @param scanner input
+     * @param selection comma-separated IDs, or ALL for every pending representative
+     */
+    private void processRepresentatives(Scanner scanner, String selection) {
+        out.println(ansi().fg(YELLOW).a("Only approval is supported for several representatives at once.").reset());
+        out.print(ansi().fg(YELLOW).a("Approve all of them? (Y/N): ").reset());
+        if (!SessionInput.nextLine(scanner).equalsIgnoreCase("Y")) {
+            out.println("No representatives were changed.");
+            return;
+        }
+        List<String> ids = isAll(selection) ? null : parseIds(selection);
+        List<CompanyRepresentative> processed = ids == null
+                ? userManager.authorizeRepresentatives(rep -> true)
+                : userManager.authorizeRepresentatives(ids);
+        out.println(ansi().fg(GREEN).a(processed.size() + " representative(s) authorized.").reset());
+        if (ids != null && processed.size() < ids.size()) {
+            out.println(ansi().fg(YELLOW).a("The others were not found or not pending.").reset());
+        }
+    }
+
+    /**
+     * Approve or reject several of the listed internships at once. Each is
+     * decided at the version it had when listed, so one that changed since
+     * drops out of the batch.
+     *
+     * @param scanner input
+     * @param selection comma-separated IDs, or ALL for every listed internship
+     * @param listedVersions ID -> version of each internship as listed
+     */
+    private void processInternships(Scanner scanner, String selection, Map<String, Integer> listedVersions) {
+        out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R) all of them? ").reset());
+        String action = SessionInput.nextLine(scanner).toUpperCase();
+        if (!action.equals("A") && !action.equals("R")) {
+            out.println(ansi().fg(RED).a("Invalid action.").reset());
+            return;
+        }
+        boolean approve = action.equals("A");
+        Map<String, Integer> selected = new LinkedHashMap<>(listedVersions);
+        int requested = selected.size();
+        if (!isAll(selection)) {
+            List<String> ids = parseIds(selection);
+            selected.keySet().retainAll(ids);
+            requested = ids.size();
+        }
+        List<Internship> processed = internshipManager.processInternships(selected, approve);
+        out.println(ansi().fg(GREEN).a(processed.size() + " internship(s) " + (approve ? "approved." : "rejected.")).reset());
+        if (processed.size() < requested) {
+            out.println(ansi().fg(YELLOW).a("The others were not found, not pending or changed meanwhile.").reset());
+        }
+    }
+
+    private static boolean isBatch(String selection) {
+        return isAll(selection) || selection.contains(",");
+    }
+
+    private static boolean isAll(String selection) {
+        return selection.trim().equalsIgnoreCase("ALL");
+    }
+
+    /**
+     * @param selection comma-separated IDs
+     * @return the non-blank IDs, trimmed
+     */
+    private static List<String> parseIds(String selection) {
+        List<String> ids = new ArrayList<>();
+        for (String id : selection.split(",")) {
+            if (!id.trim().isEmpty()) {
+                ids.add(id.trim());
+            }
         }
+        return ids;
     }
 
     private void processWithdrawal(Scanner scanner) {
         List<WithdrawalRequest> pendingRequests = applicationManager.getPendingWithdrawalRequests();
         if (pendingRequests.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("No pending withdrawal requests.").reset());
+            out.println(ansi().fg(YELLOW).a("No pending withdrawal requests.").reset());
             return;
         }
-        System.out.println(ansi().fg(CYAN).a("--- Pending Withdrawal Requests ---").reset());
-        pendingRequests.forEach(r -> System.out.println("ID: " + r.getRequestID() + ", Student: " + r.getApplication().getStudent().getName()));
-        System.out.print(ansi().fg(YELLOW).a("Enter Request ID to process: ").reset());
-        String reqId = scanner.nextLine();
+        out.println(ansi().fg(CYAN).a("--- Pending Withdrawal Requests ---").reset());
+        pendingRequests.forEach(r -> out.println("ID: " + r.getRequestID() + ", Student: " + r.getApplication().getStudent().getName()));
+        out.print(ansi().fg(YELLOW).a("Enter Request ID to process: ").reset());
+        String reqId = SessionInput.nextLine(scanner);
         WithdrawalRequest request = applicationManager.findRequestById(reqId);
 
         if (request != null) {
-            System.out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R)? ").reset());
-            String action = scanner.nextLine().toUpperCase();
+            out.print(ansi().fg(YELLOW).a("Approve (A) or Reject (R)? ").reset());
+            String action = SessionInput.nextLine(scanner).toUpperCase();
             if (action.equals("A")) {
-                applicationManager.processWithdrawalRequest(request, true);
-                System.out.println(ansi().fg(GREEN).a("Withdrawal request approved.").reset());
+                if (applicationManager.processWithdrawalRequest(request, true)) {
+                    out.println(ansi().fg(GREEN).a("Withdrawal request approved.").reset());
+                }
             } else if (action.equals("R")) {
-                applicationManager.processWithdrawalRequest(request, false);
-                System.out.println(ansi().fg(GREEN).a("Withdrawal request rejected.").reset());
+                if (applicationManager.processWithdrawalRequest(request, false)) {
+                    out.println(ansi().fg(GREEN).a("Withdrawal request rejected.").reset());
+                }
             } else {
-                System.out.println(ansi().fg(RED).a("Invalid action.").reset());
+                out.println(ansi().fg(RED).a("Invalid action.").reset());
             }
         } else {
-            System.out.println(ansi().fg(RED).a("Request not found.").reset());
+            out.println(ansi().fg(RED).a("Request not found.").reset());
         }
     }
 
     private void changePassword(Scanner scanner) {
-        System.out.print(ansi().fg(YELLOW).a("Enter your current password: ").reset());
-        String currentPassword = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Enter your current password: ").reset());
+        String currentPassword = SessionInput.nextLine(scanner);
 
         if (!staff.login(staff.getUserID(), currentPassword)) {
-            System.out.println(ansi().fg(RED).a("Incorrect current password.").reset());
+            out.println(ansi().fg(RED).a("Incorrect current password.").reset());
             return;
         }
 
-        System.out.print(ansi().fg(YELLOW).a("Enter your new password: ").reset());
-        String newPassword = scanner.nextLine();
-        System.out.print(ansi().fg(YELLOW).a("Confirm your new password: ").reset());
-        String confirmPassword = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Enter your new password: ").reset());
+        String newPassword = SessionInput.nextLine(scanner);
+        out.print(ansi().fg(YELLOW).a("Confirm your new password: ").reset());
+        String confirmPassword = SessionInput.nextLine(scanner);
 
         if (!newPassword.equals(confirmPassword)) {
-            System.out.println(ansi().fg(RED).a("New passwords do not match. Please try again.").reset());
+            out.println(ansi().fg(RED).a("New passwords do not match. Please try again.").reset());
             return;
         }
 
-        staff.setPassword(newPassword);
-        System.out.println(ansi().fg(GREEN).a("Password changed successfully.").reset());
+        userManager.changePassword(staff, newPassword);
+        out.println(ansi().fg(GREEN).a("Password changed successfully.").reset());
     }
 }
\ No newline at end of file
@@ -4,9 +4,11 @@ import com.internshipapp.controllers.ApplicationManager;
 import com.internshipapp.models.Application;
 import com.internshipapp.models.Student;
 import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.UserManager;
 import com.internshipapp.models.Internship;
 import com.internshipapp.models.WithdrawalRequest;
 
+import java.io.PrintStream;
 import java.util.List;
 import java.util.Scanner;
 import java.util.stream.Collectors;
@@ -20,39 +22,48 @@ import static org.fusesource.jansi.Ansi.Color.*;
  */
 public class StudentMenu implements UserMenu {
     private Student student;
+    private UserManager userManager;
     private InternshipManager internshipManager;
     private ApplicationManager applicationManager;
+    private final Scanner scanner; // Input of the session the menu runs in
+    private final PrintStream out; // Output of the session the menu runs in
 
     /**
      * Construct a StudentMenu bound to a particular student.
      *
      * @param student the student using the menu
+     * @param userManager manager for account changes
      * @param internshipManager manager for internships
      * @param applicationManager manager for applications
+     * @param scanner session input
+     * @param out session output
      */
-    public StudentMenu(Student student, InternshipManager internshipManager, ApplicationManager applicationManager) {
+    public StudentMenu(Student student, UserManager userManager, InternshipManager internshipManager, ApplicationManager applicationManager,
+            Scanner scanner, PrintStream out) {
         this.student = student;
+        this.userManager = userManager;
         this.internshipManager = internshipManager;
         this.applicationManager = applicationManager;
+        this.scanner = scanner;
+        this.out = out;
     }
 
     @Override
     public void displayMenu() {
-        Scanner scanner = new Scanner(System.in);
         int choice;
 
         do {
-            System.out.println(ansi().fg(BLUE).bold().a("\n=== Student Menu ===").reset());
-            System.out.println("1. View Available Internships");
-            System.out.println("2. Apply for Internship");
-            System.out.println("3. View My Applications");
-            System.out.println("4. Accept Placement");
-            System.out.println("5. Request Withdrawal");
-            System.out.println("6. Change Password");
-            System.out.println("0. Logout");
-            System.out.print(ansi().fg(YELLOW).a("Enter your choice: ").reset());
+            out.println(ansi().fg(BLUE).bold().a("\n=== Student Menu ===").reset());
+            out.println("1. View Available Internships");
+            out.println("2. Apply for Internship");
+            out.println("3. View My Applications");
+            out.println("4. Accept Placement");
+            out.println("5. Request Withdrawal");
+            out.println("6. Change Password");
+            out.println("0. Logout");
+            out.print(ansi().fg(YELLOW).a("Enter your choice: ").reset());
             try {
-                choice = Integer.parseInt(scanner.nextLine());
+                choice = Integer.parseInt(SessionInput.nextLine(scanner));
             } catch (NumberFormatException e) {
                 choice = -1;
             }
@@ -78,10 +89,10 @@ public class StudentMenu implements UserMenu {
                     choice = 0;
                     break;
                 case 0:
-                    System.out.println("Logging out...");
+                    out.println("Logging out...");
                     break;
                 default:
-                    System.out.println(ansi().fg(RED).a("Invalid choice. Please try again.").reset());
+                    out.println(ansi().fg(RED).a("Invalid choice. Please try again.").reset());
             }
         } while (choice != 0);
     }
@@ -89,19 +100,19 @@ public class StudentMenu implements UserMenu {
     private void viewAvailableInternships() {
         List<Internship> internships = internshipManager.viewAvailableInternships(student);
         if (internships.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("No available internships matching your profile at the moment.").reset());
+            out.println(ansi().fg(YELLOW).a("No available internships matching your profile at the moment.").reset());
         } else {
-            System.out.println(ansi().fg(CYAN).a("--- Available Internships ---").reset());
+            out.println(ansi().fg(CYAN).a("--- Available Internships ---").reset());
             for (Internship internship : internships) {
-                System.out.println("ID: " + internship.getInternshipID() + " | Title: " + internship.getTitle() + " | Company: " + internship.getCompanyName());
+                out.println("ID: " + internship.getInternshipID() + " | Title: " + internship.getTitle() + " | Company: " + internship.getCompanyName());
             }
         }
     }
 
     private void applyForInternship(Scanner scanner) {
         viewAvailableInternships();
-        System.out.print(ansi().fg(YELLOW).a("Enter the ID of the internship you want to apply for (or 0 to cancel): ").reset());
-        String internshipId = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Enter the ID of the internship you want to apply for (or 0 to cancel): ").reset());
+        String internshipId = SessionInput.nextLine(scanner);
 
         if (internshipId.equals("0")) {
             return;
@@ -114,7 +125,7 @@ public class StudentMenu implements UserMenu {
                     .anyMatch(app -> app.getInternship().getInternshipID().equals(internshipId));
 
             if (alreadyApplied) {
-                System.out.println(ansi().fg(RED).a("Error: You have already applied for this internship.").reset());
+                out.println(ansi().fg(RED).a("Error: You have already applied for this internship.").reset());
                 return;
             }
 
@@ -123,25 +134,25 @@ public class StudentMenu implements UserMenu {
                     .count();
 
             if (pendingCount >= 3) {
-                System.out.println(ansi().fg(RED).a("Error: You have reached the maximum of 3 pending applications.").reset());
+                out.println(ansi().fg(RED).a("Error: You have reached the maximum of 3 pending applications.").reset());
                 return;
             }
 
             applicationManager.createApplication(student, internship);
-            System.out.println(ansi().fg(GREEN).a("Application submitted successfully!").reset());
+            out.println(ansi().fg(GREEN).a("Application submitted successfully!").reset());
         } else {
-            System.out.println(ansi().fg(RED).a("Invalid internship ID.").reset());
+            out.println(ansi().fg(RED).a("Invalid internship ID.").reset());
         }
     }
 
     private void viewApplicationStatus() {
         List<Application> applications = student.getApplications();
         if (applications.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("You have not made any applications yet.").reset());
+            out.println(ansi().fg(YELLOW).a("You have not made any applications yet.").reset());
         } else {
-            System.out.println(ansi().fg(CYAN).a("--- Your Applications ---").reset());
+            out.println(ansi().fg(CYAN).a("--- Your Applications ---").reset());
             for (Application app : applications) {
-                System.out.println("App ID: " + app.getApplicationID() + " | Internship: " + app.getInternship().getTitle() + " | Status: " + app.getStatus());
+                out.println("App ID: " + app.getApplicationID() + " | Internship: " + app.getInternship().getTitle() + " | Status: " + app.getStatus());
             }
         }
     }
@@ -152,7 +163,7 @@ public class StudentMenu implements UserMenu {
                 .anyMatch(app -> app.getStatus() == com.internshipapp.enums.ApplicationStatus.ACCEPTED);
 
         if (alreadyAccepted) {
-            System.out.println(ansi().fg(RED).a("Error: You have already accepted an internship placement.").reset());
+            out.println(ansi().fg(RED).a("Error: You have already accepted an internship placement.").reset());
             return;
         }
 
@@ -161,61 +172,61 @@ public class StudentMenu implements UserMenu {
                 .collect(Collectors.toList());
 
         if (offeredPlacements.isEmpty()) {
-            System.out.println(ansi().fg(YELLOW).a("You have no pending internship offers to accept.").reset());
+            out.println(ansi().fg(YELLOW).a("You have no pending internship offers to accept.").reset());
             return;
         }
 
-        System.out.println(ansi().fg(CYAN).a("--- Your Internship Offers ---").reset());
-        offeredPlacements.forEach(app -> System.out.println("App ID: " + app.getApplicationID() + " | Internship: " + app.getInternship().getTitle()));
-        System.out.print(ansi().fg(YELLOW).a("Enter the Application ID of the placement you wish to accept: ").reset());
-        String appId = scanner.nextLine();
+        out.println(ansi().fg(CYAN).a("--- Your Internship Offers ---").reset());
+        offeredPlacements.forEach(app -> out.println("App ID: " + app.getApplicationID() + " | Internship: " + app.getInternship().getTitle()));
+        out.print(ansi().fg(YELLOW).a("Enter the Application ID of the placement you wish to accept: ").reset());
+        String appId = SessionInput.nextLine(scanner);
 
         Application toAccept = offeredPlacements.stream().filter(app -> app.getApplicationID().equals(appId)).findFirst().orElse(null);
         if (toAccept != null) {
-            applicationManager.acceptPlacement(toAccept);
+            applicationManager.acceptPlacement(toAccept, toAccept.getVersion());
         } else {
-            System.out.println(ansi().fg(RED).a("Invalid Application ID.").reset());
+            out.println(ansi().fg(RED).a("Invalid Application ID.").reset());
         }
     }
 
     private void requestWithdrawal(Scanner scanner) {
         viewApplicationStatus();
-        System.out.print(ansi().fg(YELLOW).a("Enter the Application ID you wish to withdraw from: ").reset());
-        String appId = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Enter the Application ID you wish to withdraw from: ").reset());
+        String appId = SessionInput.nextLine(scanner);
         Application toWithdraw = student.getApplications().stream().filter(app -> app.getApplicationID().equals(appId)).findFirst().orElse(null);
 
         if (toWithdraw != null) {
             WithdrawalRequest request = applicationManager.requestWithdrawal(toWithdraw);
             if (request != null) {
-                System.out.println(ansi().fg(GREEN).a("Withdrawal request submitted successfully. Request ID: " + request.getRequestID()).reset());
+                out.println(ansi().fg(GREEN).a("Withdrawal request submitted successfully. Request ID: " + request.getRequestID()).reset());
             } else {
-                System.out.println(ansi().fg(RED).a("Failed to submit withdrawal request.").reset());
+                out.println(ansi().fg(RED).a("Failed to submit withdrawal request.").reset());
             }
         } else {
-            System.out.println(ansi().fg(RED).a("Invalid Application ID.").reset());
+            out.println(ansi().fg(RED).a("Invalid Application ID.").reset());
         }
     }
 
     private void changePassword(Scanner scanner) {
-        System.out.print(ansi().fg(YELLOW).a("Enter your current password: ").reset());
-        String currentPassword = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Enter your current password: ").reset());
+        String currentPassword = SessionInput.nextLine(scanner);
 
         if (!student.login(student.getUserID(), currentPassword)){
-            System.out.println(ansi().fg(RED).a("Incorrect current password.").reset());
+            out.println(ansi().fg(RED).a("Incorrect current password.").reset());
             return;
         }
 
-        System.out.print(ansi().fg(YELLOW).a("Enter your new password: ").reset());
-        String newPassword = scanner.nextLine();
-        System.out.print(ansi().fg(YELLOW).a("Confirm your new password: ").reset());
-        String confirmPassword = scanner.nextLine();
+        out.print(ansi().fg(YELLOW).a("Enter your new password: ").reset());
+        String newPassword = SessionInput.nextLine(scanner);
+        out.print(ansi().fg(YELLOW).a("Confirm your new password: ").reset());
+        String confirmPassword = SessionInput.nextLine(scanner);
 
         if (!newPassword.equals(confirmPassword)) {
-            System.out.println(ansi().fg(RED).a("New passwords do not match. Please try again.").reset());
+            out.println(ansi().fg(RED).a("New passwords do not match. Please try again.").reset());
             return;
         }
 
-        student.setPassword(newPassword);
-        System.out.println(ansi().fg(GREEN).a("Password changed successfully.").reset());
+        userManager.changePassword(student, newPassword);
+        out.println(ansi().fg(GREEN).a("Password changed successfully.").reset());
     }
 }
\ No newline at end of file
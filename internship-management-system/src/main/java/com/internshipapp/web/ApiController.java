@@ -0,0 +1,568 @@
+package com.internshipapp.web;
+
+import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.CatalogueSnapshot;
+import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.UserManager;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.enums.OperationStatus;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.OperationResult;
+import com.internshipapp.models.Student;
+import com.internshipapp.models.User;
+import com.internshipapp.models.WithdrawalRequest;
+import com.internshipapp.ui.SessionOutput;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * REST endpoints for the operations the console menus offer: browsing
+ * internships, applying, accepting placements, withdrawals, approvals and
+ * reports. Every handler returns a future completed on the API worker pool,
+ * so servlet threads are handed back to the container while the controllers
+ * take their locks and queue their writes.
+ * <p>
+ * Listings are paginated with {@code page} (from 0) and {@code size} (1 to
+ * {@value #MAX_PAGE_SIZE}). Catalogue listings carry an ETag derived from
+ * the catalogue version; a request whose {@code If-None-Match} still
+ * matches is answered 304 on the servlet thread without building the list.
+ * <p>
+ * Internships and applications carry a version that changes with every
+ * update. Decisions on them accept an {@code If-Match} header with the
+ * version the client based the decision on, and answer 412 if the entity
+ * has changed since; without the header the current version is used.
+ * <p>
+ * Operations that fail answer 404 for unknown IDs and 409 otherwise, with
+ * a message chosen from the reason the controller gives for refusing.
+ */
+@RestController
+@RequestMapping("/api")
+public class ApiController {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private final UserManager userManager;
+    private final InternshipManager internshipManager;
+    private final ApplicationManager applicationManager;
+    private final ExecutorService executor;
+
+    /**
+     * @param userManager manager for user accounts
+     * @param internshipManager manager for internships
+     * @param applicationManager manager for applications and withdrawal requests
+     * @param apiExecutor worker pool the operations run on
+     */
+    public ApiController(UserManager userManager, InternshipManager internshipManager,
+                         ApplicationManager applicationManager, ExecutorService apiExecutor) {
+        this.userManager = userManager;
+        this.internshipManager = internshipManager;
+        this.applicationManager = applicationManager;
+        this.executor = apiExecutor;
+    }
+
+    // --- Catalogue ---
+
+    /**
+     * All internships, including pending ones (staff view).
+     */
+    @GetMapping("/internships")
+    public CompletableFuture<ResponseEntity<?>> listInternships(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return catalogue(page, size, ifNoneMatch, CatalogueSnapshot::getAll);
+    }
+
+    /**
+     * Internships the student may apply for.
+     */
+    @GetMapping("/students/{studentId}/internships")
+    public CompletableFuture<ResponseEntity<?>> listAvailableInternships(
+            @PathVariable String studentId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Student student = findStudent(studentId);
+        if (student == null) {
+            return completed(notFound("No student with ID " + studentId + "."));
+        }
+        return catalogue(page, size, ifNoneMatch, snapshot -> snapshot.getAvailableTo(student));
+    }
+
+    /**
+     * Internships matching the optional status, major and level filters.
+     */
+    @GetMapping("/reports/internships")
+    public CompletableFuture<ResponseEntity<?>> report(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String major,
+            @RequestParam(required = false) String level,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Built after the snapshot is taken, so never older than the tag it is sent with
+        return catalogue(page, size, ifNoneMatch, snapshot -> internshipManager.generateReport(status, major, level));
+    }
+
+    /**
+     * Approve a pending internship (staff).
+     */
+    @PostMapping("/internships/{internshipId}/approve")
+    public CompletableFuture<ResponseEntity<?>> approveInternship(
+            @PathVariable String internshipId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return decideInternship(internshipId, ifMatch, true);
+    }
+
+    /**
+     * Reject a pending internship (staff).
+     */
+    @PostMapping("/internships/{internshipId}/reject")
+    public CompletableFuture<ResponseEntity<?>> rejectInternship(
+            @PathVariable String internshipId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return decideInternship(internshipId, ifMatch, false);
+    }
+
+    // --- Applications ---
+
+    /**
+     * The student's applications.
+     */
+    @GetMapping("/students/{studentId}/applications")
+    public CompletableFuture<ResponseEntity<?>> listApplications(
+            @PathVariable String studentId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        String invalid = checkPage(page, size);
+        if (invalid != null) {
+            return completed(badRequest(invalid));
+        }
+        return async(() -> {
+            Student student = findStudent(studentId);
+            if (student == null) {
+                return notFound("No student with ID " + studentId + ".");
+            }
+            return ResponseEntity.ok(PageDto.of(student.getApplications(), page, size, ApplicationDto::new));
+        });
+    }
+
+    /**
+     * Apply for an internship. Body: {@code {"internshipId": "..."}}.
+     */
+    @PostMapping("/students/{studentId}/applications")
+    public CompletableFuture<ResponseEntity<?>> apply(@PathVariable String studentId,
+                                                      @RequestBody Map<String, String> body) {
+        String internshipId = body.get("internshipId");
+        if (internshipId == null || internshipId.trim().isEmpty()) {
+            return completed(badRequest("internshipId is required."));
+        }
+        return async(() -> {
+            Student student = findStudent(studentId);
+            if (student == null) {
+                return notFound("No student with ID " + studentId + ".");
+            }
+            Internship internship = internshipManager.findInternshipById(internshipId);
+            if (internship == null) {
+                return notFound("No internship with ID " + internshipId + ".");
+            }
+            OperationResult<Application> result = quietly(() -> applicationManager.submitApplication(student, internship));
+            if (!result.isSuccess()) {
+                return conflict(describe(result.getStatus()));
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ApplicationDto(result.getValue()));
+        });
+    }
+
+    /**
+     * Accept an approved placement.
+     */
+    @PostMapping("/students/{studentId}/applications/{applicationId}/accept")
+    public CompletableFuture<ResponseEntity<?>> acceptPlacement(
+            @PathVariable String studentId,
+            @PathVariable String applicationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Integer expected = parseVersion(ifMatch);
+        if (expected != null && expected < 0) {
+            return completed(badRequest("If-Match must be a version number."));
+        }
+        return async(() -> {
+            Application application = findStudentApplication(studentId, applicationId);
+            if (application == null) {
+                return notFound("No application " + applicationId + " for student " + studentId + ".");
+            }
+            int version = expected != null ? expected : application.getVersion();
+            if (!quietly(() -> applicationManager.acceptPlacement(application, version))) {
+                return failed(expected != null && application.getVersion() != version,
+                        "This placement cannot be accepted. It may not have been offered to you, or its slots are filled.");
+            }
+            return versioned(application.getVersion(), new ApplicationDto(application));
+        });
+    }
+
+    /**
+     * Ask the career center to withdraw an application.
+     */
+    @PostMapping("/students/{studentId}/applications/{applicationId}/withdrawal")
+    public CompletableFuture<ResponseEntity<?>> requestWithdrawal(@PathVariable String studentId,
+                                                                  @PathVariable String applicationId) {
+        return async(() -> {
+            Application application = findStudentApplication(studentId, applicationId);
+            if (application == null) {
+                return notFound("No application " + applicationId + " for student " + studentId + ".");
+            }
+            OperationResult<WithdrawalRequest> result = quietly(() -> applicationManager.submitWithdrawal(application));
+            if (!result.isSuccess()) {
+                return conflict(describe(result.getStatus()));
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(new WithdrawalDto(result.getValue()));
+        });
+    }
+
+    /**
+     * Approve a pending application to one of the representative's internships.
+     */
+    @PostMapping("/representatives/{repId}/applications/{applicationId}/approve")
+    public CompletableFuture<ResponseEntity<?>> approveApplication(
+            @PathVariable String repId,
+            @PathVariable String applicationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return decideApplication(repId, applicationId, ifMatch, true);
+    }
+
+    /**
+     * Reject a pending application to one of the representative's internships.
+     */
+    @PostMapping("/representatives/{repId}/applications/{applicationId}/reject")
+    public CompletableFuture<ResponseEntity<?>> rejectApplication(
+            @PathVariable String repId,
+            @PathVariable String applicationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return decideApplication(repId, applicationId, ifMatch, false);
+    }
+
+    // --- Withdrawals ---
+
+    /**
+     * Withdrawal requests waiting for the career center.
+     */
+    @GetMapping("/withdrawals")
+    public CompletableFuture<ResponseEntity<?>> listWithdrawals(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        String invalid = checkPage(page, size);
+        if (invalid != null) {
+            return completed(badRequest(invalid));
+        }
+        return async(() -> ResponseEntity.ok(
+                PageDto.of(applicationManager.getPendingWithdrawalRequests(), page, size, WithdrawalDto::new)));
+    }
+
+    /**
+     * Approve a withdrawal request (staff).
+     */
+    @PostMapping("/withdrawals/{requestId}/approve")
+    public CompletableFuture<ResponseEntity<?>> approveWithdrawal(@PathVariable String requestId) {
+        return decideWithdrawal(requestId, true);
+    }
+
+    /**
+     * Reject a withdrawal request (staff).
+     */
+    @PostMapping("/withdrawals/{requestId}/reject")
+    public CompletableFuture<ResponseEntity<?>> rejectWithdrawal(@PathVariable String requestId) {
+        return decideWithdrawal(requestId, false);
+    }
+
+    // --- Shared handling ---
+
+    /**
+     * Serve one page of a catalogue listing with an ETag. A 304 is decided on
+     * the servlet thread from the current catalogue version alone; otherwise
+     * the page is cut from a catalogue snapshot taken after reading the
+     * version it is tagged with, so the page is never older than its tag.
+     * The tag is the catalogue version rather than the snapshot's membership
+     * version because the page also shows filled slots.
+     *
+     * @param page requested page
+     * @param size requested page size
+     * @param ifNoneMatch the request's If-None-Match header, if any
+     * @param listing picks the listing out of a snapshot
+     * @return the response
+     */
+    private CompletableFuture<ResponseEntity<?>> catalogue(int page, int size, String ifNoneMatch,
+                                                           Function<CatalogueSnapshot, List<Internship>> listing) {
+        String invalid = checkPage(page, size);
+        if (invalid != null) {
+            return completed(badRequest(invalid));
+        }
+        String current = etag(internshipManager.getCatalogueVersion());
+        if (matches(ifNoneMatch, current)) {
+            return completed(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build());
+        }
+        return async(() -> {
+            long version = internshipManager.getCatalogueVersion(); // Read before the snapshot and the internships
+            CatalogueSnapshot snapshot = internshipManager.catalogue();
+            return ResponseEntity.ok().eTag(etag(version))
+                    .body(PageDto.of(listing.apply(snapshot), page, size, InternshipDto::new));
+        });
+    }
+
+    private static String etag(long catalogueVersion) {
+        return "\"" + catalogueVersion + "\"";
+    }
+
+    private CompletableFuture<ResponseEntity<?>> decideInternship(String internshipId, String ifMatch, boolean approve) {
+        Integer expected = parseVersion(ifMatch);
+        if (expected != null && expected < 0) {
+            return completed(badRequest("If-Match must be a version number."));
+        }
+        return async(() -> {
+            Internship internship = internshipManager.findInternshipById(internshipId);
+            if (internship == null) {
+                return notFound("No internship with ID " + internshipId + ".");
+            }
+            int version = expected != null ? expected : internship.getVersion();
+            // Status read after the version, so a pending status seen here belongs to it or the change fails
+            if (internship.getStatus() != InternshipStatus.PENDING) {
+                return failed(expected != null && internship.getVersion() != version, "Internship " + internshipId + " is not pending.");
+            }
+            boolean decided = quietly(() -> approve
+                    ? internshipManager.approveInternship(internship, version)
+                    : internshipManager.rejectInternship(internship, version));
+            if (!decided) {
+                return failed(expected != null, "Internship " + internshipId + " was changed by someone else.");
+            }
+            return versioned(internship.getVersion(), new InternshipDto(internship));
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<?>> decideApplication(String repId, String applicationId, String ifMatch, boolean approve) {
+        Integer expected = parseVersion(ifMatch);
+        if (expected != null && expected < 0) {
+            return completed(badRequest("If-Match must be a version number."));
+        }
+        return async(() -> {
+            CompanyRepresentative rep = userManager.findRepresentativeById(repId);
+            if (rep == null) {
+                return notFound("No company representative with ID " + repId + ".");
+            }
+            Application application = internshipManager.findPendingApplication(rep, applicationId);
+            if (application == null) {
+                return notFound("Could not find a pending application with that ID.");
+            }
+            int version = expected != null ? expected : application.getVersion();
+            OperationStatus status = internshipManager.decideApplication(application, version, approve);
+            if (status != OperationStatus.SUCCESS) {
+                return failed(expected != null && application.getVersion() != version, describe(status));
+            }
+            return versioned(application.getVersion(), new ApplicationDto(application));
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<?>> decideWithdrawal(String requestId, boolean approve) {
+        return async(() -> {
+            WithdrawalRequest request = applicationManager.findRequestById(requestId);
+            if (request == null) {
+                return notFound("No withdrawal request with ID " + requestId + ".");
+            }
+            if (!quietly(() -> applicationManager.processWithdrawalRequest(request, approve))) {
+                return conflict("Withdrawal request " + requestId + " has already been processed.");
+            }
+            return ResponseEntity.ok(new WithdrawalDto(request));
+        });
+    }
+
+    /**
+     * Run a handler on the worker pool. When the pool's queue is full the
+     * request is answered 503 straight away.
+     *
+     * @param work the handler body
+     * @return future completed with the handler's response
+     */
+    private CompletableFuture<ResponseEntity<?>> async(Supplier<ResponseEntity<?>> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            return completed(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorDto("The server is busy. Please try again.")));
+        }
+    }
+
+    /**
+     * Run a controller operation with what it prints for the console
+     * discarded; the response is built from its result instead.
+     *
+     * @param operation the operation
+     * @param <T> its result type
+     * @return its result
+     */
+    private static <T> T quietly(Supplier<T> operation) {
+        SessionOutput.bind(DISCARD);
+        try {
+            return operation.get();
+        } finally {
+            SessionOutput.unbind();
+        }
+    }
+
+    /**
+     * @param status why an operation was refused
+     * @return error text for the client
+     */
+    private static String describe(OperationStatus status) {
+        switch (status) {
+            case APPLICATION_LIMIT:
+                return "Cannot apply for more than 3 internships.";
+            case ALREADY_APPLIED:
+                return "The student has already applied for this internship.";
+            case INTERNSHIP_UNAVAILABLE:
+                return "This internship is no longer available.";
+            case NOT_PENDING:
+                return "The application is no longer pending.";
+            case SLOTS_FILLED:
+                return "All slots of the internship are filled.";
+            case CHANGED:
+                return "The application was changed by someone else.";
+            case ALREADY_WITHDRAWN:
+                return "The application has already been withdrawn or rejected.";
+            case WITHDRAWAL_PENDING:
+                return "A withdrawal request for this application is already pending.";
+            default:
+                return "The request could not be completed.";
+        }
+    }
+
+    private Student findStudent(String studentId) {
+        User user = userManager.findUserById(studentId);
+        return user instanceof Student ? (Student) user : null;
+    }
+
+    private Application findStudentApplication(String studentId, String applicationId) {
+        Student student = findStudent(studentId);
+        if (student == null) {
+            return null;
+        }
+        for (Application application : student.getApplications()) {
+            if (application.getApplicationID().equals(applicationId)) {
+                return application;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param page requested page
+     * @param size requested page size
+     * @return why the values are invalid, or null if they are fine
+     */
+    private static String checkPage(int page, int size) {
+        if (page < 0) {
+            return "page must not be negative.";
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return "size must be between 1 and " + MAX_PAGE_SIZE + ".";
+        }
+        return null;
+    }
+
+    /**
+     * @param ifNoneMatch If-None-Match header value, possibly a list of tags
+     * @param etag current tag
+     * @return true if any listed tag, compared weakly, is the current one
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param ifMatch If-Match header value, if any
+     * @return the version it names, null if absent or "*", or -1 if it is not a version
+     */
+    private static Integer parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            int version = Integer.parseInt(tag);
+            return version >= 0 ? version : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param version the entity's version after the change
+     * @param body the changed entity
+     * @return 200 with the entity and its version as the ETag
+     */
+    private static ResponseEntity<?> versioned(int version, Object body) {
+        return ResponseEntity.ok().eTag("\"" + version + "\"").body(body);
+    }
+
+    /**
+     * @param stale whether the entity changed after the version the client named in If-Match
+     * @param message what went wrong
+     * @return 412 if the client's version was stale, else 409
+     */
+    private static ResponseEntity<?> failed(boolean stale, String message) {
+        return ResponseEntity.status(stale ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).body(new ErrorDto(message));
+    }
+
+    private static CompletableFuture<ResponseEntity<?>> completed(ResponseEntity<?> response) {
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private static ResponseEntity<?> badRequest(String message) {
+        return ResponseEntity.badRequest().body(new ErrorDto(message));
+    }
+
+    private static ResponseEntity<?> notFound(String message) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorDto(message));
+    }
+
+    private static ResponseEntity<?> conflict(String message) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorDto(message));
+    }
+}
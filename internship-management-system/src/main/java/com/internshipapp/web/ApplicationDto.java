@@ -0,0 +1,58 @@
+package com.internshipapp.web;
+
+import com.internshipapp.models.Application;
+import com.internshipapp.models.EpochDays;
+
+/**
+ * JSON view of an internship application.
+ */
+public class ApplicationDto {
+    private final String applicationId;
+    private final String studentId;
+    private final String internshipId;
+    private final String internshipTitle;
+    private final String applicationDate;
+    private final String status;
+    private final int version;
+
+    /**
+     * @param application application to describe
+     */
+    public ApplicationDto(Application application) {
+        this.applicationId = application.getApplicationID();
+        this.studentId = application.getStudent().getUserID();
+        this.internshipId = application.getInternship().getInternshipID();
+        this.internshipTitle = application.getInternship().getTitle();
+        this.applicationDate = EpochDays.format(application.getApplicationDay());
+        this.status = application.getStatus().name();
+        this.version = application.getVersion();
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getInternshipId() {
+        return internshipId;
+    }
+
+    public String getInternshipTitle() {
+        return internshipTitle;
+    }
+
+    public String getApplicationDate() {
+        return applicationDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+}
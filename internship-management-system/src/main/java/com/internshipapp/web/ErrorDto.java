@@ -0,0 +1,19 @@
+package com.internshipapp.web;
+
+/**
+ * JSON body of a failed request.
+ */
+public class ErrorDto {
+    private final String error;
+
+    /**
+     * @param error what went wrong
+     */
+    public ErrorDto(String error) {
+        this.error = error;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,94 @@
+package com.internshipapp.web;
+
+import com.internshipapp.models.EpochDays;
+import com.internshipapp.models.Internship;
+
+/**
+ * JSON view of an internship.
+ */
+public class InternshipDto {
+    private final String internshipId;
+    private final String title;
+    private final String description;
+    private final String level;
+    private final String preferredMajor;
+    private final String openingDate;
+    private final String closingDate;
+    private final String status;
+    private final String companyName;
+    private final int slots;
+    private final int slotsFilled;
+    private final boolean visible;
+    private final int version;
+
+    /**
+     * @param internship internship to describe
+     */
+    public InternshipDto(Internship internship) {
+        this.internshipId = internship.getInternshipID();
+        this.title = internship.getTitle();
+        this.description = internship.getDescription();
+        this.level = internship.getLevel().name();
+        this.preferredMajor = internship.getPreferedMajor();
+        this.openingDate = EpochDays.format(internship.getOpeningDay());
+        this.closingDate = EpochDays.format(internship.getClosingDay());
+        this.status = internship.getStatus().name();
+        this.companyName = internship.getCompanyName();
+        this.slots = internship.getSlots();
+        this.slotsFilled = internship.getSlotsFilled();
+        this.visible = internship.isVisible();
+        this.version = internship.getVersion();
+    }
+
+    public String getInternshipId() {
+        return internshipId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getPreferredMajor() {
+        return preferredMajor;
+    }
+
+    public String getOpeningDate() {
+        return openingDate;
+    }
+
+    public String getClosingDate() {
+        return closingDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public int getSlotsFilled() {
+        return slotsFilled;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,62 @@
+package com.internshipapp.web;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a listing, as returned by the API.
+ *
+ * @param <T> item type
+ */
+public class PageDto<T> {
+    private final List<T> items;
+    private final int page;
+    private final int size;
+    private final int totalItems;
+
+    private PageDto(List<T> items, int page, int size, int totalItems) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalItems = totalItems;
+    }
+
+    /**
+     * Cut one page out of a full result list and convert its items.
+     *
+     * @param all full result list
+     * @param page zero-based page number
+     * @param size items per page
+     * @param toDto item conversion
+     * @param <S> source item type
+     * @param <T> converted item type
+     * @return the page
+     */
+    public static <S, T> PageDto<T> of(List<S> all, int page, int size, Function<S, T> toDto) {
+        int from = (int) Math.min((long) page * size, all.size());
+        int to = Math.min(from + size, all.size());
+        List<T> items = all.subList(from, to).stream().map(toDto).collect(Collectors.toList());
+        return new PageDto<>(items, page, size, all.size());
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public int getTotalPages() {
+        return (totalItems + size - 1) / size;
+    }
+}
@@ -0,0 +1,94 @@
+package com.internshipapp.web;
+
+import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.UserManager;
+import com.internshipapp.ui.SessionOutput;
+import org.springframework.boot.Banner;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP/JSON front end over the same controllers the console uses. Started
+ * by {@link #start} with the application's managers, which are registered as
+ * beans; persistence stays with the managers' repository, so the web layer
+ * needs no database of its own (the JDBC/JPA auto-configuration is off).
+ * <p>
+ * Request handling is asynchronous: {@link ApiController} hands each
+ * operation to a small worker pool and returns a future, so servlet threads
+ * are released immediately and never wait on controller locks or on the
+ * write-behind queue.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class})
+public class WebApi {
+    private static final int WORKER_THREADS = 8;
+    private static final int WORKER_QUEUE_CAPACITY = 1024;
+    private static final long ASYNC_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Start the HTTP server.
+     *
+     * @param address address to listen on
+     * @param port port to listen on
+     * @param userManager manager for user accounts
+     * @param internshipManager manager for internships
+     * @param applicationManager manager for applications
+     * @return the running context; close it to stop the server
+     */
+    public static ConfigurableApplicationContext start(String address, int port, UserManager userManager,
+                                                       InternshipManager internshipManager, ApplicationManager applicationManager) {
+        SessionOutput.install(); // Keeps the console messages controllers print out of the server console during requests
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.address", address);
+        properties.put("server.port", port);
+        properties.put("spring.mvc.async.request-timeout", ASYNC_TIMEOUT_MILLIS);
+        properties.put("logging.level.root", "WARN");
+
+        return new SpringApplicationBuilder(WebApi.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(properties)
+                .initializers(context -> {
+                    context.getBeanFactory().registerSingleton("userManager", userManager);
+                    context.getBeanFactory().registerSingleton("internshipManager", internshipManager);
+                    context.getBeanFactory().registerSingleton("applicationManager", applicationManager);
+                })
+                .run();
+    }
+
+    /**
+     * Workers that run API operations off the servlet threads. The queue is
+     * bounded; when it is full the request is rejected rather than queued
+     * without limit.
+     *
+     * @return the worker pool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService apiExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WORKER_QUEUE_CAPACITY),
+                task -> {
+                    Thread thread = new Thread(task, "api-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
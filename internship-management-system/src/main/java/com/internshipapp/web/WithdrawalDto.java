@@ -0,0 +1,52 @@
+package com.internshipapp.web;
+
+import com.internshipapp.models.EpochDays;
+import com.internshipapp.models.WithdrawalRequest;
+
+/**
+ * JSON view of a withdrawal request.
+ */
+public class WithdrawalDto {
+    private final String requestId;
+    private final String applicationId;
+    private final String studentId;
+    private final String internshipId;
+    private final String requestDate;
+    private final String status;
+
+    /**
+     * @param request withdrawal request to describe
+     */
+    public WithdrawalDto(WithdrawalRequest request) {
+        this.requestId = request.getRequestID();
+        this.applicationId = request.getApplication().getApplicationID();
+        this.studentId = request.getApplication().getStudent().getUserID();
+        this.internshipId = request.getApplication().getInternship().getInternshipID();
+        this.requestDate = EpochDays.format(EpochDays.of(request.getRequestDate()));
+        this.status = request.getStatus().name();
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getInternshipId() {
+        return internshipId;
+    }
+
+    public String getRequestDate() {
+        return requestDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,94 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks how catalogue snapshots are published: a new one only for
+ * membership changes, and sharing the lists a change does not touch.
+ */
+class CatalogueSnapshotTest {
+    private InternshipManager internshipManager;
+    private CompanyRepresentative rep;
+    private final Student junior = new Student("U1", "Junior", "password", 1, "EEE");
+    private final Student senior = new Student("U3", "Senior", "password", 3, "EEE");
+
+    @BeforeEach
+    void setUp() {
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+    }
+
+    @Test
+    void publishesOpenPostingsByBand() {
+        Internship basic = approved(InternshipLevel.BASIC, "EEE", 2);
+        Internship advanced = approved(InternshipLevel.ADVANCED, "EEE", 2);
+        approved(InternshipLevel.BASIC, "Computer Science", 2);
+        internshipManager.createInternship("Pending", "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 2);
+
+        assertEquals(List.of(basic), internshipManager.viewAvailableInternships(junior));
+        assertEquals(List.of(basic, advanced), internshipManager.viewAvailableInternships(senior));
+        assertEquals(4, internshipManager.viewAllInternships().size());
+
+        internshipManager.toggleInternshipVisibility(basic);
+        assertEquals(List.of(), internshipManager.viewAvailableInternships(junior));
+        assertEquals(List.of(advanced), internshipManager.viewAvailableInternships(senior));
+
+        internshipManager.toggleInternshipVisibility(basic);
+        assertEquals(List.of(basic, advanced), internshipManager.viewAvailableInternships(senior)); // Back in ID order
+
+        internshipManager.removeInternship(advanced);
+        assertEquals(List.of(basic), internshipManager.viewAvailableInternships(senior));
+        assertEquals(3, internshipManager.viewAllInternships().size());
+    }
+
+    @Test
+    void slotFillsLeaveMembershipAloneUntilFull() {
+        Internship internship = approved(InternshipLevel.BASIC, "EEE", 2);
+        CatalogueSnapshot before = internshipManager.catalogue();
+        long catalogueVersion = internshipManager.getCatalogueVersion();
+
+        internshipManager.fillSlot(internship);
+
+        assertSame(before, internshipManager.catalogue());
+        assertEquals(before.getVersion(), internshipManager.getMembershipVersion());
+        assertNotEquals(catalogueVersion, internshipManager.getCatalogueVersion()); // Still visible to ETags
+
+        internshipManager.fillSlot(internship); // Last slot: FILLED and hidden
+        assertEquals(before.getVersion() + 1, internshipManager.getMembershipVersion());
+        assertEquals(List.of(), internshipManager.viewAvailableInternships(senior));
+    }
+
+    @Test
+    void sharesListsTheChangeDoesNotTouch() {
+        approved(InternshipLevel.BASIC, "EEE", 2);
+        Internship other = approved(InternshipLevel.BASIC, "Computer Science", 2);
+        Student otherMajor = new Student("U2", "Other", "password", 3, "Computer Science");
+        CatalogueSnapshot before = internshipManager.catalogue();
+
+        internshipManager.toggleInternshipVisibility(other);
+        CatalogueSnapshot after = internshipManager.catalogue();
+
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertSame(before.getAll(), after.getAll());
+        assertSame(before.getAvailableTo(senior), after.getAvailableTo(senior));
+        assertEquals(List.of(), after.getAvailableTo(otherMajor));
+    }
+
+    private Internship approved(InternshipLevel level, String major, int slots) {
+        Internship internship = internshipManager.createInternship("Intern", "Work", level, major, 0, 99999, rep, slots);
+        internshipManager.approveInternship(internship, internship.getVersion());
+        return internship;
+    }
+}
@@ -0,0 +1,274 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.IdAllocator;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import com.internshipapp.models.WithdrawalRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers the managers from many threads at once and checks the invariants
+ * that the striped locks, the slot compare-and-set and the ID allocator
+ * are meant to keep.
+ */
+class ConcurrentManagersStressTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 3000;
+    private static final String[] MAJORS = {"Computer Science", "EEE", "Data Science"};
+
+    private final PrintStream originalOut = System.out;
+    private InternshipManager internshipManager;
+    private ApplicationManager applicationManager;
+    private CompanyRepresentative rep;
+
+    @BeforeEach
+    void setUp() {
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        rep = new CompanyRepresentative("rep@example.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // The controllers report every refusal
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void concurrentSessionsKeepInvariants() throws InterruptedException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            students.add(new Student("S" + i, "Student " + i, "password", 3, MAJORS[i % MAJORS.length]));
+        }
+        for (int i = 0; i < 40; i++) {
+            createRandom(new Random(i));
+        }
+        Queue<Internship> created = new ConcurrentLinkedQueue<>();
+        Queue<Application> applications = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                List<Internship> all = internshipManager.viewAllInternships();
+                Internship internship = all.get(random.nextInt(all.size()));
+                Student student = students.get(random.nextInt(students.size()));
+                switch (random.nextInt(8)) {
+                    case 0:
+                        created.add(createRandom(random));
+                        break;
+                    case 1:
+                        int version = internship.getVersion(); // Staff decide what they saw listed as pending
+                        if (internship.getStatus() == InternshipStatus.PENDING) {
+                            internshipManager.approveInternship(internship, version);
+                        }
+                        break;
+                    case 2:
+                        internshipManager.toggleInternshipVisibility(internship);
+                        break;
+                    case 3:
+                        Application application = applicationManager.applyForInternship(student, internship);
+                        if (application != null) {
+                            applications.add(application);
+                        }
+                        break;
+                    case 4:
+                        for (Application pending : student.getApplications()) {
+                            if (pending.getStatus() == ApplicationStatus.PENDING) {
+                                if (random.nextInt(4) == 0) {
+                                    internshipManager.rejectApplication(pending, pending.getVersion());
+                                } else {
+                                    internshipManager.approveApplication(pending, pending.getVersion());
+                                }
+                                break;
+                            }
+                        }
+                        break;
+                    case 5:
+                        for (Application offer : student.getApplications()) {
+                            if (offer.getStatus() == ApplicationStatus.APPROVED) {
+                                applicationManager.acceptPlacement(offer, offer.getVersion());
+                                break;
+                            }
+                        }
+                        break;
+                    case 6:
+                        for (Application accepted : student.getApplications()) {
+                            if (accepted.getStatus() == ApplicationStatus.ACCEPTED) {
+                                applicationManager.requestWithdrawal(accepted);
+                                break;
+                            }
+                        }
+                        break;
+                    default:
+                        List<WithdrawalRequest> pending = applicationManager.getPendingWithdrawalRequests();
+                        if (!pending.isEmpty()) {
+                            applicationManager.processWithdrawalRequest(pending.get(random.nextInt(pending.size())), random.nextBoolean());
+                        }
+                        break;
+                }
+            }
+        });
+
+        List<Internship> all = internshipManager.viewAllInternships();
+
+        // No internship is oversubscribed, and every filled slot belongs to an accepted placement
+        for (Internship internship : all) {
+            long accepted = internship.getApplications().stream()
+                    .filter(a -> a.getStatus() == ApplicationStatus.ACCEPTED)
+                    .count();
+            assertTrue(internship.getSlotsFilled() <= internship.getSlots(), internship.getInternshipID() + " is oversubscribed");
+            assertEquals(accepted, internship.getSlotsFilled(), internship.getInternshipID() + " slot count");
+            if (internship.getSlotsFilled() == internship.getSlots()) {
+                assertEquals(InternshipStatus.FILLED, internship.getStatus(), internship.getInternshipID() + " is full");
+            }
+        }
+
+        // Students stay within the application limit and hold at most one placement
+        for (Student student : students) {
+            assertTrue(student.getApplications().size() <= 3, student.getUserID() + " has too many applications");
+            long accepted = student.getApplications().stream().filter(a -> a.getStatus() == ApplicationStatus.ACCEPTED).count();
+            assertTrue(accepted <= 1, student.getUserID() + " accepted more than one placement");
+        }
+
+        // The secondary indexes agree with a full rescan
+        for (InternshipStatus status : InternshipStatus.values()) {
+            assertEquals(ids(all, i -> i.getStatus() == status), ids(internshipManager.generateReport(status.name(), null, null)), "status " + status);
+        }
+        for (InternshipLevel level : InternshipLevel.values()) {
+            assertEquals(ids(all, i -> i.getLevel() == level), ids(internshipManager.generateReport(null, null, level.name())), "level " + level);
+        }
+        for (String major : MAJORS) {
+            assertEquals(ids(all, i -> i.getPreferedMajor().equals(major)), ids(internshipManager.generateReport(null, major, null)), "major " + major);
+            assertEquals(ids(all, i -> i.getPreferedMajor().equals(major) && i.getStatus() == InternshipStatus.APPROVED),
+                    ids(internshipManager.generateReport("APPROVED", major, null)), "approved " + major);
+        }
+
+        // The published catalogue snapshot agrees with a full rescan
+        CatalogueSnapshot snapshot = internshipManager.catalogue();
+        assertEquals(ids(all), ids(snapshot.getAll()), "snapshot membership");
+        for (String major : MAJORS) {
+            Student junior = new Student("J", "Junior", "password", 1, major);
+            Student senior = new Student("S", "Senior", "password", 3, major);
+            Predicate<Internship> open = i -> i.getStatus() == InternshipStatus.APPROVED && i.isVisible()
+                    && i.getPreferedMajor().equals(major);
+            assertEquals(ids(all, open.and(i -> i.getLevel() == InternshipLevel.BASIC)), ids(snapshot.getAvailableTo(junior)), "junior " + major);
+            assertEquals(ids(all, open), ids(snapshot.getAvailableTo(senior)), "senior " + major);
+        }
+
+        // Every ID handed out concurrently is unique
+        assertEquals(created.size(), created.stream().map(Internship::getInternshipID).distinct().count(), "internship IDs");
+        assertEquals(all.size(), all.stream().map(Internship::getInternshipID).distinct().count(), "catalogue IDs");
+        assertEquals(applications.size(), applications.stream().map(Application::getApplicationID).distinct().count(), "application IDs");
+    }
+
+    @Test
+    void slotReservationNeverOversubscribes() throws InterruptedException {
+        Internship internship = internshipManager.createInternship("Intern", "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 5);
+        internshipManager.approveInternship(internship, internship.getVersion());
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 100; i++) {
+                if (internshipManager.fillSlot(internship)) {
+                    reserved.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(5, reserved.get());
+        assertEquals(5, internship.getSlotsFilled());
+        assertEquals(InternshipStatus.FILLED, internship.getStatus());
+        assertEquals(List.of(internship), internshipManager.generateReport("FILLED", null, null));
+    }
+
+    @Test
+    void idAllocatorIssuesUniqueIdsAcrossThreads() throws InterruptedException {
+        IdAllocator allocator = new IdAllocator("APP", 3, 16);
+        allocator.observe("APP041");
+        Queue<String> issued = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 5000; i++) {
+                issued.add(allocator.next());
+            }
+        });
+
+        Set<String> unique = new HashSet<>(issued);
+        assertEquals(THREADS * 5000, unique.size());
+        assertTrue(issued.stream().allMatch(id -> id.startsWith("APP") && Integer.parseInt(id.substring(3)) > 41),
+                "IDs continue after the highest observed one");
+    }
+
+    private Internship createRandom(Random random) {
+        return internshipManager.createInternship("Intern", "Work", InternshipLevel.values()[random.nextInt(3)],
+                MAJORS[random.nextInt(MAJORS.length)], 0, 99999, rep, 1 + random.nextInt(3));
+    }
+
+    private static Set<String> ids(List<Internship> internships) {
+        return internships.stream().map(Internship::getInternshipID).collect(Collectors.toSet());
+    }
+
+    private static Set<String> ids(List<Internship> internships, Predicate<Internship> filter) {
+        return ids(internships.stream().filter(filter).collect(Collectors.toList()));
+    }
+
+    /**
+     * Run a body on {@value #THREADS} threads released together, and rethrow
+     * the first failure.
+     */
+    private static void runConcurrently(ThreadBody body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(thread);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("A worker thread failed", failures.peek());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,204 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import com.internshipapp.models.WithdrawalRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the live dashboard counters always equal a full recount of
+ * the internships and applications.
+ */
+class DashboardCountersTest {
+    private final PrintStream originalOut = System.out;
+    private InternshipManager internshipManager;
+    private ApplicationManager applicationManager;
+    private CompanyRepresentative rep;
+
+    @BeforeEach
+    void setUp() {
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // The controllers report every refusal
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void countersFollowCreateFillWithdrawAndRemove() {
+        Internship eee = create(InternshipLevel.BASIC, "EEE", 2);
+        Internship cs = create(InternshipLevel.ADVANCED, " Computer Science", 1);
+        assertRecount("create");
+
+        approve(eee);
+        approve(cs);
+        Student first = new Student("U1", "First", "password", 3, "EEE");
+        Student second = new Student("U2", "Second", "password", 3, "EEE");
+        Application firstApplication = applicationManager.applyForInternship(first, eee);
+        Application secondApplication = applicationManager.applyForInternship(second, eee);
+        assertNotNull(firstApplication);
+        assertNotNull(secondApplication);
+        assertRecount("apply");
+
+        internshipManager.approveApplication(firstApplication, firstApplication.getVersion());
+        internshipManager.rejectApplication(secondApplication, secondApplication.getVersion());
+        assertTrue(applicationManager.acceptPlacement(firstApplication, firstApplication.getVersion()));
+        assertEquals(1, eee.getSlotsFilled());
+        assertRecount("fill");
+
+        assertTrue(internshipManager.fillSlot(eee)); // Last slot: FILLED
+        assertEquals(InternshipStatus.FILLED, eee.getStatus());
+        assertRecount("fill to FILLED");
+
+        WithdrawalRequest request = applicationManager.requestWithdrawal(firstApplication);
+        assertNotNull(request);
+        assertRecount("withdrawal requested");
+        applicationManager.processWithdrawalRequest(request, true);
+        assertRecount("withdrawal approved");
+
+        internshipManager.updateInternshipDetails(cs, cs.getVersion(), null, null, "EEE", InternshipLevel.BASIC, 5);
+        assertRecount("edit");
+
+        internshipManager.removeInternship(eee);
+        assertRecount("remove with applications");
+        internshipManager.removeInternship(cs);
+        assertRecount("remove all");
+        assertEquals(0, internshipManager.getCounters().getSlots());
+        assertEquals(Map.of(), internshipManager.getCounters().getInternshipsByMajor());
+    }
+
+    @Test
+    void countersFollowARandomWorkload() {
+        Random random = new Random(24);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            students.add(new Student("U" + i, "Student " + i, "password", 3, i % 2 == 0 ? "EEE" : "Data Science"));
+        }
+        for (int step = 0; step < 2000; step++) {
+            List<Internship> all = internshipManager.viewAllInternships();
+            Internship internship = all.isEmpty() ? null : all.get(random.nextInt(all.size()));
+            Student student = students.get(random.nextInt(students.size()));
+            int action = internship == null ? 0 : random.nextInt(8);
+            switch (action) {
+                case 0:
+                    create(InternshipLevel.values()[random.nextInt(3)], random.nextBoolean() ? "EEE" : "Data Science", 1 + random.nextInt(3));
+                    break;
+                case 1:
+                    if (internship.getStatus() == InternshipStatus.PENDING) {
+                        approve(internship);
+                    }
+                    break;
+                case 2:
+                    applicationManager.applyForInternship(student, internship);
+                    break;
+                case 3:
+                    for (Application application : new ArrayList<>(student.getApplications())) {
+                        if (application.getStatus() == ApplicationStatus.PENDING) {
+                            internshipManager.approveApplication(application, application.getVersion());
+                        } else if (application.getStatus() == ApplicationStatus.APPROVED) {
+                            applicationManager.acceptPlacement(application, application.getVersion());
+                        }
+                    }
+                    break;
+                case 4:
+                    for (Application application : new ArrayList<>(student.getApplications())) {
+                        if (application.getStatus() == ApplicationStatus.ACCEPTED) {
+                            applicationManager.requestWithdrawal(application);
+                        }
+                    }
+                    break;
+                case 5:
+                    List<WithdrawalRequest> pending = applicationManager.getPendingWithdrawalRequests();
+                    if (!pending.isEmpty()) {
+                        applicationManager.processWithdrawalRequest(pending.get(0), random.nextBoolean());
+                    }
+                    break;
+                case 6:
+                    if (random.nextInt(4) == 0) {
+                        internshipManager.removeInternship(internship);
+                    }
+                    break;
+                default:
+                    internshipManager.toggleInternshipVisibility(internship);
+                    break;
+            }
+            if (step % 100 == 0) {
+                assertRecount("step " + step);
+            }
+        }
+        assertRecount("end");
+    }
+
+    private Internship create(InternshipLevel level, String major, int slots) {
+        return internshipManager.createInternship("Intern", "Work", level, major, 0, 99999, rep, slots);
+    }
+
+    private void approve(Internship internship) {
+        internshipManager.approveInternship(internship, internship.getVersion());
+    }
+
+    /**
+     * Recount everything from the internships and compare with the counters.
+     */
+    private void assertRecount(String after) {
+        Map<InternshipStatus, Long> byStatus = new EnumMap<>(InternshipStatus.class);
+        Map<InternshipLevel, Long> byLevel = new EnumMap<>(InternshipLevel.class);
+        Map<ApplicationStatus, Long> applications = new EnumMap<>(ApplicationStatus.class);
+        for (InternshipStatus status : InternshipStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (InternshipLevel level : InternshipLevel.values()) {
+            byLevel.put(level, 0L);
+        }
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            applications.put(status, 0L);
+        }
+        Map<String, Long> byMajor = new TreeMap<>();
+        long slots = 0;
+        long filled = 0;
+        for (Internship internship : internshipManager.viewAllInternships()) {
+            byStatus.merge(internship.getStatus(), 1L, Long::sum);
+            byLevel.merge(internship.getLevel(), 1L, Long::sum);
+            byMajor.merge(InternshipManager.normalizeMajor(internship.getPreferedMajor()), 1L, Long::sum);
+            slots += internship.getSlots();
+            filled += internship.getSlotsFilled();
+            internship.getApplications().forEach(a -> applications.merge(a.getStatus(), 1L, Long::sum));
+        }
+
+        DashboardCounters counters = internshipManager.getCounters();
+        assertEquals(byStatus, counters.getInternshipsByStatus(), "internships by status after " + after);
+        assertEquals(byLevel, counters.getInternshipsByLevel(), "internships by level after " + after);
+        assertEquals(byMajor, counters.getInternshipsByMajor(), "internships by major after " + after);
+        assertEquals(slots, counters.getSlots(), "slots after " + after);
+        assertEquals(filled, counters.getSlotsFilled(), "filled slots after " + after);
+        assertEquals(applications, counters.getApplicationsByStatus(), "applications after " + after);
+        assertEquals(applicationManager.getPendingWithdrawalRequests().size(), counters.getPendingWithdrawals(),
+                "pending withdrawals after " + after);
+    }
+}
@@ -0,0 +1,90 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.persistence.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that batch decisions on internships go through the per-item
+ * version check and are stored as one group.
+ */
+class InternshipBatchTest {
+    private final List<String> saved = new ArrayList<>();
+    private int groups;
+    private InternshipManager internshipManager;
+    private List<Internship> internships;
+
+    @BeforeEach
+    void setUp() {
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository() {
+            @Override
+            public void saveInternship(String op, Internship internship) {
+                saved.add(op + " " + internship.getInternshipID());
+            }
+
+            @Override
+            public void writeGroup(Consumer<DataRepository> writes) {
+                groups++;
+                writes.accept(this);
+            }
+        });
+        CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        internships = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            internships.add(internshipManager.createInternship("Intern " + i, "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 2));
+        }
+        saved.clear();
+    }
+
+    @Test
+    void staleItemDropsOutOfTheBatch() {
+        Map<String, Integer> listed = new LinkedHashMap<>();
+        internships.forEach(i -> listed.put(i.getInternshipID(), i.getVersion()));
+        Internship stale = internships.get(1);
+        internshipManager.toggleInternshipVisibility(stale); // Changed after it was listed
+        saved.clear();
+
+        List<Internship> approved = internshipManager.processInternships(listed, true);
+
+        assertEquals(List.of(internships.get(0), internships.get(2), internships.get(3)), approved);
+        assertEquals(InternshipStatus.PENDING, stale.getStatus());
+        assertEquals(InternshipStatus.APPROVED, internships.get(0).getStatus());
+        assertEquals(1, groups);
+        assertEquals(List.of("approveInternships INT001", "approveInternships INT003", "approveInternships INT004"), saved);
+        assertEquals(List.of(stale), internshipManager.getPendingInternships());
+    }
+
+    @Test
+    void batchSkipsUnknownAndDecidedInternships() {
+        Internship decided = internships.get(0);
+        internshipManager.rejectInternship(decided, decided.getVersion());
+        saved.clear();
+
+        List<Internship> rejected = internshipManager.processInternships(
+                List.of(decided.getInternshipID(), "INT999", internships.get(3).getInternshipID(), internships.get(3).getInternshipID()), false);
+
+        assertEquals(List.of(internships.get(3)), rejected);
+        assertEquals(List.of("rejectInternships INT004"), saved);
+    }
+
+    @Test
+    void emptyBatchWritesNothing() {
+        internshipManager.processInternships(i -> false, true);
+
+        assertEquals(0, groups);
+        assertEquals(List.of(), saved);
+    }
+}
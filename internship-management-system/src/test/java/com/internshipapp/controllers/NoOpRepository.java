@@ -0,0 +1,77 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import com.internshipapp.models.User;
+import com.internshipapp.persistence.DataRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Repository that stores nothing, so controller tests run in memory.
+ */
+public class NoOpRepository implements DataRepository {
+    @Override
+    public List<User> loadUsers() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Internship> loadInternships(Function<String, CompanyRepresentative> owners) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Application> loadApplications(Function<String, Student> students, Function<String, Internship> internships) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void saveUser(String op, User user) {
+    }
+
+    @Override
+    public void saveInternship(String op, Internship internship) {
+    }
+
+    @Override
+    public void saveApplication(String op, Application application) {
+    }
+
+    @Override
+    public void deleteInternship(String op, Internship internship) {
+    }
+
+    @Override
+    public boolean saveAllUsers(Collection<User> users) {
+        return true;
+    }
+
+    @Override
+    public boolean saveAllInternships(Collection<Internship> internships) {
+        return true;
+    }
+
+    @Override
+    public boolean saveAllApplications(Collection<Application> applications) {
+        return true;
+    }
+
+    @Override
+    public void checkpoint() {
+    }
+
+    @Override
+    public boolean needsCheckpoint() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the order of a representative's pending applications.
+ */
+class PendingApplicationsTest {
+    @Test
+    void listsPendingApplicationsInNumericIdOrder() {
+        InternshipManager internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        Internship internship = internshipManager.createInternship("Intern", "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 2);
+        Student student = new Student("U1", "First", "password", 3, "EEE");
+        for (String id : List.of("APP1000", "APP999", "APP1001")) {
+            internshipManager.trackApplication(new Application(id, student, internship, ApplicationStatus.PENDING));
+        }
+
+        List<String> ids = new ArrayList<>();
+        internshipManager.getPendingApplications(rep).forEach(app -> ids.add(app.getApplicationID()));
+        assertEquals(List.of("APP999", "APP1000", "APP1001"), ids);
+    }
+}
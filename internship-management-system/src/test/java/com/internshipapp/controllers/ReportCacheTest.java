@@ -0,0 +1,119 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Report;
+import com.internshipapp.models.ReportEngine;
+import com.internshipapp.models.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the report cache's hit, stale-miss and eviction accounting, and
+ * that the internship manager reuses lists and reports only while they are
+ * current.
+ */
+class ReportCacheTest {
+    private static final List<Internship> LIST = List.of();
+    private static final Report REPORT = ReportEngine.summarize(LIST, "none");
+
+    @Test
+    void hitsWhileVersionsAreUnchanged() {
+        ReportCache cache = new ReportCache(4);
+        ReportCache.Key key = ReportCache.key("approved", " EEE ", null);
+
+        assertNull(cache.getList(key, 1));
+        cache.putList(key, 1, LIST);
+        cache.putReport(key, 1, 7, REPORT);
+
+        assertSame(LIST, cache.getList(ReportCache.key("APPROVED", "eee", ""), 1)); // Same filters, other spelling
+        assertSame(REPORT, cache.getReport(key, 1, 7));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void missesOnceStaleAndDropsTheEntry() {
+        ReportCache cache = new ReportCache(4);
+        ReportCache.Key key = ReportCache.key(null, "EEE", null);
+        cache.putList(key, 1, LIST);
+        cache.putReport(key, 1, 7, REPORT);
+
+        assertNull(cache.getReport(key, 1, 8)); // Activity moved on; the list is still good
+        assertSame(LIST, cache.getList(key, 1));
+        assertNull(cache.getList(key, 2)); // Membership moved on
+        assertEquals(0, cache.getSize());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        cache.putList(key, 3, LIST);
+        cache.putList(key, 2, List.of()); // Older than what is held; ignored
+        cache.putReport(key, 2, 9, REPORT); // For a list that was replaced; ignored
+        assertSame(LIST, cache.getList(key, 3));
+        assertNull(cache.getReport(key, 3, 9));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        ReportCache cache = new ReportCache(2);
+        ReportCache.Key first = ReportCache.key("PENDING", null, null);
+        ReportCache.Key second = ReportCache.key("APPROVED", null, null);
+        ReportCache.Key third = ReportCache.key("FILLED", null, null);
+        cache.putList(first, 1, LIST);
+        cache.putList(second, 1, LIST);
+        cache.getList(first, 1); // Now the most recently used
+
+        cache.putList(third, 1, LIST);
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getSize());
+        assertSame(LIST, cache.getList(first, 1));
+        assertNull(cache.getList(second, 1));
+        assertSame(LIST, cache.getList(third, 1));
+    }
+
+    @Test
+    void managerReusesListsAcrossSlotFillsAndReportsUntilTheirMajorChanges() {
+        InternshipManager internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        ApplicationManager applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        Internship eee = internshipManager.createInternship("Intern", "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 3);
+        Internship cs = internshipManager.createInternship("Intern", "Work", InternshipLevel.BASIC, "CS", 0, 99999, rep, 3);
+        internshipManager.approveInternship(eee, eee.getVersion());
+        internshipManager.approveInternship(cs, cs.getVersion());
+        ReportCache cache = internshipManager.getReportCache();
+
+        // Listing and then summarizing the same filters intersects once
+        List<Internship> listed = internshipManager.generateReport("APPROVED", "EEE", null);
+        Report report = internshipManager.summarizeReport("APPROVED", "EEE", null);
+        assertEquals(List.of(eee), listed);
+        assertEquals(1, cache.getHits()); // The summary reused the list
+        assertEquals(2, cache.getMisses());
+
+        internshipManager.fillSlot(cs); // Another major
+        Student student = new Student("U1", "Student", "password", 3, "CS");
+        assertNotNull(applicationManager.applyForInternship(student, cs));
+        assertSame(report, internshipManager.summarizeReport("approved", "eee", ""));
+
+        internshipManager.fillSlot(eee); // Same major: the list stays, the summary is recomputed
+        assertSame(listed, internshipManager.generateReport("APPROVED", "EEE", null));
+        Report refreshed = internshipManager.summarizeReport("APPROVED", "EEE", null);
+        assertNotSame(report, refreshed);
+        assertEquals(1, refreshed.getSlotsFilled());
+        assertEquals(0, refreshed.getApplicationsByStatus().get(ApplicationStatus.PENDING));
+
+        internshipManager.toggleInternshipVisibility(eee); // Membership change: the list is recomputed
+        assertNotSame(listed, internshipManager.generateReport("APPROVED", "EEE", null));
+    }
+}
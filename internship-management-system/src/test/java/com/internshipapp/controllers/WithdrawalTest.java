@@ -0,0 +1,84 @@
+package com.internshipapp.controllers;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import com.internshipapp.models.WithdrawalRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that withdrawals free a slot only when the student held one, and
+ * that an application has at most one withdrawal request waiting.
+ */
+class WithdrawalTest {
+    private InternshipManager internshipManager;
+    private ApplicationManager applicationManager;
+    private Internship internship;
+
+    @BeforeEach
+    void setUp() {
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        internship = internshipManager.createInternship("Intern", "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 1);
+        internshipManager.approveInternship(internship, internship.getVersion());
+    }
+
+    @Test
+    void withdrawingAnApplicationThatHeldNoSlotLeavesTheSlotTaken() {
+        Application placed = accepted(new Student("U1", "First", "password", 3, "EEE"));
+        Application pending = applicationManager.applyForInternship(new Student("U2", "Second", "password", 3, "EEE"), internship);
+
+        assertTrue(applicationManager.processWithdrawalRequest(applicationManager.requestWithdrawal(pending), true));
+
+        assertEquals(ApplicationStatus.UNSUCCESSFUL, pending.getStatus());
+        assertEquals(1, internship.getSlotsFilled()); // Still held by the first student
+        assertEquals(ApplicationStatus.ACCEPTED, placed.getStatus());
+        assertFalse(internship.tryFillSlot());
+    }
+
+    @Test
+    void anApplicationHasOnePendingRequestAtATime() {
+        Application placed = accepted(new Student("U1", "First", "password", 3, "EEE"));
+
+        WithdrawalRequest first = applicationManager.requestWithdrawal(placed);
+        assertNotNull(first);
+        assertNull(applicationManager.requestWithdrawal(placed));
+
+        assertTrue(applicationManager.processWithdrawalRequest(first, true));
+        assertFalse(applicationManager.processWithdrawalRequest(first, true));
+        assertEquals(0, internship.getSlotsFilled());
+        assertNull(applicationManager.requestWithdrawal(placed)); // Already withdrawn
+        assertEquals(0, internshipManager.getCounters().getPendingWithdrawals());
+    }
+
+    @Test
+    void aRejectedRequestCanBeFollowedByAnother() {
+        Application placed = accepted(new Student("U1", "First", "password", 3, "EEE"));
+
+        assertTrue(applicationManager.processWithdrawalRequest(applicationManager.requestWithdrawal(placed), false));
+        WithdrawalRequest second = applicationManager.requestWithdrawal(placed);
+        assertNotNull(second);
+        assertTrue(applicationManager.processWithdrawalRequest(second, true));
+        assertEquals(0, internship.getSlotsFilled());
+    }
+
+    private Application accepted(Student student) {
+        Application application = applicationManager.applyForInternship(student, internship);
+        internshipManager.approveApplication(application, application.getVersion());
+        assertTrue(applicationManager.acceptPlacement(application, application.getVersion()));
+        return application;
+    }
+}
@@ -0,0 +1,176 @@
+package com.internshipapp.events;
+
+import com.internshipapp.enums.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the event ring: ordering across wrap-around, publishers waiting
+ * on a full ring instead of dropping events, and draining on close.
+ */
+class EventBusTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    void deliversInOrderAcrossRingWrap() {
+        EventBus bus = new EventBus(4, 2);
+        Recorder recorder = new Recorder();
+        bus.subscribe(recorder);
+
+        for (int i = 0; i < 50; i++) {
+            bus.publish(event(i)); // Wraps the 4-slot ring many times
+        }
+        bus.close();
+
+        assertEquals(ids(0, 50), recorder.ids());
+        assertTrue(recorder.batchSizes.stream().allMatch(size -> size >= 1 && size <= 2), "batches stay within batchSize");
+        assertTrue(recorder.closed.get());
+    }
+
+    @Test
+    void fullRingMakesPublishersWait() throws InterruptedException {
+        EventBus bus = new EventBus(4, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                await(release); // Hold the dispatcher so the ring fills up
+                super.onEvents(events);
+            }
+        };
+        bus.subscribe(recorder);
+        AtomicInteger published = new AtomicInteger();
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                bus.publish(event(i));
+                published.incrementAndGet();
+            }
+        });
+        publisher.start();
+
+        // The dispatcher holds one batch (at most 2) and the ring holds 4; the next publish must wait
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (published.get() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(200);
+        int whileHeld = published.get();
+        assertTrue(whileHeld >= 5 && whileHeld <= 6, "published " + whileHeld + " while the ring was full");
+        assertTrue(publisher.isAlive());
+
+        release.countDown();
+        publisher.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        bus.close();
+
+        assertEquals(20, published.get());
+        assertEquals(ids(0, 20), recorder.ids()); // Nothing dropped
+    }
+
+    @Test
+    void closeDrainsTheRingBeforeClosingSubscribers() {
+        EventBus bus = new EventBus(128, 8);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                await(release);
+                calls.add("events");
+                super.onEvents(events);
+            }
+
+            @Override
+            public void close() {
+                calls.add("close");
+                super.close();
+            }
+        };
+        bus.subscribe(recorder);
+        for (int i = 0; i < 100; i++) {
+            bus.publish(event(i));
+        }
+
+        Thread closer = new Thread(bus::close);
+        closer.start();
+        release.countDown();
+        joinQuietly(closer);
+
+        assertEquals(ids(0, 100), recorder.ids());
+        assertEquals("close", calls.get(calls.size() - 1));
+        assertEquals(1, calls.stream().filter("close"::equals).count());
+
+        bus.publish(event(100)); // Dropped after close
+        assertEquals(100, recorder.ids().size());
+    }
+
+    @Test
+    void publishWithoutSubscribersDoesNothing() {
+        EventBus bus = new EventBus(2, 1);
+        for (int i = 0; i < 10; i++) {
+            bus.publish(event(i)); // Would block on a full ring if events were kept
+        }
+        bus.close();
+    }
+
+    private static DomainEvent event(int i) {
+        return new DomainEvent(EventType.PASSWORD_CHANGED, "test", String.valueOf(i), "", null);
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Subscriber that records what it was handed.
+     */
+    private static class Recorder implements EventSubscriber {
+        private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void onEvents(List<DomainEvent> batch) {
+            batchSizes.add(batch.size());
+            events.addAll(batch);
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+
+        List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            events.forEach(e -> ids.add(e.getEntityId()));
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.internshipapp.models;
+
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the fork/join reduction gives the same report as counting
+ * the internships one by one.
+ */
+class ReportEngineTest {
+    private static final String[] MAJORS = {"EEE", "eee", "Computer Science", "computer science ", "Data Science", ""};
+    private static final String[] COMPANIES = {"Acme", "ACME", "Globex", "Initech"};
+
+    @Test
+    void parallelMergeEqualsSequentialTally() {
+        for (int size : new int[] {0, 1, 256, 257, 1000, 4099}) {
+            List<Internship> internships = generate(size, new Random(size));
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                assertMatches(internships, ReportEngine.summarize(internships, "test", pool));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Count the internships one at a time and compare with the report.
+     */
+    private static void assertMatches(List<Internship> internships, Report report) {
+        Map<InternshipStatus, Integer> byStatus = zeros(InternshipStatus.class, InternshipStatus.values());
+        Map<InternshipLevel, Integer> byLevel = zeros(InternshipLevel.class, InternshipLevel.values());
+        Map<ApplicationStatus, Integer> applications = zeros(ApplicationStatus.class, ApplicationStatus.values());
+        Map<String, long[]> byMajor = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, long[]> byCompany = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        long slots = 0;
+        long filled = 0;
+        for (Internship internship : internships) {
+            byStatus.merge(internship.getStatus(), 1, Integer::sum);
+            byLevel.merge(internship.getLevel(), 1, Integer::sum);
+            internship.getApplications().forEach(a -> applications.merge(a.getStatus(), 1, Integer::sum));
+            slots += internship.getSlots();
+            filled += internship.getSlotsFilled();
+            count(byMajor, internship.getPreferedMajor(), internship);
+            count(byCompany, internship.getCompanyName(), internship);
+        }
+
+        int size = internships.size();
+        assertEquals(size, report.getInternshipCount(), "internships, size " + size);
+        assertEquals(byStatus, report.getCountsByStatus(), "status, size " + size);
+        assertEquals(byLevel, report.getCountsByLevel(), "level, size " + size);
+        assertEquals(applications, report.getApplicationsByStatus(), "applications, size " + size);
+        assertEquals(slots, report.getSlots(), "slots, size " + size);
+        assertEquals(filled, report.getSlotsFilled(), "filled, size " + size);
+        assertGroups(byMajor, report.getByMajor(), "major, size " + size);
+        assertGroups(byCompany, report.getByCompany(), "company, size " + size);
+    }
+
+    private static void count(Map<String, long[]> groups, String name, Internship internship) {
+        String key = name == null || name.trim().isEmpty() ? "(none)" : name.trim();
+        long[] sums = groups.computeIfAbsent(key, k -> new long[4]);
+        sums[0]++;
+        sums[1] += internship.getSlots();
+        sums[2] += internship.getSlotsFilled();
+        sums[3] += internship.getApplications().size();
+    }
+
+    private static void assertGroups(Map<String, long[]> expected, Map<String, Report.Group> actual, String what) {
+        assertEquals(expected.keySet().size(), actual.size(), what);
+        expected.forEach((key, sums) -> {
+            Report.Group group = actual.get(key);
+            assertEquals(sums[0], group.getInternships(), what + " " + key);
+            assertEquals(sums[1], group.getSlots(), what + " " + key);
+            assertEquals(sums[2], group.getSlotsFilled(), what + " " + key);
+            assertEquals(sums[3], group.getApplications(), what + " " + key);
+        });
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> zeros(Class<E> type, E[] constants) {
+        Map<E, Integer> map = new EnumMap<>(type);
+        for (E constant : constants) {
+            map.put(constant, 0);
+        }
+        return map;
+    }
+
+    private static List<Internship> generate(int size, Random random) {
+        CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        Student student = new Student("U001", "Student", "password", 3, "EEE");
+        List<Internship> internships = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int slots = 1 + random.nextInt(10);
+            Internship internship = new Internship("INT" + i, "Intern", "Work",
+                    InternshipLevel.values()[random.nextInt(InternshipLevel.values().length)],
+                    MAJORS[random.nextInt(MAJORS.length)], 0, 99999,
+                    InternshipStatus.values()[random.nextInt(InternshipStatus.values().length)],
+                    COMPANIES[random.nextInt(COMPANIES.length)], rep, slots, random.nextInt(slots + 1), random.nextBoolean());
+            for (int a = random.nextInt(4); a > 0; a--) {
+                internship.addApplication(new Application("APP" + i + "-" + a, student, internship,
+                        ApplicationStatus.values()[random.nextInt(ApplicationStatus.values().length)]));
+            }
+            internships.add(internship);
+        }
+        return internships;
+    }
+}
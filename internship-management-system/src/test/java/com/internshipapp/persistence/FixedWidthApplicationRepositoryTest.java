@@ -0,0 +1,115 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.controllers.NoOpRepository;
+import com.internshipapp.enums.ApplicationStatus;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that application status writes survive a reopen and reach the CSV
+ * export, and that a corrupt record does not cost the others.
+ */
+class FixedWidthApplicationRepositoryTest {
+    private static final int HEADER_SIZE = 8;
+
+    @TempDir
+    Path dir;
+
+    private final CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+    private final Internship internship = new Internship("INT001", "Intern", "Work", InternshipLevel.BASIC, "EEE",
+            0, 99999, InternshipStatus.APPROVED, "Acme", rep, 3, 0, true);
+    private final Map<String, Student> students = Map.of(
+            "U1", new Student("U1", "First", "password", 3, "EEE"),
+            "U2", new Student("U2", "Second", "password", 3, "EEE"),
+            "U3", new Student("U3", "Third", "password", 3, "EEE"));
+
+    @Test
+    void statusWritesSurviveAReopenAndAreExported() throws IOException {
+        Path records = dir.resolve("applications.dat");
+        Path csv = dir.resolve("applications.csv");
+        try (FixedWidthApplicationRepository repository = open(records, csv)) {
+            List<Application> seeded = load(repository);
+            Application second = seeded.get(1);
+            second.setStatus(ApplicationStatus.APPROVED);
+            repository.writeGroup(target -> target.saveApplication("approveApplication", second));
+            repository.saveApplication("apply", new Application("APP004", students.get("U3"), internship, ApplicationStatus.PENDING));
+        }
+
+        try (FixedWidthApplicationRepository repository = open(records, csv)) {
+            List<Application> loaded = load(repository);
+            assertEquals(List.of("APP001", "APP002", "APP003", "APP004"), ids(loaded));
+            assertEquals(ApplicationStatus.APPROVED, loaded.get(1).getStatus());
+
+            assertTrue(repository.saveAllApplications(loaded));
+        }
+        List<String> exported = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals(5, exported.size());
+        assertTrue(exported.get(2).startsWith("\"APP002\",\"U2\",\"INT001\",\"APPROVED\""), exported.get(2));
+    }
+
+    @Test
+    void aCorruptStatusSkipsOnlyThatRecord() throws IOException {
+        Path records = dir.resolve("applications.dat");
+        Path csv = dir.resolve("applications.csv");
+        try (FixedWidthApplicationRepository repository = open(records, csv)) {
+            load(repository);
+        }
+        try (FileChannel channel = FileChannel.open(records, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), HEADER_SIZE); // Status byte of the first record
+        }
+
+        try (FixedWidthApplicationRepository repository = open(records, csv)) {
+            List<Application> loaded = load(repository);
+            assertEquals(List.of("APP002", "APP003"), ids(loaded));
+
+            assertTrue(repository.saveAllApplications(loaded));
+        }
+        try (FixedWidthApplicationRepository repository = open(records, csv)) {
+            assertEquals(List.of("APP002", "APP003"), ids(load(repository)));
+        }
+    }
+
+    private FixedWidthApplicationRepository open(Path records, Path csv) throws IOException {
+        return new FixedWidthApplicationRepository(new NoOpRepository() {
+            @Override
+            public List<Application> loadApplications(Function<String, Student> byId, Function<String, Internship> internships) {
+                List<Application> seed = new ArrayList<>();
+                for (int i = 1; i <= 3; i++) {
+                    seed.add(new Application("APP00" + i, byId.apply("U" + i), internships.apply("INT001"), ApplicationStatus.PENDING));
+                }
+                return seed;
+            }
+        }, records, csv);
+    }
+
+    private List<Application> load(FixedWidthApplicationRepository repository) {
+        return repository.loadApplications(students::get, id -> id.equals("INT001") ? internship : null);
+    }
+
+    private static List<String> ids(List<Application> applications) {
+        List<String> ids = new ArrayList<>();
+        applications.forEach(app -> ids.add(app.getApplicationID()));
+        return ids;
+    }
+}
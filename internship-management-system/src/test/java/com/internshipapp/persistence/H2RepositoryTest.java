@@ -0,0 +1,147 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.controllers.NoOpRepository;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the H2 backend against a private in-memory database, inspected through
+ * a second connection.
+ */
+class H2RepositoryTest {
+    private final String url = "jdbc:h2:mem:" + UUID.randomUUID();
+    private final CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+    private final Internship first = internship("INT001");
+    private final Internship second = internship("INT002");
+
+    private H2Repository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void seedsAnEmptyDatabaseFromTheCsvFiles() throws SQLException {
+        CsvRepository csv = new CsvRepository();
+        List<User> expected = csv.loadUsers();
+        repository = new H2Repository(url, csv);
+
+        List<User> users = repository.loadUsers();
+        assertEquals(userIds(expected), userIds(users));
+        Map<String, CompanyRepresentative> reps = new LinkedHashMap<>();
+        users.stream().filter(u -> u instanceof CompanyRepresentative)
+                .forEach(u -> reps.put(u.getUserID(), (CompanyRepresentative) u));
+        Function<String, CompanyRepresentative> owners = reps::get;
+        assertEquals(csv.loadInternships(owners).size(), repository.loadInternships(owners).size());
+    }
+
+    @Test
+    void fullSaveMergesOnlyDirtyRows() throws SQLException {
+        repository = open();
+        assertTrue(repository.saveAllInternships(List.of(first, second)));
+        assertFalse(first.isDirty());
+        execute("UPDATE internships SET title = 'Changed elsewhere'");
+
+        first.setTitle("Renamed");
+        assertTrue(repository.saveAllInternships(List.of(first, second)));
+
+        assertFalse(first.isDirty());
+        assertEquals("Renamed", title("INT001"));
+        assertEquals("Changed elsewhere", title("INT002")); // Clean, so not written again
+    }
+
+    @Test
+    void fullSaveDeletesRowsNoLongerPresent() throws SQLException {
+        repository = open();
+        assertTrue(repository.saveAllInternships(List.of(first, second)));
+
+        assertTrue(repository.saveAllInternships(List.of(first)));
+
+        assertEquals(List.of("INT001"), internshipIds());
+    }
+
+    @Test
+    void aFailedWriteRollsBackTheWholeGroup() throws SQLException {
+        repository = open();
+        repository.saveUser("register", rep);
+        Internship tooLong = internship("INT" + "9".repeat(64)); // Longer than the id column
+
+        repository.writeGroup(target -> {
+            target.saveInternship("createInternship", first);
+            target.saveInternship("createInternship", tooLong);
+        });
+
+        assertEquals(List.of(), internshipIds());
+        assertTrue(first.isDirty()); // Left for the next full save
+
+        repository.writeGroup(target -> target.saveInternship("createInternship", second));
+        assertEquals(List.of("INT002"), internshipIds());
+    }
+
+    private H2Repository open() throws SQLException {
+        return new H2Repository(url, new NoOpRepository());
+    }
+
+    private Internship internship(String id) {
+        return new Internship(id, "Intern", "Work", InternshipLevel.BASIC, "EEE",
+                0, 99999, InternshipStatus.APPROVED, "Acme", rep, 3, 0, true);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String title(String id) throws SQLException {
+        List<String> titles = column("SELECT title FROM internships WHERE id = '" + id + "'");
+        return titles.isEmpty() ? null : titles.get(0);
+    }
+
+    private List<String> internshipIds() throws SQLException {
+        return column("SELECT id FROM internships ORDER BY seq");
+    }
+
+    private List<String> column(String query) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(query)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private static List<String> userIds(List<User> users) {
+        List<String> ids = new ArrayList<>();
+        users.forEach(user -> ids.add(user.getUserID()));
+        return ids;
+    }
+}
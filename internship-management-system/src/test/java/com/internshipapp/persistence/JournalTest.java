@@ -0,0 +1,77 @@
+package com.internshipapp.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the journal recovers the entries written before a crash and
+ * keeps those appended after it.
+ */
+class JournalTest {
+    private static final String FILE = "applications.csv";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void entriesAppendedAfterATornTailReplay() throws IOException {
+        Path file = dir.resolve("journal.csv");
+        try (Journal journal = open(file)) {
+            journal.recordUpsert("apply", FILE, new String[]{"APP001", "PENDING"});
+            journal.recordUpsert("apply", FILE, new String[]{"APP002", "multi\nline"});
+        }
+        // A crash part-way through writing the next entry
+        Files.write(file, "1a2b3c4d,approve,applications.csv,APP0".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (Journal journal = open(file)) {
+            assertEquals(2, journal.replay(FILE, new ArrayList<>()).size());
+            journal.recordUpsert("approve", FILE, new String[]{"APP001", "APPROVED"});
+            journal.recordDelete("withdraw", FILE, "APP002");
+            journal.recordUpsert("apply", FILE, new String[]{"APP003", "PENDING"});
+        }
+
+        try (Journal journal = open(file)) {
+            List<String[]> rows = journal.replay(FILE, new ArrayList<>());
+            assertEquals(2, rows.size());
+            assertArrayEquals(new String[]{"APP001", "APPROVED"}, rows.get(0));
+            assertArrayEquals(new String[]{"APP003", "PENDING"}, rows.get(1));
+        }
+    }
+
+    @Test
+    void aGoodEntryMissingItsNewlineIsTreatedAsTorn() throws IOException {
+        Path file = dir.resolve("journal.csv");
+        try (Journal journal = open(file)) {
+            journal.recordUpsert("apply", FILE, new String[]{"APP001", "PENDING"});
+            journal.recordUpsert("apply", FILE, new String[]{"APP002", "PENDING"});
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1)); // Crash before the final newline
+
+        try (Journal journal = open(file)) {
+            assertEquals(1, journal.replay(FILE, new ArrayList<>()).size());
+            journal.recordUpsert("apply", FILE, new String[]{"APP003", "PENDING"});
+        }
+
+        try (Journal journal = open(file)) {
+            List<String[]> rows = journal.replay(FILE, new ArrayList<>());
+            assertEquals(List.of("APP001", "APP003"), List.of(rows.get(0)[0], rows.get(1)[0]));
+        }
+    }
+
+    private static Journal open(Path file) throws IOException {
+        return new Journal(file, 100, 60_000, 1000);
+    }
+}
@@ -0,0 +1,91 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.enums.InternshipLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trips a binary snapshot and checks that it is only trusted while it
+ * matches its CSV and is undamaged.
+ */
+class SnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        Path csv = writeCsv("id,major\nINT001,EEE\nINT002,EEE\n");
+        Path snapshot = dir.resolve("internships.bin");
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.string("INT001").string("EEE").enumValue(InternshipLevel.ADVANCED).bool(true).epochDay(19000).endRow();
+        writer.string("INT002").string("EEE").enumValue(InternshipLevel.BASIC).bool(false).epochDay(-1).endRow();
+        writer.string(null).string("EEE").enumValue(InternshipLevel.BASIC).bool(false).integer(7).endRow();
+        writer.writeTo(snapshot, csv);
+
+        assertTrue(SnapshotReader.isFresh(snapshot, csv));
+        SnapshotReader reader = SnapshotReader.open(snapshot);
+        assertEquals(3, reader.rowCount());
+        assertEquals("INT001", reader.string());
+        assertEquals("EEE", reader.string());
+        assertEquals(InternshipLevel.ADVANCED, reader.enumValue(InternshipLevel.values()));
+        assertTrue(reader.bool());
+        assertEquals(19000, reader.epochDay());
+        assertEquals("INT002", reader.string());
+        assertEquals("EEE", reader.string());
+        assertEquals(InternshipLevel.BASIC, reader.enumValue(InternshipLevel.values()));
+        assertFalse(reader.bool());
+        assertEquals(-1, reader.epochDay());
+        assertNull(reader.string());
+    }
+
+    @Test
+    void anEditInTheSameTickMakesTheSnapshotStale() throws IOException {
+        Path csv = writeCsv("id,major\nINT001,EEE\n");
+        Path snapshot = dir.resolve("internships.bin");
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.string("INT001").string("EEE").endRow();
+        writer.writeTo(snapshot, csv);
+        FileTime written = Files.getLastModifiedTime(snapshot);
+
+        Files.write(csv, "id,major\nINT001,CSE\n".getBytes(StandardCharsets.UTF_8)); // Same size
+        Files.setLastModifiedTime(csv, written); // Same timestamp, as on a coarse filesystem
+
+        assertFalse(SnapshotReader.isFresh(snapshot, csv));
+    }
+
+    @Test
+    void aDamagedSnapshotIsRefused() throws IOException {
+        Path csv = writeCsv("id,major\nINT001,EEE\n");
+        Path snapshot = dir.resolve("internships.bin");
+        SnapshotWriter writer = new SnapshotWriter();
+        writer.string("INT001").string("EEE").integer(3).endRow();
+        writer.writeTo(snapshot, csv);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9}), channel.size() - 1); // Last byte of the int value
+        }
+
+        assertTrue(SnapshotReader.isFresh(snapshot, csv)); // Still made from this CSV
+        assertThrows(IOException.class, () -> SnapshotReader.open(snapshot));
+    }
+
+    private Path writeCsv(String contents) throws IOException {
+        Path csv = dir.resolve("internships.csv");
+        Files.write(csv, contents.getBytes(StandardCharsets.UTF_8));
+        return csv;
+    }
+}
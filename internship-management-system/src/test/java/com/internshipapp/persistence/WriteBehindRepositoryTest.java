@@ -0,0 +1,168 @@
+package com.internshipapp.persistence;
+
+import com.internshipapp.controllers.NoOpRepository;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.enums.InternshipStatus;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the write-behind decorator against a recording delegate whose flushes
+ * can be held open.
+ */
+class WriteBehindRepositoryTest {
+    private static final long NEVER_MILLIS = 60_000; // Flush interval that never elapses in a test
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private final CompanyRepresentative rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+    private final Internship first = internship("INT001");
+    private final Internship second = internship("INT002");
+    private final Internship third = internship("INT003");
+    private final RecordingRepository delegate = new RecordingRepository();
+
+    @Test
+    void coalescesRepeatedMarksIntoOneWrite() {
+        WriteBehindRepository repository = new WriteBehindRepository(delegate, NEVER_MILLIS, 100, 100);
+        for (int i = 1; i <= 5; i++) {
+            repository.saveInternship("edit" + i, first);
+        }
+        repository.saveInternship("create", second);
+        repository.close();
+
+        assertEquals(List.of("save INT001 edit5", "save INT002 create", "close"), delegate.log());
+        assertEquals(1, delegate.groups);
+    }
+
+    @Test
+    void markBlocksAtCapacityAndResumesAfterAFlush() throws InterruptedException {
+        delegate.gate = new CountDownLatch(1);
+        WriteBehindRepository repository = new WriteBehindRepository(delegate, NEVER_MILLIS, 100, 2);
+        repository.saveInternship("create", first);
+        repository.saveInternship("create", second);
+
+        Thread marking = new Thread(() -> repository.saveInternship("create", third));
+        marking.start();
+        assertTrue(delegate.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)); // The full queue forced a flush
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (marking.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, marking.getState()); // Two in flight, so the third waits
+
+        delegate.gate.countDown();
+        marking.join(TIMEOUT_MILLIS);
+        assertFalse(marking.isAlive());
+        repository.close();
+
+        assertEquals(List.of("save INT001 create", "save INT002 create", "save INT003 create", "close"), delegate.log());
+    }
+
+    @Test
+    void closeDrainsPendingWritesAndLaterMarksWriteThrough() {
+        WriteBehindRepository repository = new WriteBehindRepository(delegate, NEVER_MILLIS, 100, 100);
+        repository.saveInternship("create", first);
+        repository.close();
+        assertEquals(List.of("save INT001 create", "close"), delegate.log());
+
+        repository.saveInternship("create", second);
+        assertEquals(List.of("save INT001 create", "close", "save INT002 create"), delegate.log());
+    }
+
+    @Test
+    void aWriteDuringRunExclusiveIsWrittenAfterTheCheckpoint() {
+        WriteBehindRepository repository = new WriteBehindRepository(delegate, NEVER_MILLIS, 1, 100);
+        repository.runExclusive(() -> {
+            repository.saveAllInternships(List.of(first));
+            // Another session changes data between the full saves
+            Thread marking = new Thread(() -> repository.saveInternship("edit", second));
+            marking.start();
+            try {
+                marking.join(TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            repository.saveAllApplications(List.of());
+            repository.checkpoint();
+        });
+        repository.close();
+
+        assertEquals(List.of("saveAll internships", "saveAll applications", "checkpoint", "save INT002 edit", "close"),
+                delegate.log());
+    }
+
+    private Internship internship(String id) {
+        return new Internship(id, "Intern", "Work", InternshipLevel.BASIC, "EEE",
+                0, 99999, InternshipStatus.APPROVED, "Acme", rep, 3, 0, true);
+    }
+
+    /**
+     * Records what reaches it, in order. If a gate is set, each group waits
+     * for it before writing.
+     */
+    private static class RecordingRepository extends NoOpRepository {
+        private final List<String> log = new ArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private int groups = 0;
+
+        @Override
+        public void writeGroup(Consumer<DataRepository> writes) {
+            entered.countDown();
+            if (gate != null) {
+                try {
+                    gate.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                groups++;
+            }
+            writes.accept(this);
+        }
+
+        @Override
+        public synchronized void saveInternship(String op, Internship internship) {
+            log.add("save " + internship.getInternshipID() + " " + op);
+        }
+
+        @Override
+        public synchronized boolean saveAllInternships(Collection<Internship> internships) {
+            log.add("saveAll internships");
+            return true;
+        }
+
+        @Override
+        public synchronized boolean saveAllApplications(Collection<Application> applications) {
+            log.add("saveAll applications");
+            return true;
+        }
+
+        @Override
+        public synchronized void checkpoint() {
+            log.add("checkpoint");
+        }
+
+        @Override
+        public synchronized void close() {
+            log.add("close");
+        }
+
+        synchronized List<String> log() {
+            return new ArrayList<>(log);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.internshipapp.ui;
+
+import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.NoOpRepository;
+import com.internshipapp.controllers.UserManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs scripted sessions against a {@link ConsoleServer} on the loopback
+ * address.
+ */
+class ConsoleServerTest {
+    private static final String WELCOME = "Welcome to the Internship Management System";
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private UserManager userManager;
+    private ConsoleServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userManager = new UserManager();
+        userManager.setRepository(new NoOpRepository());
+        InternshipManager internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        ApplicationManager applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        server = new ConsoleServer(InetAddress.getLoopbackAddress(), 0, (scanner, out) ->
+                new ConsoleSession(userManager, internshipManager, applicationManager, scanner, out, () -> { }));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void servesConcurrentSessionsIndependently() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            // Both sessions are greeted before either sends anything, so they run side by side
+            assertTrue(readUntil(first.getInputStream(), WELCOME).contains(WELCOME));
+            assertTrue(readUntil(second.getInputStream(), WELCOME).contains(WELCOME));
+            assertEquals(2, server.getSessionCount());
+
+            CompletableFuture<String> registering = CompletableFuture.supplyAsync(() -> converse(first,
+                    "2\nrep@acme.com\nsecret\nRep\nAcme\nHR\nRecruiter\n1\nrep@acme.com\nsecret\n3\n"));
+            CompletableFuture<String> mistyping = CompletableFuture.supplyAsync(() -> converse(second,
+                    "1\nnobody\nsecret\nseven\n3\n"));
+
+            String registered = registering.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            String mistyped = mistyping.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+            assertTrue(registered.contains("Registration successful"), registered);
+            assertTrue(registered.contains("Your account is not approved yet"), registered);
+            assertFalse(registered.contains("Invalid User ID"), registered);
+            assertTrue(mistyped.contains("Invalid User ID"), mistyped);
+            assertTrue(mistyped.contains("Invalid input. Please enter a number."), mistyped);
+            assertFalse(mistyped.contains("Registration"), mistyped);
+        }
+        assertTrue(userManager.findRepresentativeById("rep@acme.com") != null);
+    }
+
+    @Test
+    void dropsSessionWhenClientDisconnects() throws Exception {
+        try (Socket socket = connect()) {
+            readUntil(socket.getInputStream(), WELCOME);
+            socket.getOutputStream().write("1\n".getBytes(StandardCharsets.UTF_8));
+        }
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (server.getSessionCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getSessionCount());
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(TIMEOUT_MILLIS);
+        return socket;
+    }
+
+    /**
+     * Send a script and read everything the session writes until it ends.
+     *
+     * @param socket the connection
+     * @param script input lines
+     * @return the session's output
+     */
+    private static String converse(Socket socket, String script) {
+        try {
+            OutputStream out = socket.getOutputStream();
+            out.write(script.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return readUntil(socket.getInputStream(), null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Read until the text appears, or until the stream ends if it is null.
+     *
+     * @param in the stream
+     * @param text text to wait for, or null
+     * @return everything read
+     */
+    private static String readUntil(InputStream in, String text) throws IOException {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            read.write(b);
+            if (text != null && read.toString(StandardCharsets.UTF_8).endsWith(text)) {
+                break;
+            }
+        }
+        return read.toString(StandardCharsets.UTF_8);
+    }
+}
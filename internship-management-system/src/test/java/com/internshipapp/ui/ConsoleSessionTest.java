@@ -0,0 +1,75 @@
+package com.internshipapp.ui;
+
+import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.NoOpRepository;
+import com.internshipapp.controllers.UserManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.fusesource.jansi.Ansi.ansi;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a session ends quietly when its input runs out, wherever that
+ * happens, and that bad input is not mistaken for the end of it.
+ */
+class ConsoleSessionTest {
+    private UserManager userManager;
+    private InternshipManager internshipManager;
+    private ApplicationManager applicationManager;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() {
+        userManager = new UserManager();
+        userManager.setRepository(new NoOpRepository());
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        userManager.registerCompanyRepresentative("rep@acme.com", "secret", "Rep", "Acme", "HR", "Recruiter");
+        userManager.authorizeRepresentatives(List.of("rep@acme.com"));
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void endsWhenInputRunsOutAtALinePrompt() {
+        session("1\nrep@acme.com\n").run(); // Ends at the password prompt
+
+        assertTrue(text().endsWith("Enter Password: " + ansi().reset()), text());
+    }
+
+    @Test
+    void endsWhenInputRunsOutAtANumberPrompt() {
+        session("1\nrep@acme.com\nsecret\n1\nTitle\nWork\nEEE\nBASIC\n").run(); // Ends at the slot count
+
+        assertTrue(text().contains("Login successful"), text());
+        assertTrue(internshipManager.viewAllInternships().isEmpty());
+    }
+
+    @Test
+    void badInputIsNotTheEndOfIt() {
+        ConsoleSession session = session("1\nrep@acme.com\nsecret\n1\nTitle\nWork\nEEE\nBASIC\nmany\n");
+
+        assertThrows(InputMismatchException.class, session::run);
+    }
+
+    private ConsoleSession session(String script) {
+        Scanner scanner = new Scanner(script);
+        PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+        return new ConsoleSession(userManager, internshipManager, applicationManager, scanner, out, () -> { });
+    }
+
+    private String text() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
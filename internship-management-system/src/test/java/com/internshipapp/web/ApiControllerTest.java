@@ -0,0 +1,202 @@
+package com.internshipapp.web;
+
+import com.internshipapp.controllers.ApplicationManager;
+import com.internshipapp.controllers.InternshipManager;
+import com.internshipapp.controllers.NoOpRepository;
+import com.internshipapp.controllers.UserManager;
+import com.internshipapp.enums.InternshipLevel;
+import com.internshipapp.models.Application;
+import com.internshipapp.models.CompanyRepresentative;
+import com.internshipapp.models.Internship;
+import com.internshipapp.models.Student;
+import com.internshipapp.models.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exercises the REST endpoints through MockMvc, with in-memory managers and
+ * no server.
+ */
+class ApiControllerTest {
+    private static final long ASYNC_TIMEOUT_MILLIS = 5000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private InternshipManager internshipManager;
+    private ApplicationManager applicationManager;
+    private CompanyRepresentative rep;
+    private Student student;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        student = new Student("U001", "Student", "password", 3, "EEE");
+        rep = new CompanyRepresentative("rep@acme.com", "Rep", "password", "Acme", "HR", "Recruiter");
+        UserManager userManager = new UserManager();
+        userManager.setRepository(new NoOpRepository() {
+            @Override
+            public List<User> loadUsers() {
+                return List.of(student, rep);
+            }
+        });
+        userManager.loadUsers();
+        internshipManager = new InternshipManager();
+        internshipManager.setRepository(new NoOpRepository());
+        applicationManager = new ApplicationManager(internshipManager);
+        applicationManager.setRepository(new NoOpRepository());
+        for (int i = 0; i < 3; i++) {
+            createInternship();
+        }
+        mvc = MockMvcBuilders.standaloneSetup(new ApiController(userManager, internshipManager, applicationManager, executor)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectsInvalidPagination() throws Exception {
+        perform(get("/api/internships").param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("page must not be negative."));
+        perform(get("/api/internships").param("size", "0")).andExpect(status().isBadRequest());
+        perform(get("/api/internships").param("size", "101")).andExpect(status().isBadRequest());
+        perform(get("/api/students/U001/applications").param("size", "0")).andExpect(status().isBadRequest());
+        perform(get("/api/withdrawals").param("page", "-3")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cutsTheRequestedPage() throws Exception {
+        perform(get("/api/internships").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.totalItems").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2));
+    }
+
+    @Test
+    void answersNotModifiedWhileTheCatalogueIsUnchanged() throws Exception {
+        String etag = perform(get("/api/internships"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        perform(get("/api/internships").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        perform(get("/api/internships").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+
+        createInternship();
+        String changed = perform(get("/api/internships").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(4))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void refusesAnInternshipDecisionBasedOnAStaleVersion() throws Exception {
+        Internship internship = internshipManager.viewAllInternships().get(0);
+        int seen = internship.getVersion();
+        internshipManager.toggleInternshipVisibility(internship); // Someone else changes it
+
+        perform(post("/api/internships/" + internship.getInternshipID() + "/approve").header(HttpHeaders.IF_MATCH, "\"" + seen + "\""))
+                .andExpect(status().isPreconditionFailed());
+        perform(post("/api/internships/" + internship.getInternshipID() + "/approve").header(HttpHeaders.IF_MATCH, "soon"))
+                .andExpect(status().isBadRequest());
+        perform(post("/api/internships/" + internship.getInternshipID() + "/approve")
+                .header(HttpHeaders.IF_MATCH, "\"" + internship.getVersion() + "\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + internship.getVersion() + "\""));
+    }
+
+    @Test
+    void refusesAnApplicationDecisionBasedOnAStaleVersion() throws Exception {
+        Internship internship = internshipManager.viewAllInternships().get(0);
+        internshipManager.approveInternship(internship, internship.getVersion());
+        Application application = applicationManager.applyForInternship(student, internship);
+        assertNotNull(application);
+        int seen = application.getVersion();
+        application.setStatus(application.getStatus()); // Someone else touches it
+
+        String path = "/api/representatives/rep@acme.com/applications/" + application.getApplicationID() + "/approve";
+        perform(post(path).header(HttpHeaders.IF_MATCH, "\"" + seen + "\""))
+                .andExpect(status().isPreconditionFailed());
+        perform(post(path).header(HttpHeaders.IF_MATCH, "\"" + application.getVersion() + "\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+    }
+
+    @Test
+    void answersRefusalsFromTheControllersReasons() throws Exception {
+        Internship internship = internshipManager.viewAllInternships().get(0);
+        internshipManager.approveInternship(internship, internship.getVersion());
+        String body = "{\"internshipId\": \"" + internship.getInternshipID() + "\"}";
+        perform(post("/api/students/U001/applications").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        perform(post("/api/students/U001/applications").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("The student has already applied for this internship."));
+
+        String applicationId = student.getApplications().get(0).getApplicationID();
+        String withdrawal = "/api/students/U001/applications/" + applicationId + "/withdrawal";
+        MvcResult created = perform(post(withdrawal)).andExpect(status().isCreated()).andReturn();
+        perform(post(withdrawal))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("A withdrawal request for this application is already pending."));
+
+        String requestId = JsonPath.read(created.getResponse().getContentAsString(), "$.requestId");
+        perform(post("/api/withdrawals/" + requestId + "/approve"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+        perform(post("/api/withdrawals/" + requestId + "/reject"))
+                .andExpect(status().isConflict());
+        perform(post(withdrawal))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("The application has already been withdrawn or rejected."));
+    }
+
+    private void createInternship() {
+        internshipManager.createInternship("Intern", "Work", InternshipLevel.BASIC, "EEE", 0, 99999, rep, 2);
+    }
+
+    /**
+     * Perform a request and, as every handler answers with a future, wait for
+     * it and dispatch its result.
+     *
+     * @param builder the request
+     * @return the final response
+     */
+    private ResultActions perform(RequestBuilder builder) throws Exception {
+        MvcResult started = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(ASYNC_TIMEOUT_MILLIS);
+        return mvc.perform(asyncDispatch(started));
+    }
+}